@@ -29,6 +29,21 @@ android {
         sourceCompatibility = JavaVersion.VERSION_11
         targetCompatibility = JavaVersion.VERSION_11
     }
+
+    testOptions {
+        unitTests {
+            isIncludeAndroidResources = true
+            all {
+                // Medição de tempos do teste de desempenho dos DAOs, só quando pedida
+                // (ex: ./gradlew testDebugUnitTest -Ddesempenho.linhas=1000000). Sem a propriedade,
+                // o teste só confere os planos das consultas, com um histórico pequeno.
+                System.getProperty("desempenho.linhas")?.let { linhas ->
+                    it.systemProperty("desempenho.linhas", linhas)
+                    it.maxHeapSize = "2g"
+                }
+            }
+        }
+    }
 }
 
 dependencies {
@@ -42,19 +57,28 @@ dependencies {
     // --- Arquitetura Android Jetpack: ViewModel + LiveData ---
     implementation("androidx.lifecycle:lifecycle-viewmodel:2.7.0")  // Para armazenar e gerenciar dados da UI
     implementation("androidx.lifecycle:lifecycle-livedata:2.7.0")    // Para dados observáveis reativos
+    implementation("androidx.lifecycle:lifecycle-viewmodel-ktx:2.7.0") // viewModelScope (usado pelo cachedIn do Paging)
 
     // --- Room: Banco de dados local SQLite com ORM ---
     implementation("androidx.room:room-runtime:2.6.1")         // Runtime do Room
     annotationProcessor("androidx.room:room-compiler:2.6.1")   // Necessário para gerar o código do Room (somente Java)
 
+    // --- Paging 3: carregamento paginado do histórico ---
+    implementation("androidx.paging:paging-runtime:3.2.1")     // PagingDataAdapter, Pager, PagingLiveData
+    implementation("androidx.paging:paging-guava:3.2.1")       // ListenableFuturePagingSource (PagingSource em Java)
+
     // --- Retrofit: Requisições HTTP e API REST ---
     implementation("com.squareup.retrofit2:retrofit:2.9.0")                // Biblioteca principal
     implementation("com.squareup.retrofit2:converter-gson:2.9.0")         // Conversor de JSON → Java usando Gson
+    implementation("com.squareup.okhttp3:okhttp:3.14.9")                   // Cliente HTTP do Retrofit (cache em disco)
 
     // --- WorkManager: Tarefas em segundo plano (ex: notificações agendadas) ---
     implementation("androidx.work:work-runtime:2.9.0")   // Agendador de tarefas moderno e resiliente
 
     testImplementation(libs.junit)
+    testImplementation("com.squareup.okhttp3:mockwebserver:3.14.9")       // Servidor HTTP local para testes de rede
+    testImplementation("org.robolectric:robolectric:4.14.1")              // Android (e SQLite real) na JVM, para os testes do Room
+    testImplementation("androidx.test:core:1.6.1")                        // ApplicationProvider
     androidTestImplementation(libs.ext.junit)
     androidTestImplementation(libs.espresso.core)
 }
@@ -0,0 +1,108 @@
+package com.example.m3_desenvolvimento_mobile_extensao;
+
+import android.net.Uri;
+import android.os.Bundle;
+import android.util.Log;
+import android.widget.Button;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Tela de métricas de desempenho (só existe no build de debug, com atalho próprio no launcher).
+ * Mostra o que foi coletado desde o início do processo: latências, caches, respostas da API e workers.
+ * "Exportar" grava um instantâneo em JSON (com as faixas dos histogramas) em um arquivo escolhido pelo usuário.
+ */
+public class MetricasActivity extends AppCompatActivity {
+
+    private Metricas metricas;
+    private DependenciasDoApp dependencias;
+    private TextView textViewMetricas;
+
+    // O instantâneo é tirado ao escolher o arquivo, para exportar o que estava na tela
+    private Metricas.Instantaneo instantaneoParaExportar;
+
+    private final ActivityResultLauncher<String> escolherDestinoExportacao = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument("application/json"), uri -> {
+                if (uri != null && instantaneoParaExportar != null) {
+                    exportar(instantaneoParaExportar, uri);
+                }
+            });
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_metricas);
+
+        dependencias = ((MainApplication) getApplication()).getDependencias();
+        metricas = dependencias.getMetricas();
+        textViewMetricas = findViewById(R.id.textViewMetricas);
+
+        Button buttonAtualizar = findViewById(R.id.buttonAtualizarMetricas);
+        Button buttonZerar = findViewById(R.id.buttonZerarMetricas);
+        Button buttonExportar = findViewById(R.id.buttonExportarMetricas);
+
+        buttonAtualizar.setOnClickListener(view -> atualizar());
+        buttonZerar.setOnClickListener(view -> {
+            metricas.zerar();
+            atualizar();
+        });
+        buttonExportar.setOnClickListener(view -> {
+            instantaneoParaExportar = metricas.instantaneo();
+            String momento = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.ROOT).format(new Date());
+            escolherDestinoExportacao.launch("metricas-" + momento + ".json");
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        atualizar();
+    }
+
+    private void atualizar() {
+        textViewMetricas.setText(metricas.instantaneo().formatar());
+    }
+
+    /**
+     * Grava o instantâneo na thread de backup (a mesma da exportação do histórico) e avisa ao terminar.
+     */
+    private void exportar(Metricas.Instantaneo instantaneo, Uri destino) {
+        try {
+            CompletableFuture.runAsync(() -> {
+                try (OutputStream saida = getContentResolver().openOutputStream(destino);
+                     Writer writer = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8))) {
+                    instantaneo.exportar(writer);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, dependencias.getBackupExecutor()).whenComplete((nada, erro) -> runOnUiThread(() -> {
+                if (erro != null) {
+                    Log.e("MetricasActivity", "Falha ao exportar as métricas.", erro);
+                }
+                Toast.makeText(this, erro == null ? "Métricas exportadas." : "Falha ao exportar as métricas.",
+                        Toast.LENGTH_SHORT).show();
+            }));
+        } catch (RejectedExecutionException e) {
+            Toast.makeText(this, "Exportação ocupada. Tente de novo em instantes.", Toast.LENGTH_SHORT).show();
+        }
+    }
+}
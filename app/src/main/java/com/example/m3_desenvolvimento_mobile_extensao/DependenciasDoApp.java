@@ -0,0 +1,146 @@
+package com.example.m3_desenvolvimento_mobile_extensao;
+
+import android.app.Application;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AppDatabase;
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+import com.example.m3_desenvolvimento_mobile_extensao.network.ApiClient;
+import com.example.m3_desenvolvimento_mobile_extensao.network.ApiService;
+import com.example.m3_desenvolvimento_mobile_extensao.repositorio.RegistroDoUltimoDia;
+import com.example.m3_desenvolvimento_mobile_extensao.repositorio.RepositorioAtividades;
+import com.google.gson.Gson;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dependências compartilhadas por todo o app (uma instância, guardada pelo MainApplication).
+ * Cada objeto é criado só na primeira vez em que é pedido e depois reaproveitado por todas as telas,
+ * ViewModels e workers: um repositório, um cliente da API, um Gson, as métricas e um conjunto fixo de threads.
+ */
+public final class DependenciasDoApp {
+
+    // Pedidos aguardando na fila de cada executor antes de novos serem recusados
+    private static final int FILA_REDE = 8;
+    private static final int FILA_BACKUP = 4;
+
+    private final Application application;
+
+    private Gson gson;
+    private Metricas metricas;
+    private ApiService apiService;
+    private ExecutorService redeExecutor;
+    private ExecutorService backupExecutor;
+    private ExecutorService apresentacaoExecutor;
+    private ScheduledExecutorService gravacaoExecutor;
+    private RegistroDoUltimoDia registroDoUltimoDia;
+    private RepositorioAtividades repositorio;
+
+    DependenciasDoApp(Application application) {
+        this.application = application;
+    }
+
+    public synchronized Gson getGson() {
+        if (gson == null) {
+            gson = new Gson();
+        }
+        return gson;
+    }
+
+    /**
+     * Métricas de desempenho do app (latências, caches, respostas da API e workers).
+     */
+    public synchronized Metricas getMetricas() {
+        if (metricas == null) {
+            metricas = new Metricas();
+        }
+        return metricas;
+    }
+
+    /**
+     * Serviço da API, com um único OkHttp (cache em disco e conexões reaproveitadas entre chamadas).
+     */
+    public synchronized ApiService getApiService() {
+        if (apiService == null) {
+            apiService = ApiClient.criarRetrofit(application, getGson(), getMetricas()).create(ApiService.class);
+        }
+        return apiService;
+    }
+
+    /**
+     * Thread única para buscas na API. A fila é limitada: pedidos além dela são recusados
+     * (quem chama trata a recusa como falha de rede).
+     */
+    public synchronized ExecutorService getRedeExecutor() {
+        if (redeExecutor == null) {
+            redeExecutor = executorDeUmaThread("rede", new ArrayBlockingQueue<>(FILA_REDE));
+        }
+        return redeExecutor;
+    }
+
+    /**
+     * Thread única para exportação e importação do histórico, com fila limitada.
+     */
+    public synchronized ExecutorService getBackupExecutor() {
+        if (backupExecutor == null) {
+            backupExecutor = executorDeUmaThread("backup", new ArrayBlockingQueue<>(FILA_BACKUP));
+        }
+        return backupExecutor;
+    }
+
+    /**
+     * Thread única onde os ViewModels convertem atividades em linhas de exibição (MainViewModel).
+     * É compartilhada por todas as telas, em vez de uma thread por ViewModel. A fila não é limitada:
+     * cada tarefa é uma página que já veio do banco, e recusá-la deixaria a lista da tela incompleta.
+     */
+    public synchronized ExecutorService getApresentacaoExecutor() {
+        if (apresentacaoExecutor == null) {
+            apresentacaoExecutor = executorDeUmaThread("apresentacao", new LinkedBlockingQueue<>());
+        }
+        return apresentacaoExecutor;
+    }
+
+    /**
+     * Thread única das gravações em lote (GravadorEmLote). Só existe no máximo uma gravação agendada
+     * por vez, então a fila não cresce.
+     */
+    public synchronized ScheduledExecutorService getGravacaoExecutor() {
+        if (gravacaoExecutor == null) {
+            gravacaoExecutor = new ScheduledThreadPoolExecutor(1, new FabricaDeThreads("gravacao"));
+        }
+        return gravacaoExecutor;
+    }
+
+    /**
+     * Último dia com atividade, lido sem abrir o banco (usado pelo NotificationWorker).
+     */
+    public synchronized RegistroDoUltimoDia getRegistroDoUltimoDia() {
+        if (registroDoUltimoDia == null) {
+            registroDoUltimoDia = new RegistroDoUltimoDia(application);
+        }
+        return registroDoUltimoDia;
+    }
+
+    public synchronized RepositorioAtividades getRepositorio() {
+        if (repositorio == null) {
+            repositorio = new RepositorioAtividades(application, AppDatabase.getDatabase(application),
+                    getApiService(), getRegistroDoUltimoDia(), getMetricas(), getRedeExecutor(),
+                    getBackupExecutor(), getGravacaoExecutor());
+        }
+        return repositorio;
+    }
+
+    private static ExecutorService executorDeUmaThread(String nome, BlockingQueue<Runnable> fila) {
+        // A thread é encerrada depois de 30 s parada e recriada no próximo pedido
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 30, TimeUnit.SECONDS,
+                fila, new FabricaDeThreads(nome));
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
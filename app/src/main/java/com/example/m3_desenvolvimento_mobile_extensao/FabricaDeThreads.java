@@ -0,0 +1,25 @@
+package com.example.m3_desenvolvimento_mobile_extensao;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Cria threads com nome (ex: "app-rede-1"), para que apareçam identificadas em logs, traces e
+ * no profiler. As threads são daemon: não impedem o processo de terminar.
+ */
+final class FabricaDeThreads implements ThreadFactory {
+
+    private final String prefixo;
+    private final AtomicInteger contador = new AtomicInteger();
+
+    FabricaDeThreads(String nome) {
+        this.prefixo = "app-" + nome + "-";
+    }
+
+    @Override
+    public Thread newThread(Runnable tarefa) {
+        Thread thread = new Thread(tarefa, prefixo + contador.incrementAndGet());
+        thread.setDaemon(true);
+        return thread;
+    }
+}
@@ -3,23 +3,76 @@ package com.example.m3_desenvolvimento_mobile_extensao;
 // Local: app/src/main/java/com/example/m3_desenvolvimento_mobile_extensao/HistoryActivity.java
 
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.text.Editable;
+import android.text.TextWatcher;
+import android.view.View;
+import android.widget.AdapterView;
+import android.widget.ArrayAdapter;
+import android.widget.Button;
+import android.widget.EditText;
+import android.widget.Spinner;
+import android.widget.TextView;
+
+import androidx.activity.result.ActivityResultLauncher;
+import androidx.activity.result.contract.ActivityResultContracts;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
+import com.example.m3_desenvolvimento_mobile_extensao.adapter.HistoricoLoadStateAdapter;
+import com.example.m3_desenvolvimento_mobile_extensao.adapter.HistoricoPagingAdapter;
 import com.example.m3_desenvolvimento_mobile_extensao.adapter.HistoryAdapter;
 import com.example.m3_desenvolvimento_mobile_extensao.viewmodel.MainViewModel;
 
 /**
  * Tela que exibe o histórico de atividades já realizadas pelo usuário.
  * Usa RecyclerView com Adapter + ViewModel (padrão MVVM).
+ *
+ * Por padrão o histórico é exibido em modo paginado (Paging 3), que carrega apenas
+ * as páginas visíveis. O modo de lista completa pode ser escolhido pelo extra EXTRA_MODO_PAGINADO.
+ * No modo paginado há uma caixa de busca: o texto filtra o histórico pelo índice de texto completo
+ * (ver BuscaNoHistorico), opcionalmente limitado a um período.
  */
 public class HistoryActivity extends AppCompatActivity {
 
+    // Extra opcional da Intent: false exibe o histórico inteiro de uma vez (modo lista)
+    public static final String EXTRA_MODO_PAGINADO = "modo_paginado";
+
+    // Tipo MIME do arquivo de backup (JSON delimitado por linha)
+    private static final String TIPO_ARQUIVO_BACKUP = "application/x-ndjson";
+
+    // Espera após a última tecla antes de buscar, para não recarregar a lista a cada letra
+    private static final long ATRASO_BUSCA_MS = 300;
+
+    // Opções de período da busca e a quantidade de dias de cada uma (0 = todo o período)
+    private static final String[] PERIODOS_BUSCA = {"Todo o período", "Últimos 7 dias", "Últimos 30 dias", "Último ano"};
+    private static final int[] DIAS_DOS_PERIODOS = {0, 7, 30, 365};
+
     private MainViewModel viewModel;
     private RecyclerView recyclerView;
-    private HistoryAdapter adapter;
+
+    private final Handler handlerBusca = new Handler(Looper.getMainLooper());
+    private final Runnable aplicarBusca = this::aplicarBusca;
+    private EditText editTextBusca;
+    private Spinner spinnerPeriodo;
+
+    // Seletores de arquivo do sistema (Storage Access Framework) para exportar/importar o histórico
+    private final ActivityResultLauncher<String> escolherDestinoExportacao = registerForActivityResult(
+            new ActivityResultContracts.CreateDocument(TIPO_ARQUIVO_BACKUP), uri -> {
+                if (uri != null) {
+                    viewModel.exportarHistorico(uri);
+                }
+            });
+
+    private final ActivityResultLauncher<String[]> escolherArquivoImportacao = registerForActivityResult(
+            new ActivityResultContracts.OpenDocument(), uri -> {
+                if (uri != null) {
+                    viewModel.importarHistorico(uri);
+                }
+            });
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -34,14 +87,117 @@ public class HistoryActivity extends AppCompatActivity {
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.setHasFixedSize(true);
 
+        editTextBusca = findViewById(R.id.editTextBuscaHistorico);
+        spinnerPeriodo = findViewById(R.id.spinnerPeriodoBusca);
+
+        if (getIntent().getBooleanExtra(EXTRA_MODO_PAGINADO, true)) {
+            configurarModoPaginado();
+            configurarBusca();
+        } else {
+            configurarModoLista();
+            findViewById(R.id.layoutBuscaHistorico).setVisibility(View.GONE);
+        }
+
+        configurarBackup();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        handlerBusca.removeCallbacks(aplicarBusca);
+    }
+
+    /**
+     * Caixa de busca e período. Cada tecla reinicia a espera (debounce); a busca em si só troca o
+     * filtro no ViewModel, e as páginas são lidas pelo Paging no executor de consultas do Room.
+     */
+    private void configurarBusca() {
+        ArrayAdapter<String> periodos = new ArrayAdapter<>(this, android.R.layout.simple_spinner_item, PERIODOS_BUSCA);
+        periodos.setDropDownViewResource(android.R.layout.simple_spinner_dropdown_item);
+        spinnerPeriodo.setAdapter(periodos);
+        spinnerPeriodo.setEnabled(editTextBusca.length() > 0);
+
+        editTextBusca.addTextChangedListener(new TextWatcher() {
+            @Override
+            public void beforeTextChanged(CharSequence texto, int inicio, int quantidade, int depois) {
+            }
+
+            @Override
+            public void onTextChanged(CharSequence texto, int inicio, int antes, int quantidade) {
+            }
+
+            @Override
+            public void afterTextChanged(Editable texto) {
+                spinnerPeriodo.setEnabled(texto.length() > 0);
+                handlerBusca.removeCallbacks(aplicarBusca);
+                handlerBusca.postDelayed(aplicarBusca, ATRASO_BUSCA_MS);
+            }
+        });
+
+        spinnerPeriodo.setOnItemSelectedListener(new AdapterView.OnItemSelectedListener() {
+            @Override
+            public void onItemSelected(AdapterView<?> parent, View view, int posicao, long id) {
+                // Trocar o período não precisa esperar: aplica na hora
+                handlerBusca.removeCallbacks(aplicarBusca);
+                aplicarBusca();
+            }
+
+            @Override
+            public void onNothingSelected(AdapterView<?> parent) {
+            }
+        });
+    }
+
+    private void aplicarBusca() {
+        int posicao = spinnerPeriodo.getSelectedItemPosition();
+        int dias = posicao == AdapterView.INVALID_POSITION ? 0 : DIAS_DOS_PERIODOS[posicao];
+        viewModel.buscarNoHistorico(editTextBusca.getText().toString(), dias);
+    }
+
+    /**
+     * Botões de exportar/importar o histórico e o texto com o andamento da operação.
+     */
+    private void configurarBackup() {
+        Button buttonExportar = findViewById(R.id.buttonExportarHistorico);
+        Button buttonImportar = findViewById(R.id.buttonImportarHistorico);
+        TextView textViewProgresso = findViewById(R.id.textViewProgressoBackup);
+
+        buttonExportar.setOnClickListener(view ->
+                escolherDestinoExportacao.launch("historico_atividades.jsonl"));
+        buttonImportar.setOnClickListener(view ->
+                escolherArquivoImportacao.launch(new String[]{TIPO_ARQUIVO_BACKUP, "application/json", "text/plain"}));
+
+        viewModel.getProgressoBackup().observe(this, mensagem -> {
+            textViewProgresso.setText(mensagem);
+            textViewProgresso.setVisibility(View.VISIBLE);
+        });
+    }
+
+    /**
+     * Modo paginado: as atividades chegam em páginas e um rodapé indica o carregamento.
+     */
+    private void configurarModoPaginado() {
+        HistoricoPagingAdapter adapter = new HistoricoPagingAdapter();
+        recyclerView.setAdapter(adapter.withLoadStateFooter(new HistoricoLoadStateAdapter(adapter::retry)));
+
+        // Cada nova PagingData (ex: após uma inserção ou uma nova busca) é entregue ao adapter,
+        // que calcula as diferenças
+        viewModel.getHistoricoPaginado().observe(this, pagingData ->
+                adapter.submitData(getLifecycle(), pagingData));
+    }
+
+    /**
+     * Modo lista: observa o histórico completo (LiveData) e entrega todas as linhas ao adapter.
+     */
+    private void configurarModoLista() {
         // Inicializa o Adapter e conecta ao RecyclerView
-        adapter = new HistoryAdapter();
+        HistoryAdapter adapter = new HistoryAdapter();
         recyclerView.setAdapter(adapter);
 
-        // Observa mudanças no histórico de atividades (LiveData)
-        viewModel.getHistoricoDeAtividades().observe(this, atividadesRealizadas -> {
+        // Observa o histórico já convertido em linhas (datas formatadas e cabeçalhos de mês)
+        viewModel.getLinhasDoHistorico().observe(this, linhas -> {
             // Quando a lista for atualizada, atualizamos a RecyclerView
-            adapter.setAtividades(atividadesRealizadas);
+            adapter.setLinhas(linhas);
         });
     }
 }
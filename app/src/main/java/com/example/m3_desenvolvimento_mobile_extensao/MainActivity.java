@@ -6,19 +6,17 @@ import android.os.Build;
 import android.os.Bundle;
 import android.util.Log;
 import android.widget.Button;
+import android.widget.CheckBox;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.lifecycle.ViewModelProvider;
 
-import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
-import com.example.m3_desenvolvimento_mobile_extensao.repositorio.RepositorioAtividades;
 import com.example.m3_desenvolvimento_mobile_extensao.viewmodel.MainViewModel;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.List;
 import java.util.Locale;
 
 /**
@@ -32,6 +30,7 @@ public class MainActivity extends AppCompatActivity {
     private TextView textViewAtividadeDia;
     private Button buttonConfirmar;
     private Button buttonVerHistorico;
+    private CheckBox checkBoxRecomendacao;
 
     // Armazena a data da última atividade exibida, para controle de mudanças de dia
     private String diaDaAtividadeExibida;
@@ -57,6 +56,8 @@ public class MainActivity extends AppCompatActivity {
         textViewAtividadeDia = findViewById(R.id.textViewAtividadeDia);
         buttonConfirmar = findViewById(R.id.buttonConfirmar);
         buttonVerHistorico = findViewById(R.id.buttonVerHistorico);
+        checkBoxRecomendacao = findViewById(R.id.checkBoxRecomendacao);
+        checkBoxRecomendacao.setChecked(viewModel.isModoRecomendacao());
 
         // Observa mudanças do ViewModel
         setupObservers();
@@ -79,9 +80,7 @@ public class MainActivity extends AppCompatActivity {
 
             if (!hoje.equals(this.diaDaAtividadeExibida)) {
                 Toast.makeText(this, "Um novo dia, uma nova atividade!", Toast.LENGTH_SHORT).show();
-                viewModel.buscarNovaAtividade(); // Nova atividade para novo dia
-                buttonConfirmar.setEnabled(true); // Reativa botão
-                buttonConfirmar.setText("Confirmar Atividade Realizada");
+                viewModel.buscarNovaAtividade(); // Nova atividade para novo dia (o botão é reativado pelo observer)
             }
         }
     }
@@ -102,9 +101,9 @@ public class MainActivity extends AppCompatActivity {
             textViewCategoria.setText(categoria);
         });
 
-        // Observa o histórico para saber se o botão deve estar ativado
-        viewModel.getHistoricoDeAtividades().observe(this, historico -> {
-            if (atividadeDeHojeJaFoiFeita(historico)) {
+        // Observa se já há atividade hoje para saber se o botão deve estar ativado
+        viewModel.getAtividadeDeHojeConcluida().observe(this, concluida -> {
+            if (Boolean.TRUE.equals(concluida)) {
                 buttonConfirmar.setEnabled(false);
                 buttonConfirmar.setText("Atividade de hoje concluída!");
             } else {
@@ -127,25 +126,8 @@ public class MainActivity extends AppCompatActivity {
             Intent intent = new Intent(MainActivity.this, HistoryActivity.class);
             startActivity(intent);
         });
-    }
 
-    /**
-     * Verifica se já existe uma atividade realizada no dia atual
-     */
-    private boolean atividadeDeHojeJaFoiFeita(List<AtividadeRealizada> historico) {
-        if (historico == null || historico.isEmpty()) {
-            return false;
-        }
-
-        SimpleDateFormat sdf = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault());
-        String hoje = sdf.format(new Date());
-
-        for (AtividadeRealizada atividade : historico) {
-            String dataAtividade = sdf.format(atividade.dataConfirmacao);
-            if (dataAtividade.equals(hoje)) {
-                return true;
-            }
-        }
-        return false;
+        // Escolhe como as próximas atividades do dia são sorteadas
+        checkBoxRecomendacao.setOnCheckedChangeListener((botao, marcado) -> viewModel.setModoRecomendacao(marcado));
     }
 }
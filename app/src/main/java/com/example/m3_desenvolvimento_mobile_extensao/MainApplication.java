@@ -3,11 +3,14 @@ package com.example.m3_desenvolvimento_mobile_extensao;
 import android.app.Application;
 import android.util.Log;
 
+import androidx.work.Constraints;
 import androidx.work.ExistingPeriodicWorkPolicy;
+import androidx.work.NetworkType;
 import androidx.work.PeriodicWorkRequest;
 import androidx.work.WorkManager;
 
-import com.example.m3_desenvolvimento_mobile_extensao.worker.NotificationWorker;
+import com.example.m3_desenvolvimento_mobile_extensao.worker.AgendadorDeLembretes;
+import com.example.m3_desenvolvimento_mobile_extensao.worker.PrefetchCatalogoWorker;
 
 import java.util.concurrent.TimeUnit;
 
@@ -17,33 +20,53 @@ import java.util.concurrent.TimeUnit;
  */
 public class MainApplication extends Application {
 
+    // Repositório, cliente da API e threads compartilhados pelo app inteiro (criados sob demanda)
+    private DependenciasDoApp dependencias;
+
+    /**
+     * Dependências compartilhadas do app. Telas, ViewModels e workers usam sempre as mesmas instâncias.
+     */
+    public synchronized DependenciasDoApp getDependencias() {
+        if (dependencias == null) {
+            dependencias = new DependenciasDoApp(this);
+        }
+        return dependencias;
+    }
+
     @Override
     public void onCreate() {
         super.onCreate();
 
         // Log para rastrear se o Worker está sendo agendado corretamente
-        Log.d("MainApplication", "Agendando notificações periódicas...");
+        Log.d("MainApplication", "Agendando o próximo lembrete...");
+
+        // Garante que o próximo horário de lembrete está agendado (o worker reagenda os seguintes)
+        AgendadorDeLembretes.garantirAgendamento(getApplicationContext());
 
-        // Inicia o agendamento do Worker de notificação
-        scheduleNotificationWorker();
+        // Agenda a atualização do catálogo em segundo plano
+        schedulePrefetchCatalogoWorker();
     }
 
     /**
-     * Agenda o NotificationWorker para executar a cada 15 minutos.
-     * O Android limita o intervalo mínimo para WorkManager em 15 minutos.
+     * Agenda o PrefetchCatalogoWorker para executar a cada 12 horas, apenas em rede não tarifada
+     * e com bateria em nível adequado. Assim a atividade do dia seguinte já está pronta
+     * antes de o usuário abrir o app.
      */
-    private void scheduleNotificationWorker() {
-        // Cria uma solicitação de trabalho periódica (worker recorrente)
+    private void schedulePrefetchCatalogoWorker() {
+        Constraints restricoes = new Constraints.Builder()
+                .setRequiredNetworkType(NetworkType.UNMETERED) // Só em Wi-Fi (ou outra rede não tarifada)
+                .setRequiresBatteryNotLow(true)                // Não consome bateria quando ela está baixa
+                .build();
+
         PeriodicWorkRequest workRequest = new PeriodicWorkRequest.Builder(
-                NotificationWorker.class,       // Worker que será executado
-                15, TimeUnit.MINUTES
-        ).build();
+                PrefetchCatalogoWorker.class,
+                12, TimeUnit.HOURS
+        ).setConstraints(restricoes).build();
 
-        // Agenda o trabalho usando uma chave única (para evitar agendamento duplicado)
         WorkManager.getInstance(getApplicationContext()).enqueueUniquePeriodicWork(
-                NotificationWorker.UNIQUE_WORK_NAME,    // Nome único para esse tipo de trabalho
-                ExistingPeriodicWorkPolicy.KEEP,        // Se já existir, mantém o existente
-                workRequest                             // O trabalho a ser executado
+                PrefetchCatalogoWorker.UNIQUE_WORK_NAME,
+                ExistingPeriodicWorkPolicy.KEEP,
+                workRequest
         );
     }
 }
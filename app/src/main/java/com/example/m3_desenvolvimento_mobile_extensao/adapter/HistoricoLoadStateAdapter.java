@@ -0,0 +1,62 @@
+package com.example.m3_desenvolvimento_mobile_extensao.adapter;
+
+// Rodapé do histórico paginado: mostra um indicador enquanto a próxima página carrega
+// e um botão para tentar de novo caso o carregamento falhe.
+
+import android.view.LayoutInflater;
+import android.view.View;
+import android.view.ViewGroup;
+import android.widget.Button;
+import android.widget.ProgressBar;
+import android.widget.TextView;
+
+import androidx.annotation.NonNull;
+import androidx.paging.LoadState;
+import androidx.paging.LoadStateAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.example.m3_desenvolvimento_mobile_extensao.R;
+
+public class HistoricoLoadStateAdapter extends LoadStateAdapter<HistoricoLoadStateAdapter.CarregandoViewHolder> {
+
+    // Ação executada ao tocar em "Tentar novamente" (normalmente adapter::retry)
+    private final Runnable acaoTentarNovamente;
+
+    public HistoricoLoadStateAdapter(Runnable acaoTentarNovamente) {
+        this.acaoTentarNovamente = acaoTentarNovamente;
+    }
+
+    /**
+     * ViewHolder do rodapé: indicador de progresso, mensagem de erro e botão de nova tentativa.
+     */
+    public static class CarregandoViewHolder extends RecyclerView.ViewHolder {
+        public ProgressBar progressBar;
+        public TextView textViewErro;
+        public Button buttonTentarNovamente;
+
+        public CarregandoViewHolder(@NonNull View itemView) {
+            super(itemView);
+            progressBar = itemView.findViewById(R.id.progressBarCarregando);
+            textViewErro = itemView.findViewById(R.id.textViewErroCarregando);
+            buttonTentarNovamente = itemView.findViewById(R.id.buttonTentarNovamente);
+        }
+    }
+
+    @NonNull
+    @Override
+    public CarregandoViewHolder onCreateViewHolder(@NonNull ViewGroup parent, @NonNull LoadState loadState) {
+        View view = LayoutInflater.from(parent.getContext())
+                .inflate(R.layout.list_item_carregando, parent, false);
+        CarregandoViewHolder holder = new CarregandoViewHolder(view);
+        holder.buttonTentarNovamente.setOnClickListener(v -> acaoTentarNovamente.run());
+        return holder;
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull CarregandoViewHolder holder, @NonNull LoadState loadState) {
+        boolean erro = loadState instanceof LoadState.Error;
+        holder.progressBar.setVisibility(loadState instanceof LoadState.Loading ? View.VISIBLE : View.GONE);
+        holder.textViewErro.setVisibility(erro ? View.VISIBLE : View.GONE);
+        holder.buttonTentarNovamente.setVisibility(erro ? View.VISIBLE : View.GONE);
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.m3_desenvolvimento_mobile_extensao.adapter;
+
+// Adapter paginado do histórico: recebe as linhas em páginas (Paging 3) em vez da lista inteira.
+
+import android.view.ViewGroup;
+
+import androidx.annotation.NonNull;
+import androidx.paging.PagingDataAdapter;
+import androidx.recyclerview.widget.RecyclerView;
+
+public class HistoricoPagingAdapter extends PagingDataAdapter<LinhaHistorico, RecyclerView.ViewHolder> {
+
+    public HistoricoPagingAdapter() {
+        // Mesma comparação (por id) do HistoryAdapter, usada em segundo plano ao receber novas páginas
+        super(HistoryAdapter.DIFF_CALLBACK);
+    }
+
+    @NonNull
+    @Override
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return HistoryAdapter.criarViewHolder(parent, viewType);
+    }
+
+    @Override
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        LinhaHistorico linha = getItem(position);
+        if (linha == null) {
+            return; // Placeholders estão desativados, mas o contrato do Paging permite itens nulos
+        }
+        HistoryAdapter.vincular(holder, linha);
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        LinhaHistorico linha = peek(position);
+        return linha == null ? LinhaHistorico.TIPO_ATIVIDADE : linha.tipo;
+    }
+}
@@ -8,23 +8,46 @@ import android.view.ViewGroup;
 import android.widget.TextView;
 
 import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.m3_desenvolvimento_mobile_extensao.R;
-import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
 
-import java.text.SimpleDateFormat;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
 
-public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.HistoryViewHolder> {
+/**
+ * Usa ListAdapter: a cada nova lista, as diferenças são calculadas em uma thread de segundo plano
+ * (AsyncListDiffer) comparando as linhas pelo id. Assim, uma nova confirmação gera apenas
+ * uma inserção na lista, em vez de redesenhar todos os itens.
+ *
+ * As linhas (LinhaHistorico) já vêm com os textos formatados e com cabeçalhos de mês,
+ * então o bind apenas copia Strings para as Views.
+ */
+public class HistoryAdapter extends ListAdapter<LinhaHistorico, RecyclerView.ViewHolder> {
 
-    // Lista de atividades a serem exibidas no RecyclerView
-    private List<AtividadeRealizada> atividades = new ArrayList<>();
+    /**
+     * Compara linhas pelo id (mesmo item) e pelo conteúdo (mesmos textos exibidos).
+     * Também é usado pelo HistoricoPagingAdapter.
+     */
+    static final DiffUtil.ItemCallback<LinhaHistorico> DIFF_CALLBACK =
+            new DiffUtil.ItemCallback<LinhaHistorico>() {
+                @Override
+                public boolean areItemsTheSame(@NonNull LinhaHistorico antiga, @NonNull LinhaHistorico nova) {
+                    return antiga.id == nova.id;
+                }
+
+                @Override
+                public boolean areContentsTheSame(@NonNull LinhaHistorico antiga, @NonNull LinhaHistorico nova) {
+                    return antiga.equals(nova);
+                }
+            };
 
-    // Formato de data usado para exibir a data de confirmação da atividade
-    private final SimpleDateFormat sdf = new SimpleDateFormat("dd 'de' MMMM 'de' yyyy, HH:mm", Locale.getDefault());
+    public HistoryAdapter() {
+        super(DIFF_CALLBACK);
+        // O id da linha identifica cada item de forma estável entre atualizações
+        setHasStableIds(true);
+    }
 
     /**
      * ViewHolder: Representa cada item individual da lista e mantém referências
@@ -41,40 +64,83 @@ public class HistoryAdapter extends RecyclerView.Adapter<HistoryAdapter.HistoryV
         }
     }
 
+    /**
+     * ViewHolder do cabeçalho de mês: nome do mês e quantidade de atividades nele.
+     */
+    public static class CabecalhoViewHolder extends RecyclerView.ViewHolder {
+        public TextView textViewMes;
+        public TextView textViewQuantidade;
+
+        public CabecalhoViewHolder(@NonNull View itemView) {
+            super(itemView);
+            textViewMes = itemView.findViewById(R.id.textViewMesCabecalho);
+            textViewQuantidade = itemView.findViewById(R.id.textViewQuantidadeCabecalho);
+        }
+    }
+
+    /**
+     * Cria a View de uma linha, inflando o layout XML do tipo correspondente.
+     * Compartilhado com o HistoricoPagingAdapter.
+     */
+    static RecyclerView.ViewHolder criarViewHolder(@NonNull ViewGroup parent, int viewType) {
+        LayoutInflater inflater = LayoutInflater.from(parent.getContext());
+        if (viewType == LinhaHistorico.TIPO_CABECALHO) {
+            return new CabecalhoViewHolder(inflater.inflate(R.layout.list_item_cabecalho_mes, parent, false));
+        }
+        return new HistoryViewHolder(inflater.inflate(R.layout.list_item_historico, parent, false));
+    }
+
+    /**
+     * Copia os textos já formatados da linha para o ViewHolder.
+     * Compartilhado com o HistoricoPagingAdapter.
+     */
+    static void vincular(@NonNull RecyclerView.ViewHolder holder, LinhaHistorico linha) {
+        if (holder instanceof CabecalhoViewHolder) {
+            CabecalhoViewHolder cabecalho = (CabecalhoViewHolder) holder;
+            cabecalho.textViewMes.setText(linha.titulo);
+            cabecalho.textViewQuantidade.setText(linha.subtitulo);
+        } else {
+            HistoryViewHolder item = (HistoryViewHolder) holder;
+            item.textViewDescricao.setText(linha.titulo);
+            item.textViewData.setText(linha.subtitulo);
+        }
+    }
+
     /**
      * Cria uma nova View para um item da lista, inflando o layout XML correspondente.
      */
     @NonNull
     @Override
-    public HistoryViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
-        View view = LayoutInflater.from(parent.getContext())
-                .inflate(R.layout.list_item_historico, parent, false);
-        return new HistoryViewHolder(view);
+    public RecyclerView.ViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
+        return criarViewHolder(parent, viewType);
     }
 
     /**
-     * Associa os dados de uma atividade ao item de lista (ViewHolder) correspondente.
+     * Associa os dados de uma linha ao item de lista (ViewHolder) correspondente.
      */
     @Override
-    public void onBindViewHolder(@NonNull HistoryViewHolder holder, int position) {
-        AtividadeRealizada atividadeAtual = atividades.get(position);
-        holder.textViewDescricao.setText(atividadeAtual.descricao);
-        holder.textViewData.setText(sdf.format(atividadeAtual.dataConfirmacao));
+    public void onBindViewHolder(@NonNull RecyclerView.ViewHolder holder, int position) {
+        vincular(holder, getItem(position));
+    }
+
+    @Override
+    public int getItemViewType(int position) {
+        return getItem(position).tipo;
     }
 
     /**
-     * Retorna o total de itens a serem exibidos.
+     * Id estável do item: o id da atividade no banco (ou o id do cabeçalho de mês).
      */
     @Override
-    public int getItemCount() {
-        return atividades.size();
+    public long getItemId(int position) {
+        return getItem(position).id;
     }
 
     /**
-     * Atualiza a lista de atividades exibidas e avisa o RecyclerView para redesenhar os itens.
+     * Atualiza as linhas exibidas. As diferenças são calculadas em segundo plano
+     * e apenas os itens alterados são atualizados no RecyclerView.
      */
-    public void setAtividades(List<AtividadeRealizada> novasAtividades) {
-        this.atividades = novasAtividades;
-        notifyDataSetChanged();
+    public void setLinhas(List<LinhaHistorico> novasLinhas) {
+        submitList(novasLinhas);
     }
 }
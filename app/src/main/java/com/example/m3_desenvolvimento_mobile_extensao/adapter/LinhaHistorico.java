@@ -0,0 +1,58 @@
+package com.example.m3_desenvolvimento_mobile_extensao.adapter;
+
+import java.util.Objects;
+
+/**
+ * Modelo de exibição (imutável) de uma linha da tela de histórico.
+ * Pode ser um cabeçalho de mês ("Abril de 2025" / "12 atividades") ou uma atividade.
+ *
+ * Os textos já chegam formatados (montados em segundo plano pelo MontadorLinhasHistorico),
+ * então o adapter apenas copia Strings para as Views, sem formatar datas durante a rolagem.
+ */
+public final class LinhaHistorico {
+
+    public static final int TIPO_CABECALHO = 0;
+    public static final int TIPO_ATIVIDADE = 1;
+
+    public final int tipo;
+
+    // Id estável da linha: o id da atividade, ou um valor negativo derivado do mês para cabeçalhos
+    public final long id;
+
+    // Mês da linha (ano * 12 + mês), usado para agrupar as atividades por mês
+    public final int chaveMes;
+
+    // Atividade: descrição e data formatada. Cabeçalho: nome do mês e quantidade de atividades.
+    public final String titulo;
+    public final String subtitulo;
+
+    private LinhaHistorico(int tipo, long id, int chaveMes, String titulo, String subtitulo) {
+        this.tipo = tipo;
+        this.id = id;
+        this.chaveMes = chaveMes;
+        this.titulo = titulo;
+        this.subtitulo = subtitulo;
+    }
+
+    public static LinhaHistorico atividade(int idAtividade, int chaveMes, String descricao, String dataFormatada) {
+        return new LinhaHistorico(TIPO_ATIVIDADE, idAtividade, chaveMes, descricao, dataFormatada);
+    }
+
+    public static LinhaHistorico cabecalho(int chaveMes, String nomeDoMes, String quantidade) {
+        return new LinhaHistorico(TIPO_CABECALHO, -(chaveMes + 1L), chaveMes, nomeDoMes, quantidade);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof LinhaHistorico)) return false;
+        LinhaHistorico outra = (LinhaHistorico) o;
+        return tipo == outra.tipo && id == outra.id && chaveMes == outra.chaveMes
+                && Objects.equals(titulo, outra.titulo) && Objects.equals(subtitulo, outra.subtitulo);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(tipo, id, chaveMes, titulo, subtitulo);
+    }
+}
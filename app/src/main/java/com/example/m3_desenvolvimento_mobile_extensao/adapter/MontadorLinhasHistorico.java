@@ -0,0 +1,94 @@
+package com.example.m3_desenvolvimento_mobile_extensao.adapter;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.DiasEpoch;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Converte atividades do banco em linhas prontas para exibição (LinhaHistorico),
+ * com a data já formatada e cabeçalhos de mês com a quantidade de atividades de cada mês.
+ *
+ * Deve ser usado em uma única thread de segundo plano: SimpleDateFormat e Calendar não são
+ * thread-safe, por isso são reaproveitados aqui em vez de criados a cada linha.
+ */
+public class MontadorLinhasHistorico {
+
+    private final SimpleDateFormat formatoData = new SimpleDateFormat("dd 'de' MMMM 'de' yyyy, HH:mm", Locale.getDefault());
+    private final SimpleDateFormat formatoMes = new SimpleDateFormat("MMMM 'de' yyyy", Locale.getDefault());
+    private final Calendar calendario = Calendar.getInstance();
+
+    /**
+     * Monta a lista completa de linhas (modo lista), a partir das atividades da mais recente
+     * para a mais antiga. Cada mês recebe um cabeçalho antes das suas atividades.
+     */
+    public List<LinhaHistorico> montar(List<AtividadeRealizada> atividades) {
+        // Primeiro formata as atividades (cada linha já sabe o seu mês)...
+        List<LinhaHistorico> itens = new ArrayList<>(atividades.size());
+        for (AtividadeRealizada atividade : atividades) {
+            itens.add(paraLinha(atividade));
+        }
+
+        // ...depois intercala os cabeçalhos, contando quantas atividades seguidas são do mesmo mês
+        List<LinhaHistorico> linhas = new ArrayList<>(itens.size() + 16);
+        int inicio = 0;
+        while (inicio < itens.size()) {
+            int chaveMes = itens.get(inicio).chaveMes;
+            int fim = inicio;
+            while (fim < itens.size() && itens.get(fim).chaveMes == chaveMes) {
+                fim++;
+            }
+            linhas.add(cabecalho(chaveMes, fim - inicio));
+            linhas.addAll(itens.subList(inicio, fim));
+            inicio = fim;
+        }
+        return linhas;
+    }
+
+    /**
+     * Converte uma atividade em linha de exibição, formatando a data.
+     */
+    public LinhaHistorico paraLinha(AtividadeRealizada atividade) {
+        calendario.setTime(atividade.dataConfirmacao);
+        int chaveMes = calendario.get(Calendar.YEAR) * 12 + calendario.get(Calendar.MONTH);
+        return LinhaHistorico.atividade(atividade.id, chaveMes, atividade.descricao,
+                formatoData.format(atividade.dataConfirmacao));
+    }
+
+    /**
+     * Cria o cabeçalho de um mês, ex: "Abril de 2025" / "12 atividades".
+     */
+    public LinhaHistorico cabecalho(int chaveMes, int quantidade) {
+        posicionarNoInicioDoMes(chaveMes);
+        String nomeDoMes = formatoMes.format(calendario.getTime());
+        if (!nomeDoMes.isEmpty()) {
+            nomeDoMes = nomeDoMes.substring(0, 1).toUpperCase(Locale.getDefault()) + nomeDoMes.substring(1);
+        }
+        String textoQuantidade = quantidade == 1 ? "1 atividade" : quantidade + " atividades";
+        return LinhaHistorico.cabecalho(chaveMes, nomeDoMes, textoQuantidade);
+    }
+
+    /**
+     * Primeiro dia (dia epoch local) do mês informado.
+     */
+    public long primeiroDiaDoMes(int chaveMes) {
+        posicionarNoInicioDoMes(chaveMes);
+        return DiasEpoch.daData(calendario.getTime());
+    }
+
+    /**
+     * Último dia (dia epoch local) do mês informado.
+     */
+    public long ultimoDiaDoMes(int chaveMes) {
+        return primeiroDiaDoMes(chaveMes + 1) - 1;
+    }
+
+    private void posicionarNoInicioDoMes(int chaveMes) {
+        calendario.clear();
+        calendario.set(chaveMes / 12, chaveMes % 12, 1);
+    }
+}
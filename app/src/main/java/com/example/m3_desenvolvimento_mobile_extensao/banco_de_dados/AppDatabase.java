@@ -1,11 +1,14 @@
 package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
 
 import android.content.Context;
+import android.database.Cursor;
 
 import androidx.room.Database;
 import androidx.room.Room;
 import androidx.room.RoomDatabase;
 import androidx.room.TypeConverters;
+import androidx.room.migration.Migration;
+import androidx.sqlite.db.SupportSQLiteDatabase;
 
 /**
  * Classe principal de configuração do banco de dados usando Room.
@@ -14,7 +17,10 @@ import androidx.room.TypeConverters;
 
 // Declara o banco de dados e informa ao Room quais entidades ele deve incluir.
 // Também define a versão do banco (necessária para migrações futuras).
-@Database(entities = {AtividadeRealizada.class}, version = 1, exportSchema = false)
+@Database(entities = {AtividadeRealizada.class, ResumoDiario.class, ItemCatalogo.class,
+        ItemSacola.class, EstadoSacola.class, FrequenciaAtividade.class, AtividadeBusca.class,
+        ItemCatalogoNovo.class},
+        version = 10, exportSchema = false)
 
 // Define conversores de tipo personalizados, como Date <-> Long.
 @TypeConverters({Converters.class})
@@ -26,6 +32,166 @@ public abstract class AppDatabase extends RoomDatabase {
      */
     public abstract AtividadeDAO atividadeDAO();
 
+    /**
+     * DAO da cópia local do catálogo de atividades propostas.
+     */
+    public abstract CatalogoDAO catalogoDAO();
+
+    /**
+     * DAO da sacola de sorteio da atividade do dia.
+     */
+    public abstract SacolaDAO sacolaDAO();
+
+    /**
+     * Migração 1 -> 2: adiciona a coluna diaEpoch (dia local pré-calculado) e os índices
+     * em diaEpoch e dataConfirmacao. As linhas existentes têm o dia calculado pelo próprio SQLite,
+     * no fuso local, a partir do timestamp em milissegundos.
+     */
+    static final Migration MIGRACAO_1_2 = new Migration(1, 2) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("ALTER TABLE `atividades_realizadas` ADD COLUMN `diaEpoch` INTEGER NOT NULL DEFAULT 0");
+            database.execSQL("UPDATE `atividades_realizadas` SET `diaEpoch` = " +
+                    "CAST(julianday(date(`dataConfirmacao` / 1000, 'unixepoch', 'localtime')) - 2440587.5 AS INTEGER) " +
+                    "WHERE `dataConfirmacao` IS NOT NULL");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_atividades_realizadas_diaEpoch` " +
+                    "ON `atividades_realizadas` (`diaEpoch`)");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_atividades_realizadas_dataConfirmacao` " +
+                    "ON `atividades_realizadas` (`dataConfirmacao`)");
+        }
+    };
+
+    /**
+     * Migração 2 -> 3: cria a tabela resumo_diario e a preenche a partir do histórico existente.
+     * A sequência de dias consecutivos é calculada aqui em Java, percorrendo os dias em ordem,
+     * pois funções de janela do SQLite não estão disponíveis em todas as versões do Android suportadas.
+     */
+    static final Migration MIGRACAO_2_3 = new Migration(2, 3) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `resumo_diario` (`dia` INTEGER NOT NULL, " +
+                    "`quantidade` INTEGER NOT NULL, `sequencia` INTEGER NOT NULL, " +
+                    "`totalAcumulado` INTEGER NOT NULL, PRIMARY KEY(`dia`))");
+
+            try (Cursor cursor = database.query("SELECT `diaEpoch`, COUNT(*) FROM `atividades_realizadas` " +
+                    "GROUP BY `diaEpoch` ORDER BY `diaEpoch`")) {
+                long diaAnterior = Long.MIN_VALUE;
+                int sequencia = 0;
+                int totalAcumulado = 0;
+                while (cursor.moveToNext()) {
+                    long dia = cursor.getLong(0);
+                    int quantidade = cursor.getInt(1);
+                    sequencia = (dia == diaAnterior + 1) ? sequencia + 1 : 1;
+                    totalAcumulado += quantidade;
+                    database.execSQL("INSERT INTO `resumo_diario` VALUES (?, ?, ?, ?)",
+                            new Object[]{dia, quantidade, sequencia, totalAcumulado});
+                    diaAnterior = dia;
+                }
+            }
+        }
+    };
+
+    /**
+     * Migração 3 -> 4: cria a tabela catalogo_atividades (cópia local do catálogo, antes salva
+     * como um único JSON no SharedPreferences). O conteúdo antigo é copiado pelo repositório
+     * na primeira busca do catálogo.
+     */
+    static final Migration MIGRACAO_3_4 = new Migration(3, 4) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `catalogo_atividades` (`posicao` INTEGER NOT NULL, " +
+                    "`texto` TEXT, PRIMARY KEY(`posicao`))");
+        }
+    };
+
+    /**
+     * Migração 4 -> 5: índice no texto do catálogo, usado para encontrar as atividades
+     * removidas por um delta sem percorrer a tabela inteira.
+     */
+    static final Migration MIGRACAO_4_5 = new Migration(4, 5) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_catalogo_atividades_texto` " +
+                    "ON `catalogo_atividades` (`texto`)");
+        }
+    };
+
+    /**
+     * Migração 5 -> 6: cria as tabelas da sacola de sorteio. Elas começam vazias; a sacola é montada
+     * no primeiro sorteio, a partir do catálogo local.
+     */
+    static final Migration MIGRACAO_5_6 = new Migration(5, 6) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `sacola_sorteio` (`ordem` INTEGER NOT NULL, " +
+                    "`posicao` INTEGER NOT NULL, PRIMARY KEY(`ordem`))");
+            database.execSQL("CREATE TABLE IF NOT EXISTS `sacola_estado` (`id` INTEGER NOT NULL, " +
+                    "`cursor` INTEGER NOT NULL, PRIMARY KEY(`id`))");
+        }
+    };
+
+    /**
+     * Migração 6 -> 7: cria a tabela frequencia_atividades e a preenche a partir do histórico existente
+     * (uma linha por descrição, com a quantidade e o dia mais recente).
+     */
+    static final Migration MIGRACAO_6_7 = new Migration(6, 7) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `frequencia_atividades` (`descricao` TEXT NOT NULL, " +
+                    "`quantidade` INTEGER NOT NULL, `ultimoDia` INTEGER NOT NULL, PRIMARY KEY(`descricao`))");
+            database.execSQL("INSERT INTO `frequencia_atividades` (`descricao`, `quantidade`, `ultimoDia`) " +
+                    "SELECT `descricao`, COUNT(*), MAX(`diaEpoch`) FROM `atividades_realizadas` " +
+                    "WHERE `descricao` IS NOT NULL GROUP BY `descricao`");
+        }
+    };
+
+    /**
+     * Migração 7 -> 8: cria o índice de texto completo atividades_busca (FTS4 de conteúdo externo)
+     * e o preenche com o histórico existente pelo comando 'rebuild'. Os gatilhos que mantêm o índice
+     * sincronizado são recriados pelo próprio Room ao final das migrações.
+     */
+    static final Migration MIGRACAO_7_8 = new Migration(7, 8) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE VIRTUAL TABLE IF NOT EXISTS `atividades_busca` USING FTS4(" +
+                    "`descricao` TEXT, tokenize=unicode61, content=`atividades_realizadas`)");
+            database.execSQL("INSERT INTO `atividades_busca`(`atividades_busca`) VALUES ('rebuild')");
+        }
+    };
+
+    /**
+     * Migração 8 -> 9: cria a tabela catalogo_atividades_novo, onde o catálogo baixado é gravado
+     * antes de substituir catalogo_atividades. Ela começa (e normalmente fica) vazia.
+     */
+    static final Migration MIGRACAO_8_9 = new Migration(8, 9) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `catalogo_atividades_novo` (`posicao` INTEGER NOT NULL, " +
+                    "`texto` TEXT, PRIMARY KEY(`posicao`))");
+        }
+    };
+
+    /**
+     * Migração 9 -> 10: a sacola de sorteio passa a guardar o texto das atividades em vez da posição
+     * no catálogo (que muda a cada delta). O ciclo em andamento é mantido: cada posição é trocada pelo
+     * texto que está nela hoje. O estado ganha a marcação de catálogo alterado, já ligada, para que o
+     * próximo sorteio confira se há atividades novas.
+     */
+    static final Migration MIGRACAO_9_10 = new Migration(9, 10) {
+        @Override
+        public void migrate(SupportSQLiteDatabase database) {
+            database.execSQL("CREATE TABLE IF NOT EXISTS `sacola_sorteio_nova` (`ordem` INTEGER NOT NULL, " +
+                    "`texto` TEXT NOT NULL, PRIMARY KEY(`ordem`))");
+            database.execSQL("INSERT INTO `sacola_sorteio_nova` (`ordem`, `texto`) " +
+                    "SELECT s.`ordem`, c.`texto` FROM `sacola_sorteio` s " +
+                    "JOIN `catalogo_atividades` c ON c.`posicao` = s.`posicao` WHERE c.`texto` IS NOT NULL");
+            database.execSQL("DROP TABLE `sacola_sorteio`");
+            database.execSQL("ALTER TABLE `sacola_sorteio_nova` RENAME TO `sacola_sorteio`");
+            database.execSQL("CREATE INDEX IF NOT EXISTS `index_sacola_sorteio_texto` ON `sacola_sorteio` (`texto`)");
+            database.execSQL("ALTER TABLE `sacola_estado` ADD COLUMN `catalogoAlterado` INTEGER NOT NULL DEFAULT 1");
+        }
+    };
+
     // Instância única do banco de dados (Singleton) — garante que só exista uma no app inteiro.
     private static volatile AppDatabase INSTANCE;
 
@@ -40,6 +206,9 @@ public abstract class AppDatabase extends RoomDatabase {
                     // Cria o banco com o nome "app_idoso_database"
                     INSTANCE = Room.databaseBuilder(context.getApplicationContext(),
                                     AppDatabase.class, "app_idoso_database")
+                            .addMigrations(MIGRACAO_1_2, MIGRACAO_2_3, MIGRACAO_3_4, MIGRACAO_4_5,
+                                    MIGRACAO_5_6, MIGRACAO_6_7, MIGRACAO_7_8, MIGRACAO_8_9,
+                                    MIGRACAO_9_10)
                             .build();
                 }
             }
@@ -0,0 +1,32 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.ColumnInfo;
+import androidx.room.Entity;
+import androidx.room.Fts4;
+import androidx.room.FtsOptions;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela virtual "atividades_busca" (FTS4): índice de texto completo das descrições de atividades_realizadas.
+ *
+ * É uma tabela de conteúdo externo: guarda só o índice das palavras, e o texto continua em
+ * atividades_realizadas. O Room cria gatilhos que atualizam o índice a cada inserção, alteração ou
+ * remoção de atividade, então a busca não precisa percorrer o histórico com LIKE.
+ * O tokenizador unicode61 ignora maiúsculas e acentos ("meditacao" encontra "Meditação").
+ */
+@Fts4(contentEntity = AtividadeRealizada.class, tokenizer = FtsOptions.TOKENIZER_UNICODE61)
+@Entity(tableName = "atividades_busca")
+public class AtividadeBusca {
+
+    /**
+     * rowid da tabela FTS: é o id da atividade em atividades_realizadas.
+     */
+    @PrimaryKey
+    @ColumnInfo(name = "rowid")
+    public int rowid;
+
+    /**
+     * Descrição indexada (mesmo texto de AtividadeRealizada.descricao).
+     */
+    public String descricao;
+}
@@ -1,11 +1,17 @@
 package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
 
+import android.database.Cursor;
+
 import androidx.lifecycle.LiveData;
 import androidx.room.Dao;
 import androidx.room.Insert;
 import androidx.room.Query;
+import androidx.room.Transaction;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 /**
  * Interface que define como a aplicação vai interagir com a tabela de atividades realizadas.
@@ -16,11 +22,80 @@ import java.util.List;
 public interface AtividadeDAO {
 
     /**
-     * Insere uma nova atividade realizada no banco de dados.
+     * Insere uma nova atividade realizada no banco de dados e atualiza o resumo diário e a frequência
+     * da atividade na mesma transação, para que as tabelas nunca fiquem inconsistentes.
+     */
+    @Transaction
+    default void inserir(AtividadeRealizada atividade) {
+        inserirLinha(atividade);
+        registrarNoResumo(atividade.diaEpoch, 1);
+        registrarNaFrequencia(atividade.descricao, atividade.diaEpoch);
+    }
+
+    /**
+     * Insere apenas a linha em atividades_realizadas.
      * O Room se encarrega de montar a instrução SQL por trás dessa chamada.
+     * Use inserir(), que também mantém o resumo diário.
+     */
+    @Insert
+    void inserirLinha(AtividadeRealizada atividade);
+
+    /**
+     * Insere várias atividades de uma vez, em uma única transação (um único commit no SQLite),
+     * e atualiza o resumo diário e as frequências. Atividades seguidas do mesmo dia são registradas
+     * no resumo juntas.
+     */
+    @Transaction
+    default void inserirTodas(List<AtividadeRealizada> atividades) {
+        inserirLinhas(atividades);
+        for (AtividadeRealizada atividade : atividades) {
+            registrarNaFrequencia(atividade.descricao, atividade.diaEpoch);
+        }
+
+        int i = 0;
+        while (i < atividades.size()) {
+            long dia = atividades.get(i).diaEpoch;
+            int quantidade = 0;
+            while (i < atividades.size() && atividades.get(i).diaEpoch == dia) {
+                quantidade++;
+                i++;
+            }
+            registrarNoResumo(dia, quantidade);
+        }
+    }
+
+    /**
+     * Insere só as atividades que ainda não estão no histórico (mesma dataConfirmacao e descricao),
+     * ex: ao importar de novo um backup já importado. A verificação e a gravação ficam na mesma
+     * transação, e cada verificação é uma busca no índice de dataConfirmacao.
+     * @return quantidade de atividades inseridas
+     */
+    @Transaction
+    default int inserirNovas(List<AtividadeRealizada> atividades) {
+        List<AtividadeRealizada> novas = new ArrayList<>(atividades.size());
+        // Repetições dentro da própria lista também contam uma vez só
+        Set<String> chaves = new HashSet<>();
+        for (AtividadeRealizada atividade : atividades) {
+            long data = atividade.dataConfirmacao.getTime();
+            if (chaves.add(data + "|" + atividade.descricao) && !existeAtividade(data, atividade.descricao)) {
+                novas.add(atividade);
+            }
+        }
+        if (!novas.isEmpty()) {
+            inserirTodas(novas);
+        }
+        return novas.size();
+    }
+
+    @Query("SELECT EXISTS(SELECT 1 FROM atividades_realizadas " +
+            "WHERE dataConfirmacao = :dataConfirmacao AND descricao IS :descricao)")
+    boolean existeAtividade(long dataConfirmacao, String descricao);
+
+    /**
+     * Insere apenas as linhas em atividades_realizadas. Use inserirTodas(), que também mantém o resumo.
      */
     @Insert
-    void inserir(AtividadeRealizada atividade);
+    void inserirLinhas(List<AtividadeRealizada> atividades);
 
     /**
      * Busca todas as atividades já registradas, ordenadas da mais recente para a mais antiga.
@@ -31,17 +106,216 @@ public interface AtividadeDAO {
     LiveData<List<AtividadeRealizada>> buscarTodas();
 
     /**
-     * Retorna uma lista com as atividades realizadas nos últimos 10 dias.
-     * Utiliza a função nativa do SQLite para manipulação de datas.
+     * Primeira página do histórico (paginação por chave / keyset).
+     * Ordena por data e usa o id como desempate, para que a ordem seja estável entre páginas.
      */
-    @Query("SELECT * FROM atividades_realizadas WHERE dataConfirmacao >= date('now', '-10 days')")
-    List<AtividadeRealizada> buscarAtividadesNosUltimos10Dias();
+    @Query("SELECT * FROM atividades_realizadas ORDER BY dataConfirmacao DESC, id DESC LIMIT :limite")
+    List<AtividadeRealizada> buscarPrimeiraPaginaDoHistorico(int limite);
 
     /**
-     * Conta quantas atividades foram realizadas **no dia atual**.
+     * Página seguinte do histórico: atividades mais antigas que a última linha já carregada
+     * (dataConfirmacao, id). Diferente de OFFSET, o custo não cresce com o tamanho do histórico,
+     * pois o SQLite parte direto da chave em vez de pular todas as linhas anteriores.
+     */
+    @Query("SELECT * FROM atividades_realizadas " +
+            "WHERE dataConfirmacao <= :dataConfirmacao " +
+            "AND (dataConfirmacao < :dataConfirmacao OR id < :id) " +
+            "ORDER BY dataConfirmacao DESC, id DESC LIMIT :limite")
+    List<AtividadeRealizada> buscarPaginaDoHistoricoApos(long dataConfirmacao, int id, int limite);
+
+    /**
+     * Página anterior do histórico: atividades mais recentes que a primeira linha já carregada,
+     * da mais próxima da chave para a mais recente (quem chama inverte a ordem).
+     * Usada quando o Paging descarta páginas do topo ou recarrega a partir do meio da lista.
+     */
+    @Query("SELECT * FROM atividades_realizadas " +
+            "WHERE dataConfirmacao >= :dataConfirmacao " +
+            "AND (dataConfirmacao > :dataConfirmacao OR id > :id) " +
+            "ORDER BY dataConfirmacao, id LIMIT :limite")
+    List<AtividadeRealizada> buscarPaginaDoHistoricoAntes(long dataConfirmacao, int id, int limite);
+
+    /**
+     * Abre um Cursor sobre todo o histórico, do mais antigo para o mais recente, para exportação.
+     * O Cursor lê as linhas aos poucos (janelas do SQLite), sem montar uma lista com a tabela inteira.
+     * Quem chamar é responsável por fechá-lo, e não deve chamá-lo na thread principal.
+     */
+    @Query("SELECT descricao, dataConfirmacao FROM atividades_realizadas ORDER BY dataConfirmacao, id")
+    Cursor abrirCursorDoHistorico();
+
+    /**
+     * Retorna as atividades realizadas entre dois dias epoch locais (inclusive).
+     * Ex: últimos 10 dias = buscarAtividadesEntreDias(hoje - 9, hoje).
+     * A comparação é feita direto na coluna indexada diaEpoch (busca por intervalo no índice).
+     */
+    @Query("SELECT * FROM atividades_realizadas WHERE diaEpoch BETWEEN :diaInicial AND :diaFinal " +
+            "ORDER BY dataConfirmacao DESC")
+    List<AtividadeRealizada> buscarAtividadesEntreDias(long diaInicial, long diaFinal);
+
+    /**
+     * Conta quantas atividades foram realizadas em um dia (dia epoch local, ver DiasEpoch).
      * Esse método é usado, neste caso para evitar notificar o usuário se ele já realizou alguma atividade hoje.
-     * A função `strftime` converte o timestamp salvo em milissegundos para data legível.
+     * Como diaEpoch é indexado, a contagem é uma busca no índice e não percorre a tabela.
+     */
+    @Query("SELECT COUNT(id) FROM atividades_realizadas WHERE diaEpoch = :diaEpoch")
+    int contarAtividadesDoDia(long diaEpoch);
+
+    /**
+     * Conta as atividades entre dois dias epoch locais (inclusive), ex: as de um mês inteiro.
+     * Busca por intervalo no índice de diaEpoch.
+     */
+    @Query("SELECT COUNT(id) FROM atividades_realizadas WHERE diaEpoch BETWEEN :diaInicial AND :diaFinal")
+    int contarAtividadesEntreDias(long diaInicial, long diaFinal);
+
+    /**
+     * Informa (e continua informando) se existe ao menos uma atividade no dia.
+     * O Room reemite o valor sempre que a tabela muda; a consulta para na primeira linha encontrada no índice.
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM atividades_realizadas WHERE diaEpoch = :diaEpoch)")
+    LiveData<Boolean> observarSeHouveAtividadeNoDia(long diaEpoch);
+
+    // ------------------------------------------------------------------------
+    // BUSCA NO HISTÓRICO (índice de texto completo atividades_busca)
+    // ------------------------------------------------------------------------
+
+    /**
+     * Primeira página dos resultados de uma busca (consulta FTS, ver BuscaNoHistorico) no período,
+     * da atividade mais recente para a mais antiga.
+     * O CROSS JOIN faz o SQLite partir do índice de texto (só as atividades encontradas) e ler cada uma
+     * pela chave primária; apenas os resultados são ordenados, nunca o histórico inteiro.
+     */
+    @Query("SELECT a.* FROM atividades_busca CROSS JOIN atividades_realizadas a ON a.id = atividades_busca.rowid " +
+            "WHERE atividades_busca MATCH :consulta AND a.diaEpoch BETWEEN :diaInicial AND :diaFinal " +
+            "ORDER BY a.dataConfirmacao DESC, a.id DESC LIMIT :limite")
+    List<AtividadeRealizada> buscarPrimeiraPaginaDaBusca(String consulta, long diaInicial, long diaFinal, int limite);
+
+    /**
+     * Página seguinte dos resultados: os mais antigos que a última linha já carregada (dataConfirmacao, id),
+     * com a mesma paginação por chave do histórico.
+     */
+    @Query("SELECT a.* FROM atividades_busca CROSS JOIN atividades_realizadas a ON a.id = atividades_busca.rowid " +
+            "WHERE atividades_busca MATCH :consulta AND a.diaEpoch BETWEEN :diaInicial AND :diaFinal " +
+            "AND a.dataConfirmacao <= :dataConfirmacao AND (a.dataConfirmacao < :dataConfirmacao OR a.id < :id) " +
+            "ORDER BY a.dataConfirmacao DESC, a.id DESC LIMIT :limite")
+    List<AtividadeRealizada> buscarPaginaDaBuscaApos(String consulta, long diaInicial, long diaFinal,
+                                                     long dataConfirmacao, int id, int limite);
+
+    /**
+     * Página anterior dos resultados: os mais recentes que a primeira linha já carregada,
+     * em ordem crescente (quem chama inverte a ordem), como em buscarPaginaDoHistoricoAntes.
+     */
+    @Query("SELECT a.* FROM atividades_busca CROSS JOIN atividades_realizadas a ON a.id = atividades_busca.rowid " +
+            "WHERE atividades_busca MATCH :consulta AND a.diaEpoch BETWEEN :diaInicial AND :diaFinal " +
+            "AND a.dataConfirmacao >= :dataConfirmacao AND (a.dataConfirmacao > :dataConfirmacao OR a.id > :id) " +
+            "ORDER BY a.dataConfirmacao, a.id LIMIT :limite")
+    List<AtividadeRealizada> buscarPaginaDaBuscaAntes(String consulta, long diaInicial, long diaFinal,
+                                                      long dataConfirmacao, int id, int limite);
+
+    /**
+     * Conta os resultados de uma busca entre dois dias (inclusive), ex: para o cabeçalho de um mês.
+     */
+    @Query("SELECT COUNT(*) FROM atividades_busca CROSS JOIN atividades_realizadas a ON a.id = atividades_busca.rowid " +
+            "WHERE atividades_busca MATCH :consulta AND a.diaEpoch BETWEEN :diaInicial AND :diaFinal")
+    int contarResultadosDaBusca(String consulta, long diaInicial, long diaFinal);
+
+    // ------------------------------------------------------------------------
+    // RESUMO DIÁRIO (tabela resumo_diario)
+    // ------------------------------------------------------------------------
+
+    /**
+     * Resumo do dia mais recente com atividade: contém o total geral (totalAcumulado)
+     * e a sequência de dias consecutivos que termina nele. Uma única linha lida pela chave primária.
+     */
+    @Query("SELECT * FROM resumo_diario ORDER BY dia DESC LIMIT 1")
+    LiveData<ResumoDiario> observarResumoMaisRecente();
+
+    /**
+     * Registra atividades de um dia no resumo.
+     * No caso comum (atividade de hoje) isso custa poucas consultas pela chave primária;
+     * se o dia for anterior a outros já registrados (ex: importação), os dias seguintes são corrigidos.
+     */
+    @Transaction
+    default void registrarNoResumo(long dia, int quantidade) {
+        // Os dias posteriores também passam a ter mais atividades acumuladas
+        somarAoTotalAcumuladoApos(dia, quantidade);
+
+        // Dia já registrado: apenas soma a quantidade (a sequência não muda)
+        if (somarAoDia(dia, quantidade) > 0) {
+            return;
+        }
+
+        ResumoDiario diaAnterior = buscarResumoDoDia(dia - 1);
+        ResumoDiario ultimoAntes = buscarUltimoResumoAntesDe(dia);
+        int sequencia = diaAnterior == null ? 1 : diaAnterior.sequencia + 1;
+        int totalAcumulado = (ultimoAntes == null ? 0 : ultimoAntes.totalAcumulado) + quantidade;
+        inserirResumo(new ResumoDiario(dia, quantidade, sequencia, totalAcumulado));
+
+        // Se o dia seguinte já existia, a sequência dele (e dos consecutivos) fica maior
+        long proximoDia = dia + 1;
+        int proximaSequencia = sequencia + 1;
+        while (atualizarSequencia(proximoDia, proximaSequencia) > 0) {
+            proximoDia++;
+            proximaSequencia++;
+        }
+    }
+
+    /**
+     * Dia mais recente com atividade (null se não houver nenhuma). Lê só a última chave do resumo.
+     */
+    @Query("SELECT MAX(dia) FROM resumo_diario")
+    Long buscarUltimoDiaComAtividade();
+
+    @Insert
+    void inserirResumo(ResumoDiario resumo);
+
+    @Query("SELECT * FROM resumo_diario WHERE dia = :dia")
+    ResumoDiario buscarResumoDoDia(long dia);
+
+    @Query("SELECT * FROM resumo_diario WHERE dia < :dia ORDER BY dia DESC LIMIT 1")
+    ResumoDiario buscarUltimoResumoAntesDe(long dia);
+
+    @Query("UPDATE resumo_diario SET quantidade = quantidade + :quantidade, " +
+            "totalAcumulado = totalAcumulado + :quantidade WHERE dia = :dia")
+    int somarAoDia(long dia, int quantidade);
+
+    @Query("UPDATE resumo_diario SET totalAcumulado = totalAcumulado + :quantidade WHERE dia > :dia")
+    void somarAoTotalAcumuladoApos(long dia, int quantidade);
+
+    @Query("UPDATE resumo_diario SET sequencia = :sequencia WHERE dia = :dia")
+    int atualizarSequencia(long dia, int sequencia);
+
+    // ------------------------------------------------------------------------
+    // FREQUÊNCIA DAS ATIVIDADES (tabela frequencia_atividades)
+    // ------------------------------------------------------------------------
+
+    /**
+     * Conta mais uma realização da atividade. Normalmente é uma única atualização pela chave primária;
+     * a linha só é criada na primeira vez que a descrição aparece.
+     */
+    default void registrarNaFrequencia(String descricao, long dia) {
+        if (descricao == null) {
+            return;
+        }
+        if (somarAFrequencia(descricao, dia) == 0) {
+            inserirFrequencia(new FrequenciaAtividade(descricao, 1, dia));
+        }
+    }
+
+    @Insert
+    void inserirFrequencia(FrequenciaAtividade frequencia);
+
+    @Query("UPDATE frequencia_atividades SET quantidade = quantidade + 1, " +
+            "ultimoDia = MAX(ultimoDia, :dia) WHERE descricao = :descricao")
+    int somarAFrequencia(String descricao, long dia);
+
+    /**
+     * Posições do catálogo local cuja atividade já foi realizada, com a frequência de cada uma.
+     * Percorre só frequencia_atividades e encontra a posição pelo índice em catalogo_atividades.texto,
+     * sem ler o histórico nem o catálogo inteiro. Ordenado pela posição, para um resultado estável.
+     * O CROSS JOIN fixa essa ordem no SQLite: sem ele, o planejador pode preferir percorrer o catálogo
+     * na ordem da posição (evitando a ordenação) e buscar cada texto em frequencia_atividades.
      */
-    @Query("SELECT COUNT(id) FROM atividades_realizadas WHERE date(dataConfirmacao / 1000, 'unixepoch') = date('now')")
-    int contarAtividadesDeHoje();
+    @Query("SELECT c.posicao AS posicao, f.quantidade AS quantidade, f.ultimoDia AS ultimoDia " +
+            "FROM frequencia_atividades f CROSS JOIN catalogo_atividades c ON c.texto = f.descricao " +
+            "ORDER BY c.posicao")
+    List<FrequenciaNoCatalogo> buscarFrequenciasNoCatalogo();
 }
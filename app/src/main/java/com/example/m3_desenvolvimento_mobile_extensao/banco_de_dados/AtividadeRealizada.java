@@ -1,6 +1,8 @@
 package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
 
+import androidx.room.ColumnInfo;
 import androidx.room.Entity;
+import androidx.room.Index;
 import androidx.room.PrimaryKey;
 import androidx.room.TypeConverters;
 
@@ -9,9 +11,13 @@ import java.util.Date;
 /**
  * Classe que representa uma tabela no banco de dados chamada "atividades_realizadas".
  * Cada instância desta classe corresponde a uma linha da tabela.
+ *
+ * Os índices em diaEpoch e dataConfirmacao permitem que as consultas por dia/intervalo
+ * e a paginação do histórico sejam buscas no índice, sem percorrer a tabela inteira.
  */
 
-@Entity(tableName = "atividades_realizadas")
+@Entity(tableName = "atividades_realizadas",
+        indices = {@Index("diaEpoch"), @Index("dataConfirmacao")})
 public class AtividadeRealizada {
 
     /**
@@ -35,11 +41,20 @@ public class AtividadeRealizada {
     @TypeConverters({Converters.class})
     public Date dataConfirmacao;
 
+    /**
+     * Dia (no fuso horário local) em que a atividade foi confirmada, em dias desde 01/01/1970.
+     * É calculado a partir de dataConfirmacao ao criar o objeto e fica salvo no banco,
+     * assim as consultas por dia comparam inteiros indexados em vez de converter datas linha a linha.
+     */
+    @ColumnInfo(defaultValue = "0")
+    public long diaEpoch;
+
     /**
      * Construtor usado para criar objetos antes de salvá-los no banco.
      */
     public AtividadeRealizada(String descricao, Date dataConfirmacao) {
         this.descricao = descricao;
         this.dataConfirmacao = dataConfirmacao;
+        this.diaEpoch = dataConfirmacao == null ? 0 : DiasEpoch.daData(dataConfirmacao);
     }
 }
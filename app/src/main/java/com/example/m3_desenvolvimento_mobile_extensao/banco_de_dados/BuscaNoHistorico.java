@@ -0,0 +1,81 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Filtro da busca no histórico: o texto digitado, já convertido em uma consulta FTS, e um período
+ * em dias epoch locais (inclusive).
+ *
+ * O texto é quebrado em palavras (letras e números); cada palavra vira um prefixo ("cami" encontra
+ * "Caminhar") e todas precisam aparecer. Aspas, asteriscos, hífens e demais símbolos são descartados,
+ * para que nada do que o usuário digite seja interpretado como operador da sintaxe do FTS.
+ */
+public final class BuscaNoHistorico {
+
+    // Sem limite de período
+    public static final long PRIMEIRO_DIA = Long.MIN_VALUE;
+    public static final long ULTIMO_DIA = Long.MAX_VALUE;
+
+    // Palavras consideradas da busca (o restante do texto é ignorado)
+    private static final int MAXIMO_DE_PALAVRAS = 8;
+
+    public final String consulta;
+    public final long diaInicial;
+    public final long diaFinal;
+
+    private BuscaNoHistorico(String consulta, long diaInicial, long diaFinal) {
+        this.consulta = consulta;
+        this.diaInicial = diaInicial;
+        this.diaFinal = diaFinal;
+    }
+
+    /**
+     * @return o filtro, ou null se o texto não tiver nenhuma palavra (o histórico completo é exibido)
+     */
+    public static BuscaNoHistorico criar(String texto, long diaInicial, long diaFinal) {
+        String consulta = paraConsultaFts(texto);
+        return consulta == null ? null : new BuscaNoHistorico(consulta, diaInicial, diaFinal);
+    }
+
+    /**
+     * Converte o texto digitado em uma consulta MATCH do FTS4 (ex: "Ler  livro!" -> "ler* livro*").
+     */
+    static String paraConsultaFts(String texto) {
+        if (texto == null) {
+            return null;
+        }
+        StringBuilder consulta = new StringBuilder();
+        int palavras = 0;
+        for (String palavra : texto.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (palavra.isEmpty()) {
+                continue;
+            }
+            if (palavras > 0) {
+                consulta.append(' ');
+            }
+            consulta.append(palavra).append('*');
+            if (++palavras == MAXIMO_DE_PALAVRAS) {
+                break;
+            }
+        }
+        return palavras == 0 ? null : consulta.toString();
+    }
+
+    @Override
+    public boolean equals(Object outro) {
+        if (this == outro) {
+            return true;
+        }
+        if (!(outro instanceof BuscaNoHistorico)) {
+            return false;
+        }
+        BuscaNoHistorico busca = (BuscaNoHistorico) outro;
+        return diaInicial == busca.diaInicial && diaFinal == busca.diaFinal && consulta.equals(busca.consulta);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(consulta, diaInicial, diaFinal);
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acesso à cópia local do catálogo de atividades propostas (tabela catalogo_atividades)
+ * e à área de preparo onde o catálogo baixado é gravado antes de substituí-la (catalogo_atividades_novo).
+ * Todas as leituras são por posição (chave primária), em tempo constante.
+ */
+@Dao
+public interface CatalogoDAO {
+
+    /**
+     * Grava os itens nas suas posições, substituindo o que já existia nelas.
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void salvarItens(List<ItemCatalogo> itens);
+
+    /**
+     * Remove os itens a partir de uma posição (usado quando o catálogo novo é menor que o anterior).
+     */
+    @Query("DELETE FROM catalogo_atividades WHERE posicao >= :posicao")
+    void removerAPartirDe(int posicao);
+
+    /**
+     * Troca o catálogo inteiro em uma única transação: sobrescreve as posições existentes
+     * e remove as que sobraram, sem apagar e recriar a tabela.
+     */
+    @Transaction
+    default void substituirCatalogo(List<ItemCatalogo> itens) {
+        salvarItens(itens);
+        removerAPartirDe(itens.size());
+        marcarSacolaDesatualizada();
+    }
+
+    /**
+     * Avisa a sacola de sorteio (EstadoSacola.catalogoAlterado) que o catálogo mudou.
+     * Chamado dentro das transações que alteram o catálogo, para que o próximo sorteio inclua
+     * as atividades novas. Sem sacola montada não há o que marcar.
+     */
+    @Query("UPDATE sacola_estado SET catalogoAlterado = 1")
+    void marcarSacolaDesatualizada();
+
+    /**
+     * Grava itens do catálogo que está sendo baixado na área de preparo (catalogo_atividades_novo).
+     */
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void salvarItensNovos(List<ItemCatalogoNovo> itens);
+
+    /**
+     * Esvazia a área de preparo (leitura recomeçada ou interrompida).
+     */
+    @Query("DELETE FROM catalogo_atividades_novo")
+    void descartarCatalogoNovo();
+
+    @Query("DELETE FROM catalogo_atividades")
+    void esvaziar();
+
+    @Query("INSERT INTO catalogo_atividades (posicao, texto) " +
+            "SELECT posicao, texto FROM catalogo_atividades_novo WHERE posicao < :quantidade")
+    void copiarCatalogoNovo(int quantidade);
+
+    /**
+     * Troca o catálogo pelo que foi gravado na área de preparo, em uma única transação:
+     * quem lê o catálogo vê o antigo inteiro ou o novo inteiro. A cópia é feita pelo próprio SQLite,
+     * sem trazer as linhas para a memória. A área de preparo fica vazia no final.
+     *
+     * @param quantidade quantidade de atividades lidas (posições [0, quantidade) da área de preparo)
+     */
+    @Transaction
+    default void trocarPeloCatalogoNovo(int quantidade) {
+        esvaziar();
+        copiarCatalogoNovo(quantidade);
+        descartarCatalogoNovo();
+        marcarSacolaDesatualizada();
+    }
+
+    /**
+     * Quantidade de atividades no catálogo. Como as posições são contínuas a partir de 0,
+     * basta ler a maior posição (consulta direta na chave primária, sem contar linha a linha).
+     */
+    @Query("SELECT IFNULL(MAX(posicao) + 1, 0) FROM catalogo_atividades")
+    int contarItens();
+
+    /**
+     * Texto da atividade em uma posição do catálogo (null se a posição não existir).
+     */
+    @Query("SELECT texto FROM catalogo_atividades WHERE posicao = :posicao")
+    String buscarTextoNaPosicao(int posicao);
+
+    /**
+     * Substitui o texto de uma única posição, sem mexer no restante do catálogo.
+     */
+    @Query("UPDATE catalogo_atividades SET texto = :texto WHERE posicao = :posicao")
+    void substituirTextoNaPosicao(int posicao, String texto);
+
+    /**
+     * Posição de uma atividade pelo texto (usa o índice de texto), ou null se ela não estiver no catálogo.
+     */
+    @Query("SELECT posicao FROM catalogo_atividades WHERE texto = :texto LIMIT 1")
+    Integer buscarPosicaoDoTexto(String texto);
+
+    /**
+     * Aplica um delta do catálogo em uma única transação.
+     * Cada removida dá lugar à atividade da última posição (as posições continuam contínuas,
+     * sem renumerar o restante da tabela) e as adicionadas entram no fim.
+     *
+     * @throws IllegalStateException se uma removida não estiver no catálogo local
+     *                               (a transação é desfeita e o catálogo fica como estava)
+     */
+    @Transaction
+    default void aplicarDelta(List<String> removidas, List<String> adicionadas) {
+        int tamanho = contarItens();
+        for (String texto : removidas) {
+            Integer posicao = buscarPosicaoDoTexto(texto);
+            if (posicao == null) {
+                throw new IllegalStateException("Atividade removida não está no catálogo local: " + texto);
+            }
+            int ultima = tamanho - 1;
+            if (posicao != ultima) {
+                substituirTextoNaPosicao(posicao, buscarTextoNaPosicao(ultima));
+            }
+            removerAPartirDe(ultima);
+            tamanho--;
+        }
+
+        List<ItemCatalogo> novos = new ArrayList<>(adicionadas.size());
+        for (String texto : adicionadas) {
+            novos.add(new ItemCatalogo(tamanho++, texto));
+        }
+        salvarItens(novos);
+        marcarSacolaDesatualizada();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões entre datas e "dia epoch local": o número de dias desde 01/01/1970
+ * no fuso horário do aparelho. Dois horários do mesmo dia do calendário local
+ * sempre resultam no mesmo número, o que permite comparar e indexar dias como inteiros.
+ */
+public final class DiasEpoch {
+
+    private static final long MILIS_POR_DIA = TimeUnit.DAYS.toMillis(1);
+
+    private DiasEpoch() {
+        // Classe utilitária: apenas métodos estáticos
+    }
+
+    /**
+     * Converte um timestamp (milissegundos) no dia epoch local correspondente.
+     * O deslocamento do fuso (incluindo horário de verão) é aplicado antes da divisão.
+     */
+    public static long doTimestamp(long millis) {
+        long millisLocal = millis + TimeZone.getDefault().getOffset(millis);
+        return Math.floorDiv(millisLocal, MILIS_POR_DIA);
+    }
+
+    /**
+     * Converte uma data no dia epoch local correspondente.
+     */
+    public static long daData(Date data) {
+        return doTimestamp(data.getTime());
+    }
+
+    /**
+     * Dia epoch local de hoje.
+     */
+    public static long hoje() {
+        return doTimestamp(System.currentTimeMillis());
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela "sacola_estado": uma única linha (id 0) com o cursor da sacola de sorteio.
+ * Fica no banco, junto da sacola, para que sacola e cursor sejam gravados na mesma transação.
+ */
+@Entity(tableName = "sacola_estado")
+public class EstadoSacola {
+
+    // Id da única linha da tabela
+    public static final int ID_UNICO = 0;
+
+    @PrimaryKey
+    public int id;
+
+    /**
+     * Próxima ordem a ser sorteada. As ordens anteriores já foram usadas neste ciclo.
+     */
+    public int cursor;
+
+    /**
+     * True se o catálogo mudou desde o último sorteio (marcado pelo CatalogoDAO, na mesma transação
+     * da mudança): o próximo sorteio procura atividades novas para incluir na sacola.
+     */
+    public boolean catalogoAlterado;
+
+    public EstadoSacola(int id, int cursor, boolean catalogoAlterado) {
+        this.id = id;
+        this.cursor = cursor;
+        this.catalogoAlterado = catalogoAlterado;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela "frequencia_atividades": uma linha por descrição de atividade já realizada, com quantas vezes
+ * ela foi feita e o dia mais recente. É mantida junto com cada inserção em atividades_realizadas
+ * (mesma transação), para que a recomendação da atividade do dia não precise percorrer o histórico.
+ */
+@Entity(tableName = "frequencia_atividades")
+public class FrequenciaAtividade {
+
+    /**
+     * Descrição da atividade (mesmo texto de AtividadeRealizada.descricao). Também é a chave primária.
+     */
+    @PrimaryKey
+    @NonNull
+    public String descricao;
+
+    /**
+     * Quantas vezes a atividade foi realizada.
+     */
+    public int quantidade;
+
+    /**
+     * Dia epoch local (ver DiasEpoch) da realização mais recente.
+     */
+    public long ultimoDia;
+
+    public FrequenciaAtividade(@NonNull String descricao, int quantidade, long ultimoDia) {
+        this.descricao = descricao;
+        this.quantidade = quantidade;
+        this.ultimoDia = ultimoDia;
+    }
+}
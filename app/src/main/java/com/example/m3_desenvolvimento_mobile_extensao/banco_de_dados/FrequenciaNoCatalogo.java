@@ -0,0 +1,18 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+/**
+ * Resultado de AtividadeDAO.buscarFrequenciasNoCatalogo(): uma posição do catálogo local cuja atividade
+ * já foi realizada, com a quantidade de vezes e o dia mais recente (de frequencia_atividades).
+ */
+public class FrequenciaNoCatalogo {
+
+    public int posicao;
+    public int quantidade;
+    public long ultimoDia;
+
+    public FrequenciaNoCatalogo(int posicao, int quantidade, long ultimoDia) {
+        this.posicao = posicao;
+        this.quantidade = quantidade;
+        this.ultimoDia = ultimoDia;
+    }
+}
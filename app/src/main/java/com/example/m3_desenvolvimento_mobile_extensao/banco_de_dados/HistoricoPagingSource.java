@@ -0,0 +1,168 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.paging.ListenableFuturePagingSource;
+import androidx.paging.PagingState;
+import androidx.room.InvalidationTracker;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListenableFutureTask;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+
+import kotlin.Unit;
+
+/**
+ * Fonte de páginas do histórico usada pelo Paging 3.
+ * Carrega as atividades da mais recente para a mais antiga usando paginação por chave (keyset):
+ * cada página começa logo depois da última linha da página anterior, sem OFFSET.
+ * Também carrega para trás (atividades mais recentes que a primeira linha), pois o Paging descarta
+ * páginas do topo ao rolar e recarrega a lista a partir da posição em que o usuário estava.
+ *
+ * Com uma BuscaNoHistorico, as mesmas páginas vêm do índice de texto (atividades_busca),
+ * só com as atividades encontradas no período da busca.
+ *
+ * Quando a tabela muda (ex: nova atividade confirmada), o InvalidationTracker do Room
+ * invalida esta fonte e o Paging cria uma nova a partir do topo da lista.
+ */
+public class HistoricoPagingSource extends ListenableFuturePagingSource<HistoricoPagingSource.Chave, AtividadeRealizada> {
+
+    /**
+     * Chave de uma página: a última linha já carregada (data + id para desempate).
+     */
+    public static final class Chave {
+        final long dataConfirmacao;
+        final int id;
+
+        Chave(long dataConfirmacao, int id) {
+            this.dataConfirmacao = dataConfirmacao;
+            this.id = id;
+        }
+    }
+
+    private final AtividadeDAO atividadeDAO;
+    private final Executor executor;
+    @Nullable
+    private final BuscaNoHistorico busca;
+
+    public HistoricoPagingSource(AppDatabase db) {
+        this(db, null);
+    }
+
+    public HistoricoPagingSource(AppDatabase db, @Nullable BuscaNoHistorico busca) {
+        this.atividadeDAO = db.atividadeDAO();
+        this.busca = busca;
+        // Usa o mesmo executor de consultas do Room, para não criar threads extras
+        this.executor = db.getQueryExecutor();
+
+        // Invalida a fonte quando a tabela de atividades for alterada
+        InvalidationTracker.Observer observer = new InvalidationTracker.Observer("atividades_realizadas") {
+            @Override
+            public void onInvalidated(@NonNull Set<String> tables) {
+                invalidate();
+            }
+        };
+        db.getInvalidationTracker().addObserver(observer);
+        registerInvalidatedCallback(() -> {
+            db.getInvalidationTracker().removeObserver(observer);
+            return Unit.INSTANCE;
+        });
+    }
+
+    @NonNull
+    @Override
+    public ListenableFuture<LoadResult<Chave, AtividadeRealizada>> loadFuture(@NonNull LoadParams<Chave> params) {
+        ListenableFutureTask<LoadResult<Chave, AtividadeRealizada>> tarefa =
+                ListenableFutureTask.create(() -> carregarPagina(params));
+        executor.execute(tarefa);
+        return tarefa;
+    }
+
+    private LoadResult<Chave, AtividadeRealizada> carregarPagina(LoadParams<Chave> params) {
+        try {
+            Chave chave = params.getKey();
+            int tamanho = params.getLoadSize();
+
+            if (params instanceof LoadParams.Prepend) {
+                // Vem em ordem crescente a partir da chave; a lista exibe da mais recente para a mais antiga
+                List<AtividadeRealizada> pagina = new ArrayList<>(carregarAntes(chave, tamanho));
+                Collections.reverse(pagina);
+                // Se a página veio incompleta, chegamos ao topo (atividade mais recente)
+                Chave anterior = pagina.size() == tamanho ? chaveDa(pagina.get(0)) : null;
+                return new LoadResult.Page<>(pagina, anterior, chaveDaUltima(pagina),
+                        LoadResult.Page.COUNT_UNDEFINED, LoadResult.Page.COUNT_UNDEFINED);
+            }
+
+            List<AtividadeRealizada> pagina = carregarApos(chave, tamanho);
+            if (pagina.isEmpty() && chave != null && params instanceof LoadParams.Refresh) {
+                // A linha onde o usuário estava não tem mais nada depois (ex: removida): volta ao topo
+                chave = null;
+                pagina = carregarApos(null, tamanho);
+            }
+
+            // No topo não há página anterior; no meio da lista, ela começa logo antes da primeira linha
+            Chave anterior = chave == null || pagina.isEmpty() ? null : chaveDa(pagina.get(0));
+            // Se a página veio incompleta, chegamos ao fim do histórico
+            Chave proxima = pagina.size() == tamanho ? chaveDaUltima(pagina) : null;
+
+            return new LoadResult.Page<>(pagina, anterior, proxima,
+                    LoadResult.Page.COUNT_UNDEFINED, LoadResult.Page.COUNT_UNDEFINED);
+        } catch (RuntimeException e) {
+            return new LoadResult.Error<>(e);
+        }
+    }
+
+    private List<AtividadeRealizada> carregarApos(@Nullable Chave chave, int tamanho) {
+        if (busca == null) {
+            return chave == null
+                    ? atividadeDAO.buscarPrimeiraPaginaDoHistorico(tamanho)
+                    : atividadeDAO.buscarPaginaDoHistoricoApos(chave.dataConfirmacao, chave.id, tamanho);
+        }
+        return chave == null
+                ? atividadeDAO.buscarPrimeiraPaginaDaBusca(busca.consulta, busca.diaInicial, busca.diaFinal, tamanho)
+                : atividadeDAO.buscarPaginaDaBuscaApos(busca.consulta, busca.diaInicial, busca.diaFinal,
+                        chave.dataConfirmacao, chave.id, tamanho);
+    }
+
+    private List<AtividadeRealizada> carregarAntes(Chave chave, int tamanho) {
+        return busca == null
+                ? atividadeDAO.buscarPaginaDoHistoricoAntes(chave.dataConfirmacao, chave.id, tamanho)
+                : atividadeDAO.buscarPaginaDaBuscaAntes(busca.consulta, busca.diaInicial, busca.diaFinal,
+                        chave.dataConfirmacao, chave.id, tamanho);
+    }
+
+    private static Chave chaveDa(AtividadeRealizada atividade) {
+        return new Chave(atividade.dataConfirmacao.getTime(), atividade.id);
+    }
+
+    @Nullable
+    private static Chave chaveDaUltima(List<AtividadeRealizada> pagina) {
+        return pagina.isEmpty() ? null : chaveDa(pagina.get(pagina.size() - 1));
+    }
+
+    /**
+     * Após uma invalidação (ex: nova atividade ou lote importado), recarrega em volta da posição
+     * que o usuário estava vendo: a nova lista começa logo depois da linha que fica meia carga
+     * inicial acima dela, e as linhas mais recentes voltam por carregamentos para trás.
+     * Perto do topo, recarrega do início, para que as atividades novas apareçam.
+     */
+    @Nullable
+    @Override
+    public Chave getRefreshKey(@NonNull PagingState<Chave, AtividadeRealizada> state) {
+        Integer ancora = state.getAnchorPosition();
+        if (ancora == null) {
+            return null;
+        }
+        int inicio = ancora - state.getConfig().initialLoadSize / 2;
+        if (inicio <= 0) {
+            return null;
+        }
+        AtividadeRealizada anterior = state.closestItemToPosition(inicio - 1);
+        return anterior == null ? null : chaveDa(anterior);
+    }
+}
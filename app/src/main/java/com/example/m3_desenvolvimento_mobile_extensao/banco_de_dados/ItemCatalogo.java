@@ -0,0 +1,31 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela "catalogo_atividades": cópia local do catálogo de atividades propostas vindo da API.
+ * Cada linha guarda uma atividade na sua posição do catálogo (0, 1, 2, ...), o que permite
+ * ler uma atividade qualquer pela chave primária, sem carregar o catálogo inteiro.
+ * O índice no texto permite localizar uma atividade removida por um delta do catálogo.
+ */
+@Entity(tableName = "catalogo_atividades", indices = {@Index("texto")})
+public class ItemCatalogo {
+
+    /**
+     * Posição da atividade no catálogo (começa em 0). As posições são sempre contínuas.
+     */
+    @PrimaryKey
+    public int posicao;
+
+    /**
+     * Texto da atividade proposta. Ex: "Ler um livro por 15 minutos".
+     */
+    public String texto;
+
+    public ItemCatalogo(int posicao, String texto) {
+        this.posicao = posicao;
+        this.texto = texto;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela "catalogo_atividades_novo": área de preparo do catálogo baixado.
+ * A resposta da API é gravada aqui em lotes, à medida que é lida; só quando a leitura termina
+ * o conteúdo passa para catalogo_atividades, em uma única transação (CatalogoDAO.trocarPeloCatalogoNovo).
+ * Assim uma leitura interrompida nunca deixa a cópia local misturando o catálogo antigo e o novo.
+ */
+@Entity(tableName = "catalogo_atividades_novo")
+public class ItemCatalogoNovo {
+
+    /**
+     * Posição da atividade no catálogo baixado (começa em 0).
+     */
+    @PrimaryKey
+    public int posicao;
+
+    /**
+     * Texto da atividade proposta.
+     */
+    public String texto;
+
+    public ItemCatalogoNovo(int posicao, String texto) {
+        this.posicao = posicao;
+        this.texto = texto;
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela "sacola_sorteio": uma permutação embaralhada das atividades do catálogo (a "sacola").
+ * A atividade do dia é a da ordem indicada pelo cursor (ver EstadoSacola), que avança
+ * uma casa por sorteio: nenhuma atividade se repete até a sacola inteira ser usada.
+ *
+ * Cada item guarda o texto da atividade, e não a posição dela no catálogo: as posições mudam quando
+ * um delta é aplicado ou o catálogo é baixado de novo, o texto não. O índice no texto permite
+ * saber quais atividades do catálogo ainda não estão na sacola.
+ */
+@Entity(tableName = "sacola_sorteio", indices = {@Index("texto")})
+public class ItemSacola {
+
+    /**
+     * Ordem de sorteio (0, 1, 2, ...). Também é a chave primária.
+     */
+    @PrimaryKey
+    public int ordem;
+
+    /**
+     * Texto da atividade (ItemCatalogo.texto) sorteada nesta ordem.
+     */
+    @NonNull
+    public String texto;
+
+    public ItemSacola(int ordem, @NonNull String texto) {
+        this.ordem = ordem;
+        this.texto = texto;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+/**
+ * Tabela "resumo_diario": uma linha por dia em que o usuário realizou ao menos uma atividade.
+ * É mantida junto com cada inserção em atividades_realizadas (mesma transação), de forma que
+ * a categoria do usuário possa ser lida de uma única linha, sem percorrer o histórico.
+ */
+@Entity(tableName = "resumo_diario")
+public class ResumoDiario {
+
+    /**
+     * Dia epoch local (ver DiasEpoch). Também é a chave primária.
+     */
+    @PrimaryKey
+    public long dia;
+
+    /**
+     * Quantidade de atividades realizadas neste dia.
+     */
+    public int quantidade;
+
+    /**
+     * Quantos dias consecutivos com atividade terminam neste dia (incluindo ele).
+     * Ex: 1 = o dia anterior não teve atividade; 10 = este é o décimo dia seguido.
+     */
+    public int sequencia;
+
+    /**
+     * Total de atividades realizadas do início do histórico até este dia (inclusive).
+     * Na linha mais recente, é o total geral de atividades.
+     */
+    public int totalAcumulado;
+
+    public ResumoDiario(long dia, int quantidade, int sequencia, int totalAcumulado) {
+        this.dia = dia;
+        this.quantidade = quantidade;
+        this.sequencia = sequencia;
+        this.totalAcumulado = totalAcumulado;
+    }
+}
@@ -0,0 +1,170 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+import androidx.room.Transaction;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Acesso à sacola de sorteio (tabelas sacola_sorteio e sacola_estado).
+ *
+ * Cada sorteio lê uma linha pela chave primária e avança o cursor: custo constante e sem repetições
+ * até a sacola acabar. A sacola guarda o texto das atividades, então mudanças no catálogo
+ * (delta ou catálogo baixado de novo) não exigem embaralhar tudo de novo:
+ * - atividades novas entram em lugares aleatórios da parte ainda não sorteada (um passo de Fisher-Yates cada);
+ * - atividades que saíram do catálogo são puladas quando o cursor chega nelas.
+ * Só quando a sacola se esgota ela é embaralhada inteira, para o próximo ciclo.
+ */
+@Dao
+public interface SacolaDAO {
+
+    // Atividades novas do catálogo lidas por consulta ao incluí-las na sacola
+    int TAMANHO_LOTE = 500;
+
+    /**
+     * Primeira ordem seguinte à última da sacola (0 se ela estiver vazia).
+     */
+    @Query("SELECT IFNULL(MAX(ordem) + 1, 0) FROM sacola_sorteio")
+    int proximaOrdem();
+
+    /**
+     * Primeiro item da sacola a partir de uma ordem (null se não houver mais nenhum).
+     */
+    @Query("SELECT * FROM sacola_sorteio WHERE ordem >= :ordem ORDER BY ordem LIMIT 1")
+    ItemSacola buscarProximo(int ordem);
+
+    @Query("SELECT texto FROM sacola_sorteio WHERE ordem = :ordem")
+    String buscarTextoNaOrdem(int ordem);
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void salvarItens(List<ItemSacola> itens);
+
+    @Query("DELETE FROM sacola_sorteio")
+    void esvaziar();
+
+    /**
+     * Estado da sacola (null se ela nunca foi usada).
+     */
+    @Query("SELECT * FROM sacola_estado WHERE id = " + EstadoSacola.ID_UNICO)
+    EstadoSacola buscarEstado();
+
+    @Insert(onConflict = OnConflictStrategy.REPLACE)
+    void salvarEstado(EstadoSacola estado);
+
+    /**
+     * Quantidade de atividades no catálogo (mesma consulta de CatalogoDAO.contarItens()).
+     */
+    @Query("SELECT IFNULL(MAX(posicao) + 1, 0) FROM catalogo_atividades")
+    int tamanhoDoCatalogo();
+
+    /**
+     * True se a atividade ainda está no catálogo (usa o índice de texto do catálogo).
+     */
+    @Query("SELECT EXISTS(SELECT 1 FROM catalogo_atividades WHERE texto = :texto)")
+    boolean estaNoCatalogo(String texto);
+
+    /**
+     * Coloca na ordem indicada a atividade de uma posição do catálogo.
+     */
+    @Query("INSERT INTO sacola_sorteio (ordem, texto) " +
+            "SELECT :ordem, texto FROM catalogo_atividades WHERE posicao = :posicao AND texto IS NOT NULL")
+    void incluirDoCatalogo(int ordem, int posicao);
+
+    /**
+     * Atividades do catálogo que ainda não estão na sacola, em ordem de posição a partir de {@code posicao}.
+     */
+    @Query("SELECT * FROM catalogo_atividades WHERE posicao >= :posicao AND texto IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM sacola_sorteio WHERE sacola_sorteio.texto = catalogo_atividades.texto) " +
+            "ORDER BY posicao LIMIT :limite")
+    List<ItemCatalogo> buscarForaDaSacola(int posicao, int limite);
+
+    /**
+     * Sorteia a próxima atividade do catálogo, sem repetir até todas terem saído.
+     *
+     * @return texto da atividade sorteada, ou null se o catálogo estiver vazio
+     */
+    @Transaction
+    default String sortearTexto(Random random) {
+        EstadoSacola estado = buscarEstado();
+        int cursor = estado == null ? 0 : estado.cursor;
+        if (estado != null && estado.catalogoAlterado) {
+            acrescentarNovas(cursor, random);
+        }
+
+        ItemSacola item = proximoNoCatalogo(cursor);
+        if (item == null) {
+            // Sacola esgotada (ou ainda não montada): novo ciclo com todas as atividades do catálogo atual
+            embaralhar(random);
+            item = proximoNoCatalogo(0);
+            if (item == null) {
+                return null;
+            }
+        }
+        salvarEstado(new EstadoSacola(EstadoSacola.ID_UNICO, item.ordem + 1, false));
+        return item.texto;
+    }
+
+    /**
+     * Primeiro item da sacola a partir de uma ordem, pulando as atividades que saíram do catálogo.
+     */
+    default ItemSacola proximoNoCatalogo(int ordem) {
+        ItemSacola item = buscarProximo(ordem);
+        while (item != null && !estaNoCatalogo(item.texto)) {
+            item = buscarProximo(item.ordem + 1);
+        }
+        return item;
+    }
+
+    /**
+     * Acrescenta as atividades do catálogo que ainda não estão na sacola. Cada uma vai para um lugar
+     * sorteado entre o cursor e o fim da sacola (quem estava lá vai para o fim), como um passo
+     * do embaralhamento de Fisher-Yates. As já sorteadas neste ciclo continuam na sacola,
+     * então não voltam a sair mesmo que tenham mudado de posição no catálogo.
+     */
+    default void acrescentarNovas(int cursor, Random random) {
+        int fim = proximaOrdem();
+        int inicio = Math.min(cursor, fim);
+        List<ItemSacola> troca = new ArrayList<>(2);
+
+        List<ItemCatalogo> novas = buscarForaDaSacola(0, TAMANHO_LOTE);
+        while (!novas.isEmpty()) {
+            for (ItemCatalogo nova : novas) {
+                int destino = inicio + random.nextInt(fim - inicio + 1);
+                String deslocada = destino == fim ? null : buscarTextoNaOrdem(destino);
+                troca.clear();
+                troca.add(new ItemSacola(destino, nova.texto));
+                if (deslocada != null) {
+                    troca.add(new ItemSacola(fim, deslocada));
+                }
+                salvarItens(troca);
+                if (destino == fim || deslocada != null) {
+                    fim++;
+                }
+            }
+            novas = buscarForaDaSacola(novas.get(novas.size() - 1).posicao + 1, TAMANHO_LOTE);
+        }
+    }
+
+    /**
+     * Substitui a sacola por uma nova permutação embaralhada das atividades do catálogo.
+     */
+    default void embaralhar(Random random) {
+        int tamanho = tamanhoDoCatalogo();
+        int[] permutacao = new int[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            int j = random.nextInt(i + 1);
+            permutacao[i] = permutacao[j];
+            permutacao[j] = i;
+        }
+
+        esvaziar();
+        for (int ordem = 0; ordem < tamanho; ordem++) {
+            incluirDoCatalogo(ordem, permutacao[ordem]);
+        }
+    }
+}
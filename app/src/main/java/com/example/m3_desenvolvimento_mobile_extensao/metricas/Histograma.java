@@ -0,0 +1,116 @@
+package com.example.m3_desenvolvimento_mobile_extensao.metricas;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histograma de latências sem travas, para ser alimentado por várias threads ao mesmo tempo.
+ *
+ * As durações caem em faixas de potência de 2 em microssegundos: a faixa i guarda as durações
+ * em [2^(i-1), 2^i) µs (a faixa 0 guarda as abaixo de 1 µs e a última tudo acima de ~67 s).
+ * Registrar é só escolher a faixa por bits e somar em LongAdders: nenhuma alocação, nenhum lock.
+ * Os percentis são aproximados pelo limite superior da faixa (erro máximo de 2x), o que basta
+ * para ver onde o tempo está indo.
+ */
+public final class Histograma {
+
+    public static final int QUANTIDADE_DE_FAIXAS = 28;
+
+    private final LongAdder[] faixas = new LongAdder[QUANTIDADE_DE_FAIXAS];
+    private final LongAdder quantidade = new LongAdder();
+    private final LongAdder somaNanos = new LongAdder();
+    private final LongAccumulator maximoNanos = new LongAccumulator(Math::max, 0);
+
+    public Histograma() {
+        for (int i = 0; i < QUANTIDADE_DE_FAIXAS; i++) {
+            faixas[i] = new LongAdder();
+        }
+    }
+
+    public void registrar(long duracaoNanos) {
+        long nanos = Math.max(0, duracaoNanos);
+        faixas[faixa(nanos)].increment();
+        quantidade.increment();
+        somaNanos.add(nanos);
+        maximoNanos.accumulate(nanos);
+    }
+
+    /**
+     * Cópia dos valores atuais. Com registros acontecendo ao mesmo tempo, os totais podem diferir
+     * por alguns eventos entre si, mas nunca ficam corrompidos.
+     */
+    public Leitura ler() {
+        long[] contagens = new long[QUANTIDADE_DE_FAIXAS];
+        for (int i = 0; i < QUANTIDADE_DE_FAIXAS; i++) {
+            contagens[i] = faixas[i].sum();
+        }
+        return new Leitura(contagens, quantidade.sum(), somaNanos.sum(), maximoNanos.get());
+    }
+
+    static int faixa(long nanos) {
+        long micros = nanos / 1_000;
+        return Math.min(QUANTIDADE_DE_FAIXAS - 1, 64 - Long.numberOfLeadingZeros(micros));
+    }
+
+    /**
+     * Limite superior da faixa, em microssegundos.
+     */
+    static long limiteDaFaixaMicros(int faixa) {
+        return 1L << faixa;
+    }
+
+    /**
+     * Valores de um histograma em um instante.
+     */
+    public static final class Leitura {
+        final long[] faixas;
+        final long quantidade;
+        final long somaNanos;
+        final long maximoNanos;
+
+        Leitura(long[] faixas, long quantidade, long somaNanos, long maximoNanos) {
+            this.faixas = faixas;
+            this.quantidade = quantidade;
+            this.somaNanos = somaNanos;
+            this.maximoNanos = maximoNanos;
+        }
+
+        public long getQuantidade() {
+            return quantidade;
+        }
+
+        public double getTotalMs() {
+            return somaNanos / 1_000_000.0;
+        }
+
+        public double getMediaMs() {
+            return quantidade == 0 ? 0 : getTotalMs() / quantidade;
+        }
+
+        public double getMaximoMs() {
+            return maximoNanos / 1_000_000.0;
+        }
+
+        /**
+         * Percentil aproximado em ms (ex: 0.95), limitado ao máximo observado.
+         */
+        public double percentilMs(double fracao) {
+            long total = 0;
+            for (long contagem : faixas) {
+                total += contagem;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long alvo = (long) Math.ceil(fracao * total);
+            long acumulado = 0;
+            for (int i = 0; i < faixas.length; i++) {
+                acumulado += faixas[i];
+                if (acumulado >= alvo) {
+                    return Math.min(limiteDaFaixaMicros(i) / 1_000.0, getMaximoMs());
+                }
+            }
+            return getMaximoMs();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.m3_desenvolvimento_mobile_extensao.metricas;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de desempenho do app, coletadas em campo: latências (Histograma), contadores de
+ * resultados (ex: respostas da API) e acertos/faltas de cada cache.
+ *
+ * Existe uma instância no app (ver DependenciasDoApp), usada pelo repositório, pelo cliente HTTP
+ * e pelos workers. Registrar um evento não trava nem aloca: a busca pelo nome é uma leitura
+ * no ConcurrentHashMap e a soma cai em um LongAdder. Os valores ficam só em memória e recomeçam
+ * a cada processo; a tela de métricas (build de debug) mostra e exporta um Instantaneo.
+ *
+ * Os nomes seguem o formato "camada.operacao" (ex: "dao.inserirTodas", "api.http.304").
+ */
+public final class Metricas {
+
+    private final ConcurrentHashMap<String, Histograma> latencias = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, LongAdder> contadores = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, ContadorDeCache> caches = new ConcurrentHashMap<>();
+
+    private volatile long inicioDaColeta = System.currentTimeMillis();
+
+    /**
+     * Marca o início de uma operação. Passe o valor para registrarDuracao() ao terminar.
+     */
+    public long iniciar() {
+        return System.nanoTime();
+    }
+
+    public void registrarDuracao(String nome, long inicioNanos) {
+        histograma(nome).registrar(System.nanoTime() - inicioNanos);
+    }
+
+    /**
+     * Executa a operação e registra quanto ela levou (também quando termina com exceção).
+     */
+    public <T> T medir(String nome, Supplier<T> operacao) {
+        long inicio = iniciar();
+        try {
+            return operacao.get();
+        } finally {
+            registrarDuracao(nome, inicio);
+        }
+    }
+
+    public void medir(String nome, Runnable operacao) {
+        long inicio = iniciar();
+        try {
+            operacao.run();
+        } finally {
+            registrarDuracao(nome, inicio);
+        }
+    }
+
+    public void contar(String nome) {
+        contador(nome).increment();
+    }
+
+    public void contar(String nome, long quantidade) {
+        contador(nome).add(quantidade);
+    }
+
+    /**
+     * Registra uma consulta a um cache: acerto (o valor já estava lá) ou falta (foi preciso buscar).
+     */
+    public void contarCache(String nome, boolean acerto) {
+        ContadorDeCache cache = caches.get(nome);
+        if (cache == null) {
+            cache = caches.computeIfAbsent(nome, chave -> new ContadorDeCache());
+        }
+        (acerto ? cache.acertos : cache.faltas).increment();
+    }
+
+    /**
+     * Descarta tudo o que foi coletado (ex: antes de repetir um fluxo na tela de métricas).
+     */
+    public void zerar() {
+        latencias.clear();
+        contadores.clear();
+        caches.clear();
+        inicioDaColeta = System.currentTimeMillis();
+    }
+
+    public Instantaneo instantaneo() {
+        List<Instantaneo.Latencia> listaDeLatencias = new ArrayList<>();
+        for (Map.Entry<String, Histograma> entrada : latencias.entrySet()) {
+            listaDeLatencias.add(new Instantaneo.Latencia(entrada.getKey(), entrada.getValue().ler()));
+        }
+        // Quem consumiu mais tempo no total aparece primeiro
+        Collections.sort(listaDeLatencias, (a, b) -> Double.compare(b.totalMs, a.totalMs));
+
+        Map<String, Long> valoresDosContadores = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entrada : contadores.entrySet()) {
+            valoresDosContadores.put(entrada.getKey(), entrada.getValue().sum());
+        }
+
+        Map<String, Instantaneo.Cache> valoresDosCaches = new TreeMap<>();
+        for (Map.Entry<String, ContadorDeCache> entrada : caches.entrySet()) {
+            valoresDosCaches.put(entrada.getKey(), new Instantaneo.Cache(
+                    entrada.getValue().acertos.sum(), entrada.getValue().faltas.sum()));
+        }
+
+        return new Instantaneo(inicioDaColeta, System.currentTimeMillis(),
+                listaDeLatencias, valoresDosContadores, valoresDosCaches);
+    }
+
+    private Histograma histograma(String nome) {
+        Histograma histograma = latencias.get(nome);
+        return histograma != null ? histograma : latencias.computeIfAbsent(nome, chave -> new Histograma());
+    }
+
+    private LongAdder contador(String nome) {
+        LongAdder contador = contadores.get(nome);
+        return contador != null ? contador : contadores.computeIfAbsent(nome, chave -> new LongAdder());
+    }
+
+    private static final class ContadorDeCache {
+        final LongAdder acertos = new LongAdder();
+        final LongAdder faltas = new LongAdder();
+    }
+
+    /**
+     * Cópia das métricas em um instante, pronta para exibir (formatar) ou exportar em JSON (exportar).
+     */
+    public static final class Instantaneo {
+
+        public static final class Latencia {
+            final String nome;
+            final long quantidade;
+            final double totalMs;
+            final double mediaMs;
+            final double p50Ms;
+            final double p95Ms;
+            final double p99Ms;
+            final double maximoMs;
+            // Contagem por faixa do Histograma (faixa i: até 2^i µs)
+            final long[] faixas;
+
+            Latencia(String nome, Histograma.Leitura leitura) {
+                this.nome = nome;
+                this.quantidade = leitura.getQuantidade();
+                this.totalMs = leitura.getTotalMs();
+                this.mediaMs = leitura.getMediaMs();
+                this.p50Ms = leitura.percentilMs(0.50);
+                this.p95Ms = leitura.percentilMs(0.95);
+                this.p99Ms = leitura.percentilMs(0.99);
+                this.maximoMs = leitura.getMaximoMs();
+                this.faixas = leitura.faixas;
+            }
+
+            public String getNome() {
+                return nome;
+            }
+
+            public long getQuantidade() {
+                return quantidade;
+            }
+
+            public double getTotalMs() {
+                return totalMs;
+            }
+        }
+
+        public static final class Cache {
+            final long acertos;
+            final long faltas;
+            final double taxaDeAcerto;
+
+            Cache(long acertos, long faltas) {
+                this.acertos = acertos;
+                this.faltas = faltas;
+                this.taxaDeAcerto = acertos + faltas == 0 ? 0 : (double) acertos / (acertos + faltas);
+            }
+
+            public long getAcertos() {
+                return acertos;
+            }
+
+            public long getFaltas() {
+                return faltas;
+            }
+
+            public double getTaxaDeAcerto() {
+                return taxaDeAcerto;
+            }
+        }
+
+        final long inicioDaColeta;
+        final long momento;
+        final List<Latencia> latencias;
+        final Map<String, Long> contadores;
+        final Map<String, Cache> caches;
+
+        Instantaneo(long inicioDaColeta, long momento, List<Latencia> latencias,
+                    Map<String, Long> contadores, Map<String, Cache> caches) {
+            this.inicioDaColeta = inicioDaColeta;
+            this.momento = momento;
+            this.latencias = latencias;
+            this.contadores = contadores;
+            this.caches = caches;
+        }
+
+        public List<Latencia> getLatencias() {
+            return latencias;
+        }
+
+        public Map<String, Long> getContadores() {
+            return contadores;
+        }
+
+        public Map<String, Cache> getCaches() {
+            return caches;
+        }
+
+        /**
+         * Texto de leitura rápida (uma linha por métrica), para a tela de métricas.
+         */
+        public String formatar() {
+            StringBuilder texto = new StringBuilder();
+            texto.append(String.format(Locale.ROOT, "Coleta de %.0f s%n%n", (momento - inicioDaColeta) / 1000.0));
+
+            texto.append("LATÊNCIAS (ms): qtd | total | média | p50 | p95 | p99 | máx\n");
+            for (Latencia latencia : latencias) {
+                texto.append(String.format(Locale.ROOT, "%s%n  %d | %.1f | %.2f | %.2f | %.2f | %.2f | %.2f%n",
+                        latencia.nome, latencia.quantidade, latencia.totalMs, latencia.mediaMs,
+                        latencia.p50Ms, latencia.p95Ms, latencia.p99Ms, latencia.maximoMs));
+            }
+
+            texto.append("\nCACHES: acertos / faltas (taxa de acerto)\n");
+            for (Map.Entry<String, Cache> cache : caches.entrySet()) {
+                texto.append(String.format(Locale.ROOT, "%s: %d / %d (%.0f%%)%n", cache.getKey(),
+                        cache.getValue().acertos, cache.getValue().faltas, cache.getValue().taxaDeAcerto * 100));
+            }
+
+            texto.append("\nCONTADORES\n");
+            for (Map.Entry<String, Long> contador : contadores.entrySet()) {
+                texto.append(contador.getKey()).append(": ").append(contador.getValue()).append('\n');
+            }
+            return texto.toString();
+        }
+
+        /**
+         * Grava o instantâneo em JSON (com as faixas dos histogramas), para análise fora do aparelho.
+         */
+        public void exportar(Writer destino) throws IOException {
+            Gson gson = new GsonBuilder().setPrettyPrinting().serializeSpecialFloatingPointValues().create();
+            gson.toJson(this, destino);
+            destino.flush();
+        }
+    }
+}
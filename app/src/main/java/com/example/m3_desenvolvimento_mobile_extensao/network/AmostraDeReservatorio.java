@@ -0,0 +1,51 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import java.util.Random;
+
+/**
+ * Sorteia um item de uma sequência de tamanho desconhecido, lendo cada item uma única vez
+ * (amostragem de reservatório com reservatório de tamanho 1).
+ *
+ * O i-ésimo item (contando a partir de 1) substitui o escolhido com probabilidade 1/i;
+ * ao final, cada um dos n itens foi escolhido com probabilidade exatamente 1/n.
+ * Usa memória constante, qualquer que seja o tamanho da sequência.
+ */
+public final class AmostraDeReservatorio<T> {
+
+    private final Random random;
+    private int vistos;
+    private T escolhido;
+
+    public AmostraDeReservatorio(Random random) {
+        this.random = random;
+    }
+
+    /**
+     * Apresenta o próximo item da sequência.
+     */
+    public void oferecer(T item) {
+        vistos++;
+        if (random.nextInt(vistos) == 0) {
+            escolhido = item;
+        }
+    }
+
+    /**
+     * Item sorteado até agora (null se nenhum item foi oferecido).
+     */
+    public T getEscolhido() {
+        return escolhido;
+    }
+
+    public int getVistos() {
+        return vistos;
+    }
+
+    /**
+     * Esquece os itens já vistos (ex: a resposta foi interrompida e será lida de novo).
+     */
+    public void reiniciar() {
+        vistos = 0;
+        escolhido = null;
+    }
+}
@@ -1,31 +1,81 @@
 package com.example.m3_desenvolvimento_mobile_extensao.network;
 
+import android.content.Context;
+
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+import com.google.gson.Gson;
+
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.OkHttpClient;
 import retrofit2.Retrofit;
 import retrofit2.converter.gson.GsonConverterFactory;
 
 /**
- * Classe responsável por configurar e fornecer uma instância do Retrofit,
- * que será usada para fazer chamadas HTTP (GET, POST, etc.) para APIs REST.
+ * Classe responsável por configurar instâncias do Retrofit,
+ * que serão usadas para fazer chamadas HTTP (GET, POST, etc.) para APIs REST.
+ * O app usa uma única instância, criada e guardada pelo DependenciasDoApp.
  */
 public class ApiClient {
 
     // URL base onde está localizado o arquivo JSON remoto no GitHub.
     private static final String BASE_URL = "https://raw.githubusercontent.com/GuiSchveitzer/M3_Data/main/";
 
-    // Instância única de Retrofit (Singleton). Reutilizável por toda a aplicação.
-    private static Retrofit retrofit = null;
+    // Tamanho máximo do cache HTTP em disco (o catálogo é pequeno; sobra espaço para várias versões)
+    private static final long TAMANHO_CACHE_HTTP = 5L * 1024 * 1024;
+
+    // Limites de tempo padrão: sem eles, uma rede lenta deixaria a tela esperando indefinidamente
+    public static final long TIMEOUT_CONEXAO_PADRAO_MS = 5_000;
+    public static final long TIMEOUT_LEITURA_PADRAO_MS = 10_000;
+
+    /**
+     * Cria o Retrofit do app: BASE_URL, o conversor JSON com o Gson informado
+     * e um cliente HTTP com cache em disco na pasta de cache do app, que registra cada chamada nas métricas.
+     */
+    public static Retrofit criarRetrofit(Context context, Gson gson, Metricas metricas) {
+        File diretorioCache = new File(context.getApplicationContext().getCacheDir(), "http_cache");
+        OkHttpClient httpClient = criarHttpClient(diretorioCache).newBuilder()
+                .addInterceptor(new InterceptadorDeMetricas(metricas))
+                .build();
+        return criarRetrofit(BASE_URL, httpClient, gson);
+    }
+
+    /**
+     * Cria o cliente HTTP (OkHttp) com cache em disco e os limites de tempo padrão.
+     */
+    public static OkHttpClient criarHttpClient(File diretorioCache) {
+        return criarHttpClient(diretorioCache, TIMEOUT_CONEXAO_PADRAO_MS, TIMEOUT_LEITURA_PADRAO_MS);
+    }
 
     /**
-     * Retorna a instância configurada do Retrofit.
-     * Se ainda não existir, cria uma nova com a BASE_URL e um conversor JSON (Gson).
+     * Cria o cliente HTTP (OkHttp) com cache em disco. O cache guarda as respostas junto com
+     * os cabeçalhos ETag/Last-Modified e respeita o Cache-Control enviado pelo servidor.
+     *
+     * @param timeoutConexaoMs tempo máximo para abrir a conexão
+     * @param timeoutLeituraMs tempo máximo sem receber dados depois de conectado
      */
-    public static Retrofit getClient() {
-        if (retrofit == null) {
-            retrofit = new Retrofit.Builder()
-                    .baseUrl(BASE_URL) // Define a URL base para as requisições
-                    .addConverterFactory(GsonConverterFactory.create()) // Usa o Gson para converter JSON em objetos Java
-                    .build(); // Constrói o objeto Retrofit
-        }
-        return retrofit;
+    public static OkHttpClient criarHttpClient(File diretorioCache, long timeoutConexaoMs, long timeoutLeituraMs) {
+        return new OkHttpClient.Builder()
+                .cache(new Cache(diretorioCache, TAMANHO_CACHE_HTTP))
+                .connectTimeout(timeoutConexaoMs, TimeUnit.MILLISECONDS)
+                .readTimeout(timeoutLeituraMs, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Cria um Retrofit para a URL base informada (também usado nos testes, com um servidor local).
+     */
+    public static Retrofit criarRetrofit(String baseUrl, OkHttpClient httpClient) {
+        return criarRetrofit(baseUrl, httpClient, new Gson());
+    }
+
+    public static Retrofit criarRetrofit(String baseUrl, OkHttpClient httpClient, Gson gson) {
+        return new Retrofit.Builder()
+                .baseUrl(baseUrl) // Define a URL base para as requisições
+                .client(httpClient) // Cliente HTTP com cache em disco
+                .addConverterFactory(GsonConverterFactory.create(gson)) // Usa o Gson para converter JSON em objetos Java
+                .build(); // Constrói o objeto Retrofit
     }
 }
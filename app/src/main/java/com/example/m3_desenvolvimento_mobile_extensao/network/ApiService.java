@@ -1,11 +1,17 @@
 package com.example.m3_desenvolvimento_mobile_extensao.network;
 
 import com.example.m3_desenvolvimento_mobile_extensao.network_model.AtividadeProposta;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.DeltaCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.ManifestoCatalogo;
 
 import java.util.List;
 
+import okhttp3.ResponseBody;
 import retrofit2.Call;
 import retrofit2.http.GET;
+import retrofit2.http.Header;
+import retrofit2.http.Path;
+import retrofit2.http.Streaming;
 
 /**
  * Interface que define os endpoints da API que o app irá consumir usando Retrofit.
@@ -22,7 +28,35 @@ public interface ApiService {
      *
      * O método retorna um Call que, quando executado, busca e converte o JSON
      * em uma lista de objetos do tipo AtividadeProposta.
+     *
+     * Requisição condicional: se etag/ultimaModificacao forem informados (valores recebidos na última
+     * resposta) e o arquivo não tiver mudado, o servidor responde 304 sem corpo. Valores null não são enviados.
+     */
+    @GET("Atividades.json")
+    Call<List<AtividadeProposta>> getAtividadesPropostas(@Header("If-None-Match") String etag,
+                                                         @Header("If-Modified-Since") String ultimaModificacao);
+
+    /**
+     * Mesmo arquivo e mesma requisição condicional de getAtividadesPropostas, mas sem conversão:
+     * com @Streaming o corpo não é carregado inteiro na memória e pode ser lido em fluxo
+     * (ver LeitorCatalogoEmFluxo). Quem chama deve fechar o ResponseBody.
      */
+    @Streaming
     @GET("Atividades.json")
-    Call<List<AtividadeProposta>> getAtividadesPropostas();
+    Call<ResponseBody> baixarAtividadesPropostas(@Header("If-None-Match") String etag,
+                                                 @Header("If-Modified-Since") String ultimaModificacao);
+
+    /**
+     * Manifesto do catálogo (versão + hash do conteúdo). Arquivo de poucos bytes,
+     * consultado antes de baixar qualquer outra coisa.
+     */
+    @GET("catalogo/manifesto.json")
+    Call<ManifestoCatalogo> getManifestoCatalogo();
+
+    /**
+     * Delta que leva o catálogo da versão "de" para a versão "para".
+     * Ex: catalogo/delta/6-7.json
+     */
+    @GET("catalogo/delta/{de}-{para}.json")
+    Call<DeltaCatalogo> getDeltaCatalogo(@Path("de") long de, @Path("para") long para);
 }
@@ -0,0 +1,323 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.AtividadeProposta;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.DeltaCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.ManifestoCatalogo;
+import com.google.gson.stream.MalformedJsonException;
+
+import java.io.IOException;
+import java.net.HttpURLConnection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.ResponseBody;
+import retrofit2.Call;
+import retrofit2.Response;
+
+/**
+ * Busca o catálogo de atividades propostas na API usando requisições condicionais (ETag / Last-Modified).
+ *
+ * Quando o app já tem uma cópia local do catálogo, envia os validadores da última resposta.
+ * Se o arquivo não mudou, o servidor responde 304 e o resultado é NAO_MODIFICADO: quem chamou
+ * usa direto a cópia local, sem baixar nem converter o JSON de novo.
+ *
+ * Falhas passageiras (conexão, timeout, HTTP 5xx/408/429) são tentadas de novo segundo a
+ * PoliticaDeRetentativa, com espera exponencial sorteada. Um DisjuntorCircuito opcional evita
+ * chamar a API por um período depois de várias buscas seguidas sem sucesso: nesse caso o
+ * resultado é CIRCUITO_ABERTO na hora, e quem chamou usa a cópia local.
+ *
+ * Há duas formas de busca: buscar() converte a resposta em uma lista, e buscarEmFluxo() entrega
+ * cada atividade a um LeitorCatalogoEmFluxo.Receptor enquanto lê a resposta, sem montar a lista
+ * (para catálogos muito grandes).
+ *
+ * As chamadas são síncronas (e podem esperar entre tentativas): devem ser feitas fora da thread principal.
+ */
+public class CatalogoRemoto {
+
+    /**
+     * Resultado de uma busca do catálogo.
+     */
+    public static final class Resultado {
+
+        public enum Tipo {
+            ATUALIZADO,      // Catálogo novo recebido (200), com os validadores para a próxima requisição
+            NAO_MODIFICADO,  // 304: a cópia local continua válida
+            FALHA,           // Erro HTTP, resposta vazia ou falha de conexão (após as tentativas permitidas)
+            CIRCUITO_ABERTO  // Disjuntor aberto: a API não foi chamada
+        }
+
+        private final Tipo tipo;
+        private final List<AtividadeProposta> atividades;
+        private final String etag;
+        private final String ultimaModificacao;
+        private final Throwable erro;
+        private final int tentativas;
+        private final int quantidade;
+
+        private Resultado(Tipo tipo, List<AtividadeProposta> atividades, String etag, String ultimaModificacao,
+                          Throwable erro, int tentativas) {
+            this(tipo, atividades, atividades == null ? 0 : atividades.size(), etag, ultimaModificacao, erro, tentativas);
+        }
+
+        private Resultado(Tipo tipo, List<AtividadeProposta> atividades, int quantidade, String etag,
+                          String ultimaModificacao, Throwable erro, int tentativas) {
+            this.tipo = tipo;
+            this.atividades = atividades;
+            this.quantidade = quantidade;
+            this.etag = etag;
+            this.ultimaModificacao = ultimaModificacao;
+            this.erro = erro;
+            this.tentativas = tentativas;
+        }
+
+        public Tipo getTipo() {
+            return tipo;
+        }
+
+        // Preenchido apenas quando o tipo é ATUALIZADO e a busca foi feita com buscar()
+        public List<AtividadeProposta> getAtividades() {
+            return atividades;
+        }
+
+        // Quantidade de atividades recebidas (quando o tipo é ATUALIZADO)
+        public int getQuantidade() {
+            return quantidade;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        public String getUltimaModificacao() {
+            return ultimaModificacao;
+        }
+
+        // Exceção que causou a FALHA, se houver (para log)
+        public Throwable getErro() {
+            return erro;
+        }
+
+        // Requisições feitas nesta busca (0 quando o disjuntor estava aberto)
+        public int getTentativas() {
+            return tentativas;
+        }
+    }
+
+    private final ApiService apiService;
+    private final PoliticaDeRetentativa politicaDeRetentativa;
+    private final DisjuntorCircuito disjuntor;
+
+    // Total de novas tentativas (além da primeira) desde que o objeto foi criado
+    private final AtomicLong totalDeRetentativas = new AtomicLong();
+
+    /**
+     * Uma única tentativa por busca e sem disjuntor.
+     */
+    public CatalogoRemoto(ApiService apiService) {
+        this(apiService, PoliticaDeRetentativa.SEM_RETENTATIVA, null);
+    }
+
+    /**
+     * @param disjuntor pode ser null (a API é sempre chamada)
+     */
+    public CatalogoRemoto(ApiService apiService, PoliticaDeRetentativa politicaDeRetentativa,
+                          DisjuntorCircuito disjuntor) {
+        this.apiService = apiService;
+        this.politicaDeRetentativa = politicaDeRetentativa;
+        this.disjuntor = disjuntor;
+    }
+
+    /**
+     * Busca o catálogo. Os validadores só devem ser informados se existir uma cópia local
+     * para onde voltar no caso de 304; caso contrário, passe null.
+     */
+    public Resultado buscar(String etag, String ultimaModificacao) {
+        return buscarComTentativas(tentativa -> buscarUmaVez(etag, ultimaModificacao, tentativa));
+    }
+
+    /**
+     * Como buscar(), mas lendo a resposta em fluxo: cada atividade é entregue ao receptor assim que
+     * é lida, e o resultado ATUALIZADO traz apenas a quantidade (getAtividades() é null).
+     * Antes de cada tentativa que recebe um catálogo novo, receptor.iniciar() é chamado.
+     */
+    public Resultado buscarEmFluxo(String etag, String ultimaModificacao, LeitorCatalogoEmFluxo.Receptor receptor) {
+        return buscarComTentativas(tentativa -> buscarEmFluxoUmaVez(etag, ultimaModificacao, receptor, tentativa));
+    }
+
+    // Uma requisição ao servidor; o parâmetro é o número da tentativa (a partir de 1)
+    private interface Tentativa {
+        Resultado executar(int tentativa);
+    }
+
+    private Resultado buscarComTentativas(Tentativa requisicao) {
+        if (disjuntor != null && !disjuntor.permiteChamada()) {
+            return new Resultado(Resultado.Tipo.CIRCUITO_ABERTO, null, null, null,
+                    new IOException("API indisponível: aguardando o fim do período de espera"), 0);
+        }
+
+        Resultado resultado = null;
+        for (int tentativa = 1; tentativa <= politicaDeRetentativa.getMaximoDeTentativas(); tentativa++) {
+            if (tentativa > 1) {
+                totalDeRetentativas.incrementAndGet();
+                if (!esperar(politicaDeRetentativa.atrasoAntesDaTentativa(tentativa))) {
+                    break; // Thread interrompida: devolve a última falha
+                }
+            }
+            resultado = requisicao.executar(tentativa);
+            if (resultado.tipo != Resultado.Tipo.FALHA || !falhaPassageira(resultado.erro)) {
+                break;
+            }
+        }
+
+        if (disjuntor != null) {
+            if (resultado.tipo == Resultado.Tipo.FALHA) {
+                disjuntor.registrarFalha();
+            } else {
+                disjuntor.registrarSucesso();
+            }
+        }
+        return resultado;
+    }
+
+    /**
+     * Busca o manifesto do catálogo (versão + hash). Retorna null se ele não estiver disponível
+     * (servidor sem manifesto, falha de rede ou disjuntor não fechado); nesse caso quem chama
+     * segue com a busca normal do catálogo.
+     *
+     * Manifesto e delta são arquivos pequenos: uma única tentativa e sem efeito sobre o disjuntor,
+     * que continua acompanhando apenas as buscas do catálogo.
+     */
+    public ManifestoCatalogo buscarManifesto() {
+        ManifestoCatalogo manifesto = buscarArquivoPequeno(apiService.getManifestoCatalogo());
+        if (manifesto == null || manifesto.getVersao() <= 0 || manifesto.getHash() == null) {
+            return null;
+        }
+        return manifesto;
+    }
+
+    /**
+     * Busca o delta entre duas versões do catálogo. Retorna null se ele não existir
+     * (ex: versões muito distantes) ou não corresponder às versões pedidas.
+     */
+    public DeltaCatalogo buscarDelta(long de, long para) {
+        DeltaCatalogo delta = buscarArquivoPequeno(apiService.getDeltaCatalogo(de, para));
+        if (delta == null || delta.getDe() != de || delta.getPara() != para) {
+            return null;
+        }
+        return delta;
+    }
+
+    private <T> T buscarArquivoPequeno(Call<T> chamada) {
+        if (disjuntor != null && disjuntor.getEstado() != DisjuntorCircuito.Estado.FECHADO) {
+            return null;
+        }
+        try {
+            Response<T> response = chamada.execute();
+            return response.isSuccessful() ? response.body() : null;
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public long getTotalDeRetentativas() {
+        return totalDeRetentativas.get();
+    }
+
+    private Resultado buscarUmaVez(String etag, String ultimaModificacao, int tentativa) {
+        try {
+            Response<List<AtividadeProposta>> response =
+                    apiService.getAtividadesPropostas(etag, ultimaModificacao).execute();
+
+            if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return new Resultado(Resultado.Tipo.NAO_MODIFICADO, null, etag, ultimaModificacao, null, tentativa);
+            }
+
+            List<AtividadeProposta> atividades = response.body();
+            if (response.isSuccessful() && atividades != null && !atividades.isEmpty()) {
+                return new Resultado(Resultado.Tipo.ATUALIZADO, atividades,
+                        response.headers().get("ETag"), response.headers().get("Last-Modified"), null, tentativa);
+            }
+            return new Resultado(Resultado.Tipo.FALHA, null, null, null,
+                    new ErroHttp(response.code()), tentativa);
+        } catch (IOException | RuntimeException e) {
+            // Falha de conexão ou JSON inválido
+            return new Resultado(Resultado.Tipo.FALHA, null, null, null, e, tentativa);
+        }
+    }
+
+    private Resultado buscarEmFluxoUmaVez(String etag, String ultimaModificacao,
+                                          LeitorCatalogoEmFluxo.Receptor receptor, int tentativa) {
+        try {
+            Response<ResponseBody> response =
+                    apiService.baixarAtividadesPropostas(etag, ultimaModificacao).execute();
+
+            if (response.code() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                return new Resultado(Resultado.Tipo.NAO_MODIFICADO, null, etag, ultimaModificacao, null, tentativa);
+            }
+
+            ResponseBody corpo = response.body();
+            if (!response.isSuccessful() || corpo == null) {
+                if (corpo != null) {
+                    corpo.close();
+                }
+                return new Resultado(Resultado.Tipo.FALHA, null, null, null,
+                        new ErroHttp(response.code()), tentativa);
+            }
+
+            int quantidade;
+            try {
+                receptor.iniciar();
+                quantidade = LeitorCatalogoEmFluxo.ler(corpo.charStream(), receptor);
+            } finally {
+                corpo.close();
+            }
+            if (quantidade == 0) {
+                return new Resultado(Resultado.Tipo.FALHA, null, null, null,
+                        new ErroHttp(response.code()), tentativa);
+            }
+            return new Resultado(Resultado.Tipo.ATUALIZADO, null, quantidade,
+                    response.headers().get("ETag"), response.headers().get("Last-Modified"), null, tentativa);
+        } catch (IOException | RuntimeException e) {
+            // Falha de conexão (inclusive no meio da leitura) ou JSON inválido
+            return new Resultado(Resultado.Tipo.FALHA, null, null, null, e, tentativa);
+        }
+    }
+
+    /**
+     * Vale a pena tentar de novo? Sim para falhas de rede/timeout e para erros temporários do servidor;
+     * não para JSON inválido, catálogo vazio ou erros do cliente (ex: 404).
+     */
+    private static boolean falhaPassageira(Throwable erro) {
+        if (erro instanceof ErroHttp) {
+            int codigo = ((ErroHttp) erro).codigo;
+            return codigo >= 500 || codigo == HttpURLConnection.HTTP_CLIENT_TIMEOUT || codigo == 429;
+        }
+        // JSON malformado não melhora com uma nova tentativa
+        return erro instanceof IOException && !(erro instanceof MalformedJsonException);
+    }
+
+    private static boolean esperar(long atrasoMs) {
+        if (atrasoMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(atrasoMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Resposta HTTP sem catálogo utilizável (código de erro ou corpo vazio).
+     */
+    static final class ErroHttp extends IOException {
+        final int codigo;
+
+        ErroHttp(int codigo) {
+            super("Resposta inválida da API: HTTP " + codigo);
+            this.codigo = codigo;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa chamadas concorrentes a uma mesma operação lenta (ex: buscar o catálogo na API)
+ * em uma única execução ("single-flight").
+ *
+ * O primeiro pedido inicia a operação no executor informado; os pedidos que chegam enquanto ela
+ * ainda está em andamento recebem o mesmo CompletableFuture e compartilham o resultado (ou a falha).
+ * Quando a operação termina, o próximo pedido inicia uma execução nova.
+ */
+public final class ChamadaUnica<T> {
+
+    private final Object trava = new Object();
+
+    // Execução em andamento (null quando não há nenhuma)
+    private CompletableFuture<T> emAndamento;
+
+    /**
+     * Executa a operação ou se junta à execução que já está em andamento.
+     *
+     * @param operacao chamada bloqueante, executada no máximo uma vez por vez
+     * @param executor onde a operação roda quando este pedido é o que a inicia
+     */
+    public CompletableFuture<T> executar(Supplier<T> operacao, Executor executor) {
+        CompletableFuture<T> futuro;
+        synchronized (trava) {
+            if (emAndamento != null) {
+                return emAndamento;
+            }
+            futuro = new CompletableFuture<>();
+            emAndamento = futuro;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    T resultado = operacao.get();
+                    liberar(futuro);
+                    futuro.complete(resultado);
+                } catch (RuntimeException e) {
+                    liberar(futuro);
+                    futuro.completeExceptionally(e);
+                }
+            });
+        } catch (RuntimeException e) {
+            // Executor recusou a tarefa (ex: já encerrado): não deixa os próximos pedidos presos
+            liberar(futuro);
+            futuro.completeExceptionally(e);
+        }
+        return futuro;
+    }
+
+    /**
+     * Indica se há uma execução em andamento.
+     */
+    public boolean isEmAndamento() {
+        synchronized (trava) {
+            return emAndamento != null;
+        }
+    }
+
+    // Libera a vaga antes de completar o futuro: quem for notificado e pedir de novo inicia uma execução nova
+    private void liberar(CompletableFuture<T> futuro) {
+        synchronized (trava) {
+            if (emAndamento == futuro) {
+                emAndamento = null;
+            }
+        }
+    }
+}
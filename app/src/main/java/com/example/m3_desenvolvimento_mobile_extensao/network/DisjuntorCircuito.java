@@ -0,0 +1,134 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import java.util.function.LongSupplier;
+
+/**
+ * Disjuntor ("circuit breaker") para uma API remota.
+ *
+ * - FECHADO: as chamadas passam normalmente. Após N falhas seguidas, o disjuntor abre.
+ * - ABERTO: nenhuma chamada é feita durante o tempo de espera; quem chama usa direto o cache.
+ * - MEIO_ABERTO: passado o tempo de espera, uma única chamada de teste é liberada.
+ *   Se ela der certo o disjuntor fecha; se falhar, abre de novo por mais um período.
+ *
+ * O estado pode ser acompanhado por um Observador (ex: para exibir ou registrar em log).
+ * Thread-safe: um mesmo disjuntor é compartilhado por todas as buscas do app.
+ */
+public final class DisjuntorCircuito {
+
+    public enum Estado {
+        FECHADO,
+        ABERTO,
+        MEIO_ABERTO
+    }
+
+    /**
+     * Recebe as mudanças de estado do disjuntor (chamado na thread que causou a mudança).
+     */
+    public interface Observador {
+        void onEstadoAlterado(Estado estado);
+    }
+
+    // Padrão do app: abre após 3 buscas seguidas sem sucesso e espera 1 minuto
+    public static final int FALHAS_PARA_ABRIR_PADRAO = 3;
+    public static final long TEMPO_DE_ESPERA_PADRAO_MS = 60_000;
+
+    private final int falhasParaAbrir;
+    private final long tempoDeEsperaMs;
+    private final LongSupplier relogio;
+
+    private Estado estado = Estado.FECHADO;
+    private int falhasSeguidas;
+    private long abertoEm;
+    private boolean chamadaDeTesteEmAndamento;
+    private volatile Observador observador;
+
+    public DisjuntorCircuito() {
+        this(FALHAS_PARA_ABRIR_PADRAO, TEMPO_DE_ESPERA_PADRAO_MS, System::currentTimeMillis);
+    }
+
+    /**
+     * @param falhasParaAbrir falhas seguidas que abrem o disjuntor
+     * @param tempoDeEsperaMs quanto tempo ele fica aberto antes de liberar uma chamada de teste
+     * @param relogio         hora atual em ms (substituível nos testes)
+     */
+    public DisjuntorCircuito(int falhasParaAbrir, long tempoDeEsperaMs, LongSupplier relogio) {
+        this.falhasParaAbrir = falhasParaAbrir;
+        this.tempoDeEsperaMs = tempoDeEsperaMs;
+        this.relogio = relogio;
+    }
+
+    public void setObservador(Observador observador) {
+        this.observador = observador;
+    }
+
+    /**
+     * Indica se uma chamada pode ser feita agora. Com o disjuntor aberto há tempo suficiente,
+     * libera uma única chamada de teste (MEIO_ABERTO); as demais continuam recusadas até o resultado dela.
+     */
+    public boolean permiteChamada() {
+        Estado novoEstado;
+        synchronized (this) {
+            if (estado == Estado.FECHADO) {
+                return true;
+            }
+            if (estado == Estado.MEIO_ABERTO || chamadaDeTesteEmAndamento
+                    || relogio.getAsLong() - abertoEm < tempoDeEsperaMs) {
+                return false;
+            }
+            chamadaDeTesteEmAndamento = true;
+            novoEstado = estado = Estado.MEIO_ABERTO;
+        }
+        notificar(novoEstado);
+        return true;
+    }
+
+    /**
+     * A chamada liberada deu certo: zera as falhas e fecha o disjuntor.
+     */
+    public void registrarSucesso() {
+        synchronized (this) {
+            falhasSeguidas = 0;
+            chamadaDeTesteEmAndamento = false;
+            if (estado == Estado.FECHADO) {
+                return;
+            }
+            estado = Estado.FECHADO;
+        }
+        notificar(Estado.FECHADO);
+    }
+
+    /**
+     * A chamada liberada falhou. Abre o disjuntor se atingiu o limite de falhas seguidas
+     * ou se era a chamada de teste.
+     */
+    public void registrarFalha() {
+        synchronized (this) {
+            falhasSeguidas++;
+            chamadaDeTesteEmAndamento = false;
+            if (estado == Estado.ABERTO) {
+                return; // Chamada que começou antes de abrir: o período de espera já está correndo
+            }
+            if (estado == Estado.FECHADO && falhasSeguidas < falhasParaAbrir) {
+                return;
+            }
+            estado = Estado.ABERTO;
+            abertoEm = relogio.getAsLong();
+        }
+        notificar(Estado.ABERTO);
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    public synchronized int getFalhasSeguidas() {
+        return falhasSeguidas;
+    }
+
+    private void notificar(Estado novoEstado) {
+        Observador atual = observador;
+        if (atual != null) {
+            atual.onEstadoAlterado(novoEstado);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * Hash do conteúdo do catálogo, usado para conferir o catálogo local contra o manifesto.
+ *
+ * É a soma (módulo 2^64) dos primeiros 8 bytes do SHA-256 de cada atividade, em UTF-8,
+ * escrita com 16 dígitos hexadecimais. Por ser uma soma, não depende da ordem das atividades
+ * e pode ser atualizada a cada item: somar as adicionadas e subtrair as removidas dá o hash
+ * do catálogo depois de um delta, sem reler o catálogo inteiro.
+ */
+public final class HashDoCatalogo {
+
+    private HashDoCatalogo() {
+    }
+
+    /**
+     * Parcela de uma atividade no hash do catálogo.
+     */
+    public static long daAtividade(String texto) {
+        byte[] sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256").digest(texto.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 indisponível", e); // Presente em toda JVM/Android
+        }
+        long valor = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            valor = (valor << 8) | (sha[i] & 0xFF);
+        }
+        return valor;
+    }
+
+    /**
+     * Hash do catálogo depois de adicionar e remover as atividades informadas.
+     */
+    public static long aplicarDelta(long hash, List<String> adicionadas, List<String> removidas) {
+        for (String texto : adicionadas) {
+            hash += daAtividade(texto);
+        }
+        for (String texto : removidas) {
+            hash -= daAtividade(texto);
+        }
+        return hash;
+    }
+
+    public static String formatar(long hash) {
+        return String.format("%016x", hash);
+    }
+
+    /**
+     * Lê um hash no formato de formatar(). Lança NumberFormatException se o texto for inválido.
+     */
+    public static long ler(String hash) {
+        return Long.parseUnsignedLong(hash, 16);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+
+import java.io.IOException;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+/**
+ * Registra nas Metricas cada chamada HTTP do app: a latência (até os cabeçalhos da resposta),
+ * o código de status e se a resposta veio do cache HTTP.
+ *
+ * Fica entre o Retrofit e o cache do OkHttp (interceptor de aplicação), então também vê as
+ * respostas servidas pelo cache em disco, sem ida à rede. Um 304 conta como acerto: o servidor
+ * confirmou que a cópia local (do OkHttp ou do catálogo no banco) continua valendo.
+ */
+public class InterceptadorDeMetricas implements Interceptor {
+
+    static final String LATENCIA_HTTP = "api.http";
+    static final String CACHE_HTTP = "http";
+    static final String FALHA_HTTP = "api.http.falha";
+
+    // Demais códigos agrupados pela centena ("api.http.5xx"), com os nomes já montados
+    private static final String[] NOMES_POR_CENTENA = {
+            "api.http.0xx", "api.http.1xx", "api.http.2xx", "api.http.3xx", "api.http.4xx",
+            "api.http.5xx", "api.http.6xx", "api.http.7xx", "api.http.8xx", "api.http.9xx"};
+
+    private final Metricas metricas;
+
+    public InterceptadorDeMetricas(Metricas metricas) {
+        this.metricas = metricas;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        long inicio = metricas.iniciar();
+        Response resposta;
+        try {
+            resposta = chain.proceed(chain.request());
+        } catch (IOException e) {
+            metricas.registrarDuracao(LATENCIA_HTTP, inicio);
+            metricas.contar(FALHA_HTTP);
+            throw e;
+        }
+        metricas.registrarDuracao(LATENCIA_HTTP, inicio);
+        metricas.contar(nomeDoStatus(resposta.code()));
+
+        boolean doCache = resposta.networkResponse() == null && resposta.cacheResponse() != null;
+        boolean naoModificado = resposta.code() == 304
+                || (resposta.networkResponse() != null && resposta.networkResponse().code() == 304);
+        if (resposta.isSuccessful() || naoModificado) {
+            metricas.contarCache(CACHE_HTTP, doCache || naoModificado);
+        }
+        return resposta;
+    }
+
+    // Nomes dos códigos mais comuns sem concatenar a cada chamada
+    private static String nomeDoStatus(int codigo) {
+        switch (codigo) {
+            case 200:
+                return "api.http.200";
+            case 304:
+                return "api.http.304";
+            case 404:
+                return "api.http.404";
+            default:
+                return NOMES_POR_CENTENA[Math.min(Math.max(codigo / 100, 0), NOMES_POR_CENTENA.length - 1)];
+        }
+    }
+}
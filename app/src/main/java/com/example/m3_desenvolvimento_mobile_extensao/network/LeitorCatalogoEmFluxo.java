@@ -0,0 +1,75 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Lê o JSON do catálogo (um array de objetos {"atividade": "..."}) em fluxo, com JsonReader.
+ *
+ * Cada atividade é entregue ao Receptor assim que é lida: nenhuma lista intermediária é montada
+ * e não há reflexão sobre AtividadeProposta. Campos desconhecidos são ignorados, assim como
+ * itens sem texto; as posições entregues são contínuas a partir de 0.
+ */
+public final class LeitorCatalogoEmFluxo {
+
+    // Mesma chave usada no @SerializedName de AtividadeProposta
+    private static final String CAMPO_ATIVIDADE = "atividade";
+
+    /**
+     * Recebe as atividades do catálogo, uma por vez.
+     */
+    public interface Receptor {
+
+        /**
+         * Uma nova leitura vai começar. Chamado também antes de cada nova tentativa,
+         * para que o receptor descarte o que recebeu de uma resposta interrompida.
+         */
+        void iniciar();
+
+        void receber(int posicao, String texto);
+    }
+
+    private LeitorCatalogoEmFluxo() {
+    }
+
+    /**
+     * Lê o catálogo inteiro entregando cada atividade ao receptor (não chama iniciar()).
+     *
+     * @return quantidade de atividades entregues
+     */
+    public static int ler(Reader reader, Receptor receptor) throws IOException {
+        JsonReader json = new JsonReader(reader);
+        int posicao = 0;
+
+        json.beginArray();
+        while (json.hasNext()) {
+            if (json.peek() != JsonToken.BEGIN_OBJECT) {
+                json.skipValue();
+                continue;
+            }
+            String texto = lerTexto(json);
+            if (texto != null) {
+                receptor.receber(posicao++, texto);
+            }
+        }
+        json.endArray();
+        return posicao;
+    }
+
+    private static String lerTexto(JsonReader json) throws IOException {
+        String texto = null;
+        json.beginObject();
+        while (json.hasNext()) {
+            if (CAMPO_ATIVIDADE.equals(json.nextName()) && json.peek() == JsonToken.STRING) {
+                texto = json.nextString();
+            } else {
+                json.skipValue();
+            }
+        }
+        json.endObject();
+        return texto;
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import java.util.Random;
+
+/**
+ * Quantas vezes tentar de novo uma chamada que falhou por um motivo passageiro
+ * e quanto esperar entre as tentativas.
+ *
+ * A espera cresce exponencialmente (atrasoInicial, 2x, 4x, ... até atrasoMaximo) e é sorteada
+ * entre zero e esse limite ("full jitter"), para que vários aparelhos que falharam juntos
+ * não voltem a chamar o servidor todos no mesmo instante.
+ */
+public final class PoliticaDeRetentativa {
+
+    // Uma única tentativa: usada quando quem chama não quer esperar (ex: testes do CatalogoRemoto)
+    public static final PoliticaDeRetentativa SEM_RETENTATIVA = new PoliticaDeRetentativa(1, 0, 0, new Random());
+
+    // Padrão do app: até 3 tentativas, esperando no máximo 0,5 s e depois 1 s
+    public static final PoliticaDeRetentativa PADRAO = new PoliticaDeRetentativa(3, 500, 4_000, new Random());
+
+    private final int maximoDeTentativas;
+    private final long atrasoInicialMs;
+    private final long atrasoMaximoMs;
+    private final Random random;
+
+    /**
+     * @param maximoDeTentativas total de tentativas, contando a primeira (mínimo 1)
+     * @param atrasoInicialMs    limite da espera antes da segunda tentativa
+     * @param atrasoMaximoMs     limite da espera entre quaisquer duas tentativas
+     * @param random             fonte do sorteio (pode ter semente fixa nos testes)
+     */
+    public PoliticaDeRetentativa(int maximoDeTentativas, long atrasoInicialMs, long atrasoMaximoMs, Random random) {
+        if (maximoDeTentativas < 1) {
+            throw new IllegalArgumentException("É preciso pelo menos uma tentativa");
+        }
+        this.maximoDeTentativas = maximoDeTentativas;
+        this.atrasoInicialMs = atrasoInicialMs;
+        this.atrasoMaximoMs = atrasoMaximoMs;
+        this.random = random;
+    }
+
+    public int getMaximoDeTentativas() {
+        return maximoDeTentativas;
+    }
+
+    /**
+     * Espera (em ms) antes da tentativa informada. A tentativa 1 é a primeira e não espera.
+     */
+    public long atrasoAntesDaTentativa(int tentativa) {
+        if (tentativa <= 1 || atrasoInicialMs <= 0) {
+            return 0;
+        }
+        // Limita o expoente para não estourar o long em políticas com muitas tentativas
+        long limite = atrasoInicialMs << Math.min(tentativa - 2, 30);
+        limite = Math.min(limite, atrasoMaximoMs);
+        synchronized (random) {
+            return (long) (random.nextDouble() * (limite + 1));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network_model;
+
+import com.google.gson.annotations.SerializedName;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Diferença entre duas versões do catálogo: as atividades adicionadas e as removidas.
+ * Aplicar o delta sobre a versão "de" resulta na versão "para".
+ *
+ * Exemplo de JSON esperado:
+ * {
+ *   "de": 6,
+ *   "para": 7,
+ *   "adicionadas": ["Beber um copo de água"],
+ *   "removidas": ["Ler um livro por 15 minutos"]
+ * }
+ */
+public class DeltaCatalogo {
+
+    @SerializedName("de")
+    private long de;
+
+    @SerializedName("para")
+    private long para;
+
+    @SerializedName("adicionadas")
+    private List<String> adicionadas;
+
+    @SerializedName("removidas")
+    private List<String> removidas;
+
+    public long getDe() {
+        return de;
+    }
+
+    public long getPara() {
+        return para;
+    }
+
+    // Nunca null (campo ausente no JSON equivale a lista vazia)
+    public List<String> getAdicionadas() {
+        return adicionadas == null ? Collections.emptyList() : adicionadas;
+    }
+
+    public List<String> getRemovidas() {
+        return removidas == null ? Collections.emptyList() : removidas;
+    }
+}
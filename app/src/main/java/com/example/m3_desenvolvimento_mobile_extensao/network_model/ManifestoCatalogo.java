@@ -0,0 +1,33 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network_model;
+
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Manifesto do catálogo: um arquivo pequeno com a versão atual do catálogo e o hash do seu conteúdo.
+ * O app consulta o manifesto antes de qualquer download: se a versão e o hash forem os mesmos da
+ * cópia local, nada mais precisa ser baixado.
+ *
+ * Exemplo de JSON esperado:
+ * {
+ *   "versao": 7,
+ *   "hash": "3f9a0c1b2d4e5f60"
+ * }
+ */
+public class ManifestoCatalogo {
+
+    // Versão do catálogo (cresce a cada alteração)
+    @SerializedName("versao")
+    private long versao;
+
+    // Hash do conteúdo do catálogo, no formato de HashDoCatalogo
+    @SerializedName("hash")
+    private String hash;
+
+    public long getVersao() {
+        return versao;
+    }
+
+    public String getHash() {
+        return hash;
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import android.database.Cursor;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+import com.google.gson.Strictness;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Exportação e importação do histórico de atividades em JSON delimitado por linha (uma atividade por linha):
+ *
+ * {"descricao":"Ler um livro por 15 minutos","dataConfirmacao":1712870000000}
+ *
+ * Os dois sentidos funcionam em fluxo (streaming): a exportação lê o banco por um Cursor e escreve
+ * com JsonWriter; a importação lê com JsonReader e grava em lotes transacionais. Em nenhum momento
+ * o histórico inteiro é carregado em uma lista, então a memória usada não depende do tamanho do histórico.
+ *
+ * A importação não duplica: atividades que já estão no histórico (mesma data de confirmação e descrição)
+ * são ignoradas, então importar o mesmo arquivo duas vezes não altera nada.
+ */
+class BackupHistorico {
+
+    // Quantidade de atividades gravadas por transação durante a importação
+    static final int TAMANHO_LOTE_IMPORTACAO = 500;
+
+    // A cada quantas atividades escritas a exportação informa o andamento
+    static final int INTERVALO_PROGRESSO_EXPORTACAO = 1_000;
+
+    private static final String CAMPO_DESCRICAO = "descricao";
+    private static final String CAMPO_DATA = "dataConfirmacao";
+
+    private final AtividadeDAO atividadeDAO;
+
+    BackupHistorico(AtividadeDAO atividadeDAO) {
+        this.atividadeDAO = atividadeDAO;
+    }
+
+    /**
+     * Escreve todo o histórico no destino, uma atividade por linha.
+     * @return quantidade de atividades exportadas
+     */
+    long exportar(Writer destino, RepositorioAtividades.ProgressoBackup progresso) throws IOException {
+        long linhas = 0;
+        JsonWriter jsonWriter = new JsonWriter(destino);
+        // Modo leniente permite vários valores JSON de topo no mesmo fluxo (um por linha)
+        jsonWriter.setStrictness(Strictness.LENIENT);
+
+        try (Cursor cursor = atividadeDAO.abrirCursorDoHistorico()) {
+            int colunaDescricao = cursor.getColumnIndexOrThrow(CAMPO_DESCRICAO);
+            int colunaData = cursor.getColumnIndexOrThrow(CAMPO_DATA);
+
+            while (cursor.moveToNext()) {
+                jsonWriter.beginObject();
+                jsonWriter.name(CAMPO_DESCRICAO).value(cursor.getString(colunaDescricao));
+                if (!cursor.isNull(colunaData)) {
+                    jsonWriter.name(CAMPO_DATA).value(cursor.getLong(colunaData));
+                }
+                jsonWriter.endObject();
+                destino.write('\n');
+
+                linhas++;
+                if (linhas % INTERVALO_PROGRESSO_EXPORTACAO == 0) {
+                    progresso.onProgresso(linhas);
+                }
+            }
+        }
+
+        jsonWriter.flush();
+        progresso.onProgresso(linhas);
+        return linhas;
+    }
+
+    /**
+     * Lê atividades da origem (uma por linha) e grava em lotes de TAMANHO_LOTE_IMPORTACAO,
+     * cada lote em uma transação. Linhas sem data de confirmação e atividades que já estão
+     * no histórico são ignoradas. O andamento informado é a quantidade de linhas lidas.
+     * Uma linha malformada interrompe a importação com IOException; os lotes anteriores a ela ficam gravados.
+     * @return quantidade de atividades importadas (novas)
+     */
+    long importar(Reader origem, RepositorioAtividades.ProgressoBackup progresso) throws IOException {
+        long linhas = 0;
+        long importadas = 0;
+        List<AtividadeRealizada> lote = new ArrayList<>(TAMANHO_LOTE_IMPORTACAO);
+        JsonReader jsonReader = new JsonReader(origem);
+        jsonReader.setStrictness(Strictness.LENIENT);
+
+        while (jsonReader.peek() != JsonToken.END_DOCUMENT) {
+            AtividadeRealizada atividade = lerAtividade(jsonReader);
+            if (atividade == null) {
+                continue;
+            }
+            lote.add(atividade);
+
+            if (lote.size() == TAMANHO_LOTE_IMPORTACAO) {
+                importadas += atividadeDAO.inserirNovas(lote);
+                linhas += lote.size();
+                lote.clear(); // Reaproveita a mesma lista para o próximo lote
+                progresso.onProgresso(linhas);
+            }
+        }
+
+        if (!lote.isEmpty()) {
+            importadas += atividadeDAO.inserirNovas(lote);
+            linhas += lote.size();
+        }
+        progresso.onProgresso(linhas);
+        return importadas;
+    }
+
+    /**
+     * Lê um objeto JSON de atividade. Campos desconhecidos são ignorados, para aceitar arquivos
+     * de versões futuras do app. Retorna null se a linha não tiver data de confirmação.
+     */
+    private AtividadeRealizada lerAtividade(JsonReader jsonReader) throws IOException {
+        String descricao = null;
+        Long dataConfirmacao = null;
+
+        jsonReader.beginObject();
+        while (jsonReader.hasNext()) {
+            String campo = jsonReader.nextName();
+            if (jsonReader.peek() == JsonToken.NULL) {
+                jsonReader.skipValue();
+            } else if (CAMPO_DESCRICAO.equals(campo)) {
+                descricao = jsonReader.nextString();
+            } else if (CAMPO_DATA.equals(campo)) {
+                dataConfirmacao = jsonReader.nextLong();
+            } else {
+                jsonReader.skipValue();
+            }
+        }
+        jsonReader.endObject();
+
+        return dataConfirmacao == null ? null : new AtividadeRealizada(descricao, new Date(dataConfirmacao));
+    }
+}
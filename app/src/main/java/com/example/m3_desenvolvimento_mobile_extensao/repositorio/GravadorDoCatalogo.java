@@ -0,0 +1,103 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.CatalogoDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.ItemCatalogoNovo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.AmostraDeReservatorio;
+import com.example.m3_desenvolvimento_mobile_extensao.network.HashDoCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.LeitorCatalogoEmFluxo;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Recebe o catálogo em fluxo (resposta da API ou cache antigo) e, ao mesmo tempo:
+ * - grava as atividades na área de preparo (catalogo_atividades_novo) em lotes de tamanho fixo;
+ * - sorteia uma delas por amostragem de reservatório;
+ * - calcula o hash do conteúdo (HashDoCatalogo), para conferir com o manifesto.
+ *
+ * O catálogo local (catalogo_atividades) só muda em concluir(), em uma única transação; se a leitura
+ * for interrompida, ele continua inteiro na versão anterior.
+ * A memória usada não depende do tamanho do catálogo: no máximo um lote e o item sorteado.
+ */
+class GravadorDoCatalogo implements LeitorCatalogoEmFluxo.Receptor {
+
+    private static final int TAMANHO_LOTE = 500;
+
+    private final CatalogoDAO catalogoDAO;
+    private final AmostraDeReservatorio<String> amostra;
+    private final List<ItemCatalogoNovo> lote = new ArrayList<>(TAMANHO_LOTE);
+
+    // Hash das atividades recebidas até agora
+    private long hash;
+
+    // Indica se algum lote já foi gravado na área de preparo por esta leitura
+    private boolean gravouNoPreparo;
+
+    GravadorDoCatalogo(CatalogoDAO catalogoDAO, Random random) {
+        this.catalogoDAO = catalogoDAO;
+        this.amostra = new AmostraDeReservatorio<>(random);
+    }
+
+    @Override
+    public void iniciar() {
+        lote.clear();
+        amostra.reiniciar();
+        hash = 0;
+        descartar();
+    }
+
+    @Override
+    public void receber(int posicao, String texto) {
+        amostra.oferecer(texto);
+        hash += HashDoCatalogo.daAtividade(texto);
+        lote.add(new ItemCatalogoNovo(posicao, texto));
+        if (lote.size() == TAMANHO_LOTE) {
+            gravarLote();
+        }
+    }
+
+    /**
+     * Leitura completa: grava o último lote e troca o catálogo local pelo recebido, em uma única transação.
+     */
+    void concluir(int quantidade) {
+        gravarLote();
+        catalogoDAO.trocarPeloCatalogoNovo(quantidade);
+        gravouNoPreparo = false;
+    }
+
+    /**
+     * Leitura interrompida: apaga o que já tinha sido gravado na área de preparo.
+     * O catálogo local não foi alterado.
+     */
+    void descartar() {
+        lote.clear();
+        if (gravouNoPreparo) {
+            catalogoDAO.descartarCatalogoNovo();
+            gravouNoPreparo = false;
+        }
+    }
+
+    /**
+     * Atividade sorteada entre todas as recebidas (null se nenhuma).
+     */
+    String getSorteada() {
+        return amostra.getEscolhido();
+    }
+
+    /**
+     * Hash (HashDoCatalogo) de todas as atividades recebidas.
+     */
+    long getHash() {
+        return hash;
+    }
+
+    private void gravarLote() {
+        if (lote.isEmpty()) {
+            return;
+        }
+        catalogoDAO.salvarItensNovos(lote);
+        gravouNoPreparo = true;
+        lote.clear();
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import android.util.Log;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agrupa as gravações de atividades em lotes.
+ *
+ * Todas as inserções que chegam dentro de uma janela curta (JANELA_MS) são gravadas juntas,
+ * em uma única transação do SQLite, em vez de um commit por linha. Cada chamada recebe um
+ * CompletableFuture que é concluído quando o lote que contém suas atividades já está salvo no banco.
+ * A duração de cada transação e o tamanho dos lotes vão para as Metricas.
+ */
+class GravadorEmLote {
+
+    // Tempo de espera para juntar inserções que chegam quase ao mesmo tempo
+    static final long JANELA_MS = 50;
+
+    private static final String LATENCIA_LOTE = "dao.inserirTodas";
+    private static final String LOTES_GRAVADOS = "repositorio.lotesGravados";
+    private static final String ATIVIDADES_GRAVADAS = "repositorio.atividadesGravadas";
+
+    private final AtividadeDAO atividadeDAO;
+    private final ScheduledExecutorService executor;
+    private final Metricas metricas;
+
+    private final Object trava = new Object();
+    private List<AtividadeRealizada> pendentes = new ArrayList<>();
+    private List<CompletableFuture<Void>> conclusoesPendentes = new ArrayList<>();
+    private boolean gravacaoAgendada;
+
+    GravadorEmLote(AtividadeDAO atividadeDAO, ScheduledExecutorService executor, Metricas metricas) {
+        this.atividadeDAO = atividadeDAO;
+        this.executor = executor;
+        this.metricas = metricas;
+    }
+
+    /**
+     * Coloca atividades na fila de gravação. A primeira chamada de uma janela agenda a gravação;
+     * as seguintes apenas entram no mesmo lote.
+     */
+    CompletableFuture<Void> enfileirar(List<AtividadeRealizada> atividades) {
+        CompletableFuture<Void> conclusao = new CompletableFuture<>();
+        synchronized (trava) {
+            pendentes.addAll(atividades);
+            conclusoesPendentes.add(conclusao);
+            if (!gravacaoAgendada) {
+                gravacaoAgendada = true;
+                executor.schedule(this::gravarPendentes, JANELA_MS, TimeUnit.MILLISECONDS);
+            }
+        }
+        return conclusao;
+    }
+
+    /**
+     * Grava tudo o que foi acumulado na janela em uma única transação e avisa quem estava esperando.
+     */
+    private void gravarPendentes() {
+        List<AtividadeRealizada> lote;
+        List<CompletableFuture<Void>> conclusoes;
+        synchronized (trava) {
+            lote = pendentes;
+            conclusoes = conclusoesPendentes;
+            pendentes = new ArrayList<>();
+            conclusoesPendentes = new ArrayList<>();
+            gravacaoAgendada = false;
+        }
+
+        try {
+            metricas.medir(LATENCIA_LOTE, () -> atividadeDAO.inserirTodas(lote));
+            metricas.contar(LOTES_GRAVADOS);
+            metricas.contar(ATIVIDADES_GRAVADAS, lote.size());
+            Log.i("Repository", "Lote gravado: " + lote.size() + " atividade(s).");
+            for (CompletableFuture<Void> conclusao : conclusoes) {
+                conclusao.complete(null);
+            }
+        } catch (RuntimeException e) {
+            Log.e("Repository", "Falha ao gravar lote de atividades.", e);
+            for (CompletableFuture<Void> conclusao : conclusoes) {
+                conclusao.completeExceptionally(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.FrequenciaNoCatalogo;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Escolhe a posição do catálogo para a atividade do dia levando em conta o histórico do usuário,
+ * com pesos definidos por um PesoDaRecomendacao.
+ *
+ * Só as atividades já realizadas (lidas de frequencia_atividades, normalmente poucas) são percorridas.
+ * As nunca realizadas têm todas o mesmo peso, então entram no sorteio como um único bloco e a posição
+ * é escolhida ao acaso dentro dele. O custo não depende do tamanho do catálogo nem do histórico.
+ * Com o mesmo Random (mesma semente) e os mesmos dados, a escolha é sempre a mesma.
+ */
+public class MotorDeRecomendacao {
+
+    // Tentativas de achar uma posição nunca realizada antes de procurar uma a uma
+    private static final int TENTATIVAS_NUNCA_REALIZADA = 64;
+
+    private final PesoDaRecomendacao peso;
+    private final Random random;
+
+    public MotorDeRecomendacao(PesoDaRecomendacao peso, Random random) {
+        this.peso = peso;
+        this.random = random;
+    }
+
+    /**
+     * @param tamanhoDoCatalogo quantidade de posições do catálogo local
+     * @param realizadas        posições do catálogo já realizadas (AtividadeDAO.buscarFrequenciasNoCatalogo())
+     * @param dia               dia epoch local da recomendação
+     * @return posição escolhida, ou null se o catálogo estiver vazio
+     */
+    public Integer escolherPosicao(int tamanhoDoCatalogo, List<FrequenciaNoCatalogo> realizadas, long dia) {
+        if (tamanhoDoCatalogo <= 0) {
+            return null;
+        }
+
+        Set<Integer> posicoesRealizadas = new HashSet<>();
+        double[] pesos = new double[realizadas.size()];
+        double somaRealizadas = 0;
+        for (int i = 0; i < realizadas.size(); i++) {
+            FrequenciaNoCatalogo realizada = realizadas.get(i);
+            // Posições fora do catálogo atual ou repetidas ficam com peso 0
+            if (realizada.posicao < tamanhoDoCatalogo && posicoesRealizadas.add(realizada.posicao)) {
+                pesos[i] = Math.max(0, peso.peso(realizada.quantidade, dia - realizada.ultimoDia));
+                somaRealizadas += pesos[i];
+            }
+        }
+
+        int nuncaRealizadas = tamanhoDoCatalogo - posicoesRealizadas.size();
+        double somaNuncaRealizadas = nuncaRealizadas * Math.max(0, peso.pesoDeNuncaRealizada());
+        double total = somaRealizadas + somaNuncaRealizadas;
+        if (total <= 0) {
+            // Nenhuma atividade com peso: qualquer uma serve
+            return random.nextInt(tamanhoDoCatalogo);
+        }
+
+        double sorteado = random.nextDouble() * total;
+        if (sorteado < somaNuncaRealizadas) {
+            return escolherNuncaRealizada(tamanhoDoCatalogo, posicoesRealizadas);
+        }
+        sorteado -= somaNuncaRealizadas;
+        int ultimaComPeso = -1;
+        for (int i = 0; i < pesos.length; i++) {
+            if (pesos[i] > 0) {
+                ultimaComPeso = i;
+                if (sorteado < pesos[i]) {
+                    return realizadas.get(i).posicao;
+                }
+                sorteado -= pesos[i];
+            }
+        }
+        // Arredondamento da soma: fica com a última que tinha peso
+        return ultimaComPeso >= 0 ? realizadas.get(ultimaComPeso).posicao
+                : escolherNuncaRealizada(tamanhoDoCatalogo, posicoesRealizadas);
+    }
+
+    /**
+     * Posição ao acaso entre as nunca realizadas (existe ao menos uma). Como normalmente elas são
+     * a maior parte do catálogo, poucas tentativas bastam; se não bastarem, procura a partir de uma delas.
+     */
+    private int escolherNuncaRealizada(int tamanhoDoCatalogo, Set<Integer> posicoesRealizadas) {
+        int posicao = random.nextInt(tamanhoDoCatalogo);
+        for (int tentativa = 1; tentativa < TENTATIVAS_NUNCA_REALIZADA && posicoesRealizadas.contains(posicao); tentativa++) {
+            posicao = random.nextInt(tamanhoDoCatalogo);
+        }
+        while (posicoesRealizadas.contains(posicao)) {
+            posicao = (posicao + 1) % tamanhoDoCatalogo;
+        }
+        return posicao;
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+/**
+ * Define o peso de cada atividade do catálogo na recomendação da atividade do dia (ver MotorDeRecomendacao).
+ * A chance de uma atividade ser escolhida é proporcional ao seu peso. Os pesos não podem ser negativos
+ * e devem depender só dos parâmetros, para que o sorteio seja reproduzível com a mesma semente.
+ */
+public interface PesoDaRecomendacao {
+
+    /**
+     * Peso de uma atividade que o usuário nunca realizou.
+     */
+    double pesoDeNuncaRealizada();
+
+    /**
+     * Peso de uma atividade já realizada.
+     *
+     * @param vezes             quantas vezes ela foi realizada (1 ou mais)
+     * @param diasDesdeAUltima  dias entre a realização mais recente e o dia da recomendação (0 = no mesmo dia)
+     */
+    double peso(int vezes, long diasDesdeAUltima);
+
+    /**
+     * Peso padrão: atividades nunca feitas valem 1. As já feitas voltam aos poucos conforme o tempo passa
+     * (metade do caminho a cada meiaVidaDias) e valem menos quanto mais vezes foram feitas.
+     * Uma atividade feita no próprio dia tem peso 0.
+     */
+    static PesoDaRecomendacao porRecenciaEFrequencia(double meiaVidaDias) {
+        return new PesoDaRecomendacao() {
+            @Override
+            public double pesoDeNuncaRealizada() {
+                return 1;
+            }
+
+            @Override
+            public double peso(int vezes, long diasDesdeAUltima) {
+                double recuperado = 1 - Math.pow(0.5, Math.max(0, diasDesdeAUltima) / meiaVidaDias);
+                return recuperado / (1 + vezes);
+            }
+        };
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import java.util.function.Supplier;
+
+/**
+ * Guarda, em um arquivo de preferências próprio e bem pequeno, o último dia (dia epoch local) com
+ * atividade confirmada. O NotificationWorker consulta este registro antes de abrir o banco: na
+ * maioria das execuções ele basta para saber se já houve atividade hoje.
+ *
+ * É atualizado pelo repositório sempre que atividades são gravadas. A gravação usa commit(),
+ * que escreve o arquivo inteiro de uma vez (arquivo temporário + renomeação), então uma leitura
+ * nunca vê um valor pela metade.
+ */
+public class RegistroDoUltimoDia {
+
+    private static final String PREFS_NAME = "registro_ultimo_dia";
+    private static final String ULTIMO_DIA_KEY = "ultimo_dia";
+
+    // Valor gravado quando o banco foi conferido e não há nenhuma atividade
+    static final long NENHUM_DIA = Long.MIN_VALUE;
+
+    private final SharedPreferences preferencias;
+    private final Object trava = new Object();
+
+    public RegistroDoUltimoDia(Context context) {
+        this.preferencias = context.getApplicationContext().getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Responde, sem acessar o banco, se houve atividade no dia informado.
+     *
+     * @return TRUE ou FALSE; null se o registro não existe ou não é confiável (ex: registro de um dia
+     *         futuro, após o relógio do aparelho voltar) e o banco precisa ser consultado
+     */
+    public Boolean houveAtividadeNoDia(long dia) {
+        if (!preferencias.contains(ULTIMO_DIA_KEY)) {
+            return null;
+        }
+        return conferir(preferencias.getLong(ULTIMO_DIA_KEY, NENHUM_DIA), dia);
+    }
+
+    /**
+     * Decide a partir do último dia registrado (ver houveAtividadeNoDia).
+     */
+    static Boolean conferir(long ultimoDia, long dia) {
+        if (ultimoDia == dia) {
+            return Boolean.TRUE;
+        }
+        if (ultimoDia < dia) {
+            return Boolean.FALSE;
+        }
+        return null;
+    }
+
+    /**
+     * Registra atividades gravadas no dia informado. Só avança: atividades de dias anteriores
+     * (ex: importação) não mudam o registro. Não deve ser chamado na thread principal.
+     */
+    void registrar(long dia) {
+        synchronized (trava) {
+            if (!preferencias.contains(ULTIMO_DIA_KEY) || preferencias.getLong(ULTIMO_DIA_KEY, NENHUM_DIA) < dia) {
+                preferencias.edit().putLong(ULTIMO_DIA_KEY, dia).commit();
+            }
+        }
+    }
+
+    /**
+     * Substitui o registro pelo valor conferido no banco (null = nenhuma atividade).
+     * A consulta roda dentro da trava: uma confirmação gravada depois dela só chega a registrar(...)
+     * depois desta correção, e não pode ser sobrescrita por um dia mais antigo lido antes.
+     * Não deve ser chamado na thread principal.
+     *
+     * @param ultimoDiaNoBanco consulta do dia mais recente com atividade no banco
+     */
+    void corrigir(Supplier<Long> ultimoDiaNoBanco) {
+        synchronized (trava) {
+            Long ultimoDia = ultimoDiaNoBanco.get();
+            preferencias.edit().putLong(ULTIMO_DIA_KEY, ultimoDia == null ? NENHUM_DIA : ultimoDia).commit();
+        }
+    }
+}
@@ -5,145 +5,504 @@ import android.content.Context;
 import android.content.SharedPreferences;
 import android.util.Log;
 
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AppDatabase;
 import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeDAO;
 import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
-import com.example.m3_desenvolvimento_mobile_extensao.network_model.AtividadeProposta;
-import com.example.m3_desenvolvimento_mobile_extensao.network.ApiClient;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.BuscaNoHistorico;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.CatalogoDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.DiasEpoch;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.HistoricoPagingSource;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.ResumoDiario;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.SacolaDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
 import com.example.m3_desenvolvimento_mobile_extensao.network.ApiService;
-import com.google.gson.Gson;
-import com.google.gson.reflect.TypeToken;
+import com.example.m3_desenvolvimento_mobile_extensao.network.CatalogoRemoto;
+import com.example.m3_desenvolvimento_mobile_extensao.network.ChamadaUnica;
+import com.example.m3_desenvolvimento_mobile_extensao.network.DisjuntorCircuito;
+import com.example.m3_desenvolvimento_mobile_extensao.network.HashDoCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.LeitorCatalogoEmFluxo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.PoliticaDeRetentativa;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.ManifestoCatalogo;
 
-import java.lang.reflect.Type;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.SimpleDateFormat;
+import java.util.Calendar;
 import java.util.Collections;
 import java.util.Date;
+import java.util.EnumMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
-
-import retrofit2.Call;
-import retrofit2.Callback;
-import retrofit2.Response;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Supplier;
 
 /**
  * Classe que centraliza o acesso a dados (API + banco de dados + cache).
  * Aqui estão implementadas as regras de negócio para:
  * - Buscar uma nova atividade do dia
- * - Lidar com falhas de rede e uso de cache
+ * - Lidar com falhas de rede e uso de cache (cópia local do catálogo no Room)
  * - Inserir e listar atividades realizadas (Room)
+ *
+ * Existe uma única instância no app (ver DependenciasDoApp), compartilhada por telas e workers.
+ * As operações principais (busca do catálogo, sorteio, consultas ao banco e backup) são registradas
+ * nas Metricas: duração de cada uma, resultado das buscas e uso da cópia local do catálogo.
  */
 public class RepositorioAtividades {
 
+    /**
+     * Recebe o andamento de uma exportação/importação do histórico.
+     * Chamado em segundo plano, de tempos em tempos e uma última vez ao terminar.
+     */
+    public interface ProgressoBackup {
+        void onProgresso(long atividadesProcessadas);
+    }
+
+    private final AppDatabase db;
     private final AtividadeDAO atividadeDAO;
-    private final ApiService apiService;
+    private final CatalogoDAO catalogoDAO;
+    private final SacolaDAO sacolaDAO;
+    private final Random random = new Random();
+    private final MotorDeRecomendacao motorDeRecomendacao = new MotorDeRecomendacao(
+            PesoDaRecomendacao.porRecenciaEFrequencia(MEIA_VIDA_RECOMENDACAO_DIAS), random);
+    private final CatalogoRemoto catalogoRemoto;
+    private final SincronizacaoDoCatalogo sincronizacaoDoCatalogo;
+    private final ExecutorService redeExecutor;
     private final LiveData<List<AtividadeRealizada>> todasAtividades;
-    private final ExecutorService databaseWriteExecutor = Executors.newSingleThreadExecutor();
+    private final LiveData<ResumoDiario> resumoMaisRecente;
+    private final GravadorEmLote gravadorEmLote;
+    private final BackupHistorico backupHistorico;
+    private final RegistroDoUltimoDia registroDoUltimoDia;
+    private final Metricas metricas;
+    private final ExecutorService backupExecutor;
 
     private final MutableLiveData<String> atividadeDoDia = new MutableLiveData<>();
 
     private final SharedPreferences sharedPreferences;
-    private final Gson gson;
 
+    // Chave antiga: o catálogo inteiro em JSON. Hoje ele fica na tabela catalogo_atividades;
+    // a chave só é lida uma vez, para copiar o conteúdo de instalações antigas (ver migrarCacheAntigo).
     private static final String CACHE_KEY = "cache_atividades_json";
+    // Validadores HTTP da resposta que gerou o catálogo local (para requisições condicionais)
+    private static final String CACHE_ETAG_KEY = "cache_atividades_etag";
+    private static final String CACHE_LAST_MODIFIED_KEY = "cache_atividades_last_modified";
+    // Versão e hash do catálogo local, conferidos com o manifesto do servidor
+    private static final String CATALOGO_VERSAO_KEY = "catalogo_versao";
+    private static final String CATALOGO_HASH_KEY = "catalogo_hash";
     private static final String PREFS_NAME = "app_cache_prefs";
 
     private static final String ATIVIDADE_DO_DIA_KEY = "atividade_do_dia";
     private static final String DATA_ATIVIDADE_DO_DIA_KEY = "data_atividade_do_dia";
+    // Atividade sorteada com antecedência pelo PrefetchCatalogoWorker, para o dia indicado
+    private static final String ATIVIDADE_PREPARADA_KEY = "atividade_preparada";
+    private static final String DATA_ATIVIDADE_PREPARADA_KEY = "data_atividade_preparada";
+    // true: a atividade do dia é recomendada pelo histórico (MotorDeRecomendacao); false: sacola de sorteio
+    private static final String MODO_RECOMENDACAO_KEY = "modo_recomendacao";
 
-    public RepositorioAtividades(Application application) {
-        AppDatabase db = AppDatabase.getDatabase(application);
+    // Dias para uma atividade já feita recuperar metade do peso na recomendação
+    private static final double MEIA_VIDA_RECOMENDACAO_DIAS = 14;
+
+    // Nomes das métricas registradas pelo repositório
+    private static final String LATENCIA_ATIVIDADE_DO_DIA = "repositorio.buscarAtividadeDoDia";
+    private static final String LATENCIA_ATUALIZAR_CATALOGO = "repositorio.atualizarCatalogo";
+    private static final String LATENCIA_EXPORTAR = "repositorio.exportarHistorico";
+    private static final String LATENCIA_IMPORTAR = "repositorio.importarHistorico";
+    private static final String LATENCIA_FREQUENCIAS = "dao.buscarFrequenciasNoCatalogo";
+    private static final String LATENCIA_SACOLA = "dao.sortearTexto";
+    private static final String LATENCIA_CONTAR_ENTRE_DIAS = "dao.contarAtividadesEntreDias";
+    private static final String LATENCIA_CONTAR_DO_DIA = "dao.contarAtividadesDoDia";
+    private static final String LATENCIA_CONTAR_BUSCA = "dao.contarResultadosDaBusca";
+    // Atividade do dia já definida (ou preparada pelo worker) x busca do catálogo
+    private static final String CACHE_ATIVIDADE_DO_DIA = "atividadeDoDia";
+    // Cópia local do catálogo reaproveitada (manifesto igual, delta ou 304) x catálogo baixado inteiro
+    private static final String CACHE_CATALOGO = "catalogoLocal";
+    // Um nome por resultado, montados uma única vez: registrar uma métrica não deve alocar (ver Metricas)
+    private static final Map<SincronizacaoDoCatalogo.Resultado.Tipo, String> METRICA_SINCRONIZACAO =
+            nomesPorTipo("catalogo.sincronizacao.", SincronizacaoDoCatalogo.Resultado.Tipo.class);
+    private static final Map<CatalogoRemoto.Resultado.Tipo, String> METRICA_API_CATALOGO =
+            nomesPorTipo("api.catalogo.", CatalogoRemoto.Resultado.Tipo.class);
+
+    // Pedidos simultâneos da atividade do dia (ex: onCreate e onResume, ou duas telas) fazem
+    // uma única busca na API e recebem o mesmo sorteio. O PrefetchCatalogoWorker também passa por aqui,
+    // para que o catálogo nunca seja gravado por duas buscas ao mesmo tempo nem a atividade de hoje
+    // seja sorteada duas vezes.
+    private final ChamadaUnica<String> buscaDaAtividadeDoDia = new ChamadaUnica<>();
+
+    // Depois de várias buscas seguidas sem sucesso, o app deixa de chamar a API por um período
+    // e usa direto o catálogo local.
+    private final DisjuntorCircuito disjuntorDoCatalogo = new DisjuntorCircuito();
+    private final MutableLiveData<DisjuntorCircuito.Estado> estadoDoDisjuntor =
+            new MutableLiveData<>(DisjuntorCircuito.Estado.FECHADO);
+    // Requisições feitas na última busca do catálogo (1 = sem novas tentativas; 0 = disjuntor aberto)
+    private final MutableLiveData<Integer> tentativasDaUltimaBusca = new MutableLiveData<>();
+
+    /**
+     * Criado pelo DependenciasDoApp, que fornece o cliente da API e as threads compartilhadas.
+     *
+     * @param registroDoUltimoDia atualizado a cada gravação de atividades (ver RegistroDoUltimoDia)
+     * @param metricas            onde as durações e resultados das operações são registrados
+     * @param redeExecutor        thread das buscas na API
+     * @param backupExecutor      thread da exportação/importação do histórico
+     * @param gravacaoExecutor    thread das gravações em lote
+     */
+    public RepositorioAtividades(Application application, AppDatabase db, ApiService apiService,
+                                 RegistroDoUltimoDia registroDoUltimoDia, Metricas metricas,
+                                 ExecutorService redeExecutor, ExecutorService backupExecutor,
+                                 ScheduledExecutorService gravacaoExecutor) {
+        this.db = db;
         this.atividadeDAO = db.atividadeDAO();
+        this.catalogoDAO = db.catalogoDAO();
+        this.sacolaDAO = db.sacolaDAO();
+        this.redeExecutor = redeExecutor;
+        this.backupExecutor = backupExecutor;
         this.todasAtividades = atividadeDAO.buscarTodas();
+        this.resumoMaisRecente = atividadeDAO.observarResumoMaisRecente();
+        this.gravadorEmLote = new GravadorEmLote(atividadeDAO, gravacaoExecutor, metricas);
+        this.backupHistorico = new BackupHistorico(atividadeDAO);
+        this.registroDoUltimoDia = registroDoUltimoDia;
+        this.metricas = metricas;
 
-        this.apiService = ApiClient.getClient().create(ApiService.class);
+        disjuntorDoCatalogo.setObservador(estado -> {
+            Log.i("Repository", "Disjuntor da API do catálogo: " + estado);
+            estadoDoDisjuntor.postValue(estado);
+        });
+        this.catalogoRemoto = new CatalogoRemoto(apiService, PoliticaDeRetentativa.PADRAO, disjuntorDoCatalogo);
+        this.sincronizacaoDoCatalogo = new SincronizacaoDoCatalogo(catalogoRemoto, catalogoDAO);
         this.sharedPreferences = application.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
-        this.gson = new Gson();
     }
 
     public LiveData<String> getAtividadeDoDia() {
         return atividadeDoDia;
     }
 
+    /**
+     * Estado do disjuntor da API do catálogo (FECHADO, ABERTO ou MEIO_ABERTO).
+     */
+    public LiveData<DisjuntorCircuito.Estado> getEstadoDoDisjuntor() {
+        return estadoDoDisjuntor;
+    }
+
+    /**
+     * Quantidade de requisições feitas na última busca do catálogo.
+     */
+    public LiveData<Integer> getTentativasDaUltimaBusca() {
+        return tentativasDaUltimaBusca;
+    }
+
+    /**
+     * Indica se a atividade do dia é recomendada com base no histórico (em vez da sacola de sorteio).
+     */
+    public boolean isModoRecomendacao() {
+        return sharedPreferences.getBoolean(MODO_RECOMENDACAO_KEY, false);
+    }
+
+    /**
+     * Liga ou desliga a recomendação pelo histórico. Vale a partir da próxima atividade sorteada.
+     */
+    public void setModoRecomendacao(boolean ativo) {
+        sharedPreferences.edit().putBoolean(MODO_RECOMENDACAO_KEY, ativo).apply();
+    }
+
     /**
      * Método principal para obter a atividade do dia.
      * Verifica se já existe uma atividade salva para hoje. Se não, busca uma nova da API.
      */
     public void buscarNovaAtividadeDoDia() {
-        String hoje = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(new Date());
-        String dataSalva = sharedPreferences.getString(DATA_ATIVIDADE_DO_DIA_KEY, null);
-
-        if (hoje.equals(dataSalva)) {
-            String atividadeSalva = sharedPreferences.getString(ATIVIDADE_DO_DIA_KEY, null);
-            if (atividadeSalva != null) {
-                atividadeDoDia.postValue(atividadeSalva);
-                Log.i("Repository", "Atividade do dia carregada da memória.");
-                return;
-            }
+        String atividadeSalva = carregarAtividadeDeHoje();
+        metricas.contarCache(CACHE_ATIVIDADE_DO_DIA, atividadeSalva != null);
+        if (atividadeSalva != null) {
+            atividadeDoDia.postValue(atividadeSalva);
+            Log.i("Repository", "Atividade do dia carregada da memória.");
+            return;
         }
 
-        // Se for um novo dia ou não tiver atividade salva, busca na API
+        // Se for um novo dia ou não tiver atividade salva, busca na API (em segundo plano).
+        // Se outra tela já estiver buscando, apenas aguarda o resultado dessa busca.
         Log.i("Repository", "Buscando nova atividade do dia via API...");
-        apiService.getAtividadesPropostas().enqueue(new Callback<>() {
-            @Override
-            public void onResponse(Call<List<AtividadeProposta>> call, Response<List<AtividadeProposta>> response) {
-                if (response.isSuccessful() && response.body() != null && !response.body().isEmpty()) {
-                    salvarListaNoCache(response.body());
-                    sortearSalvarEPostarAtividade(response.body());
-                } else {
-                    Log.e("Repository", "Erro na API. Tentando usar cache.");
-                    usarCacheParaDefinirAtividade();
-                }
-            }
+        buscaDaAtividadeDoDia.executar(() -> metricas.medir(LATENCIA_ATIVIDADE_DO_DIA, this::buscarCatalogoESortear),
+                        redeExecutor)
+                .whenComplete((atividade, erro) -> {
+                    if (erro != null) {
+                        Log.e("Repository", "Erro ao definir a atividade do dia.", erro);
+                        atividadeDoDia.postValue("Não foi possível buscar atividades. Verifique sua conexão.");
+                    } else {
+                        atividadeDoDia.postValue(atividade);
+                    }
+                });
+    }
 
-            @Override
-            public void onFailure(Call<List<AtividadeProposta>> call, Throwable t) {
-                Log.e("Repository", "Falha na conexão com a API. Tentando usar cache.", t);
-                usarCacheParaDefinirAtividade();
+    /**
+     * Atividade já sorteada para hoje, ou null se ainda não houver (novo dia ou primeira execução).
+     * Se o PrefetchCatalogoWorker já tiver preparado a atividade de hoje, ela passa a ser a do dia
+     * sem nenhum acesso à rede.
+     */
+    private String carregarAtividadeDeHoje() {
+        String hoje = formatarDia(new Date());
+        if (hoje.equals(sharedPreferences.getString(DATA_ATIVIDADE_DO_DIA_KEY, null))) {
+            String atividade = sharedPreferences.getString(ATIVIDADE_DO_DIA_KEY, null);
+            if (atividade != null) {
+                return atividade;
             }
-        });
+        }
+        if (hoje.equals(sharedPreferences.getString(DATA_ATIVIDADE_PREPARADA_KEY, null))) {
+            String preparada = sharedPreferences.getString(ATIVIDADE_PREPARADA_KEY, null);
+            if (preparada != null) {
+                Log.i("Repository", "Usando a atividade preparada em segundo plano.");
+                sharedPreferences.edit()
+                        .remove(ATIVIDADE_PREPARADA_KEY)
+                        .remove(DATA_ATIVIDADE_PREPARADA_KEY)
+                        .apply();
+                return definirAtividadeDoDia(preparada);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Busca o catálogo com requisição condicional. Se ele não mudou desde a última vez (304),
+     * sorteia direto do cache local, sem baixar nem converter o JSON da resposta.
+     * Roda dentro da buscaDaAtividadeDoDia e retorna o texto a exibir.
+     */
+    private String buscarCatalogoESortear() {
+        return atualizarCatalogoESortearHoje(false);
+    }
+
+    /**
+     * Atualiza o catálogo local e define a atividade de hoje, se ainda não houver.
+     * Só deve rodar dentro da buscaDaAtividadeDoDia.
+     *
+     * @param atualizarSempre true para atualizar o catálogo mesmo que a atividade de hoje já exista (worker)
+     */
+    private String atualizarCatalogoESortearHoje(boolean atualizarSempre) {
+        // Uma busca que acabou de terminar pode já ter definido a atividade de hoje
+        String atividadeSalva = carregarAtividadeDeHoje();
+        if (atividadeSalva != null && !atualizarSempre) {
+            return atividadeSalva;
+        }
+
+        // Com o catálogo local atualizado, o sorteio sai da sacola (sem repetições).
+        // O sorteio feito durante a leitura da resposta só é usado se a sacola não puder ser lida.
+        GravadorDoCatalogo gravador = new GravadorDoCatalogo(catalogoDAO, random);
+        boolean catalogoBaixado = metricas.medir(LATENCIA_ATUALIZAR_CATALOGO, () -> atualizarCatalogoLocal(gravador));
+        if (atividadeSalva != null) {
+            return atividadeSalva;
+        }
+        String atividade = sortearDoCatalogoLocal(DiasEpoch.hoje());
+        if (atividade == null && catalogoBaixado) {
+            atividade = gravador.getSorteada();
+        }
+        if (atividade != null) {
+            return definirAtividadeDoDia(atividade);
+        }
+        return "Não foi possível buscar atividades. Verifique sua conexão.";
+    }
+
+    /**
+     * Chamado pelo PrefetchCatalogoWorker (em segundo plano): atualiza o catálogo local e já sorteia
+     * a atividade de amanhã (e a de hoje, se ainda não houver), para que abrir o app seja só uma leitura local.
+     * A atualização e o sorteio de hoje rodam na mesma buscaDaAtividadeDoDia da tela: se o app já estiver
+     * buscando, o worker espera essa busca (e vice-versa), em vez de gravar o catálogo ao mesmo tempo.
+     *
+     * @return false se não há catálogo local para sortear (vale a pena tentar de novo mais tarde)
+     */
+    public boolean prepararProximasAtividadesSync() {
+        try {
+            // Runnable::run: se nenhuma busca estiver em andamento, a do worker roda nesta mesma thread
+            buscaDaAtividadeDoDia.executar(() -> atualizarCatalogoESortearHoje(true), Runnable::run).join();
+        } catch (CompletionException e) {
+            Log.e("Repository", "Erro ao atualizar o catálogo em segundo plano.", e.getCause());
+        }
+        if (catalogoDAO.contarItens() == 0) {
+            Log.w("Repository", "Sem catálogo local para preparar a próxima atividade.");
+            return false;
+        }
+
+        SharedPreferences.Editor editor = sharedPreferences.edit();
+
+        // Se amanhã já foi preparado numa execução anterior, mantém: cada sorteio consome um item da sacola
+        Calendar dia = Calendar.getInstance();
+        dia.add(Calendar.DAY_OF_MONTH, 1);
+        String amanha = formatarDia(dia.getTime());
+        String atividadeDeAmanha = sharedPreferences.getString(ATIVIDADE_PREPARADA_KEY, null);
+        if (atividadeDeAmanha == null || !amanha.equals(sharedPreferences.getString(DATA_ATIVIDADE_PREPARADA_KEY, null))) {
+            atividadeDeAmanha = sortearDoCatalogoLocal(DiasEpoch.hoje() + 1);
+            editor.putString(ATIVIDADE_PREPARADA_KEY, atividadeDeAmanha)
+                    .putString(DATA_ATIVIDADE_PREPARADA_KEY, amanha);
+        }
+
+        // commit(): o worker pode ser encerrado logo depois de retornar, então a gravação precisa estar no disco
+        // (inclui a atividade de hoje, que a busca define com apply())
+        editor.commit();
+        Log.i("Repository", "Atividade de amanhã preparada: " + atividadeDeAmanha);
+        return true;
     }
 
-    /** Salva a lista completa de atividades como JSON em cache (SharedPreferences) */
-    private void salvarListaNoCache(List<AtividadeProposta> lista) {
+    /**
+     * Atualiza o catálogo local. Primeiro consulta o manifesto: se nada mudou, não baixa mais nada;
+     * se mudou, tenta aplicar só o delta. Caso contrário (ou sem manifesto no servidor), busca o
+     * catálogo na API e grava a nova versão no banco à medida que a resposta é lida.
+     *
+     * @return true se o catálogo inteiro foi lido nesta chamada (o gravador tem uma atividade sorteada);
+     *         false se a cópia local continua valendo ou foi atualizada por delta
+     */
+    private boolean atualizarCatalogoLocal(GravadorDoCatalogo gravador) {
+        migrarCacheAntigo();
+
+        SincronizacaoDoCatalogo.Resultado sincronizacao = sincronizacaoDoCatalogo.sincronizar(
+                sharedPreferences.getLong(CATALOGO_VERSAO_KEY, 0),
+                sharedPreferences.getString(CATALOGO_HASH_KEY, null));
+        metricas.contar(METRICA_SINCRONIZACAO.get(sincronizacao.tipo));
+        switch (sincronizacao.tipo) {
+            case SEM_MUDANCA:
+                metricas.contarCache(CACHE_CATALOGO, true);
+                Log.i("Repository", "Catálogo na versão " + sincronizacao.manifesto.getVersao() + ". Usando cache local.");
+                return false;
+            case DELTA_APLICADO:
+                metricas.contarCache(CACHE_CATALOGO, true);
+                salvarVersaoDoCatalogo(sincronizacao.manifesto.getVersao(), sincronizacao.manifesto.getHash());
+                Log.i("Repository", "Delta aplicado: catálogo na versão " + sincronizacao.manifesto.getVersao() + ".");
+                return false;
+            default:
+                break;
+        }
+
+        // Com manifesto indicando mudança, baixa o catálogo inteiro; sem manifesto, faz a busca condicional.
+        // Só envia os validadores se houver uma cópia local para usar em caso de 304.
+        boolean condicional = sincronizacao.tipo == SincronizacaoDoCatalogo.Resultado.Tipo.SEM_MANIFESTO
+                && catalogoDAO.contarItens() > 0;
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscarEmFluxo(
+                condicional ? sharedPreferences.getString(CACHE_ETAG_KEY, null) : null,
+                condicional ? sharedPreferences.getString(CACHE_LAST_MODIFIED_KEY, null) : null,
+                gravador);
+
+        tentativasDaUltimaBusca.postValue(resultado.getTentativas());
+        metricas.contar(METRICA_API_CATALOGO.get(resultado.getTipo()));
+        metricas.contar("api.catalogo.tentativas", resultado.getTentativas());
+
+        if (resultado.getTipo() != CatalogoRemoto.Resultado.Tipo.ATUALIZADO) {
+            // A leitura pode ter parado no meio: o catálogo local continua intacto, só a área de preparo é limpa
+            gravador.descartar();
+        }
+
+        switch (resultado.getTipo()) {
+            case ATUALIZADO:
+                metricas.contarCache(CACHE_CATALOGO, false);
+                gravador.concluir(resultado.getQuantidade());
+                salvarValidadores(resultado.getEtag(), resultado.getUltimaModificacao());
+                salvarVersaoDoCatalogo(versaoConferida(sincronizacao.manifesto, gravador.getHash()),
+                        HashDoCatalogo.formatar(gravador.getHash()));
+                Log.i("Repository", "Cache de atividades salvo (" + resultado.getQuantidade() + " atividades).");
+                return true;
+            case NAO_MODIFICADO:
+                metricas.contarCache(CACHE_CATALOGO, true);
+                Log.i("Repository", "Catálogo não mudou (304). Usando cache local.");
+                break;
+            case CIRCUITO_ABERTO:
+                Log.w("Repository", "API do catálogo em espera após falhas seguidas. Usando cache local.");
+                break;
+            default:
+                Log.e("Repository", "Falha ao buscar o catálogo na API. Tentando usar cache.", resultado.getErro());
+                break;
+        }
+        return false;
+    }
+
+    /**
+     * Versão a registrar para o catálogo recém-baixado: a do manifesto, se o conteúdo bater com o hash dele.
+     * Se não houver manifesto ou o conteúdo divergir, registra 0 e a próxima sincronização baixa tudo de novo.
+     */
+    private static long versaoConferida(ManifestoCatalogo manifesto, long hashBaixado) {
+        if (manifesto != null && manifesto.getHash().equalsIgnoreCase(HashDoCatalogo.formatar(hashBaixado))) {
+            return manifesto.getVersao();
+        }
+        return 0;
+    }
+
+    /**
+     * Guarda a versão e o hash (HashDoCatalogo) do catálogo local, comparados com o manifesto na próxima busca.
+     */
+    private void salvarVersaoDoCatalogo(long versao, String hash) {
+        sharedPreferences.edit()
+                .putLong(CATALOGO_VERSAO_KEY, versao)
+                .putString(CATALOGO_HASH_KEY, hash)
+                .apply();
+    }
+
+    /**
+     * Guarda os validadores HTTP (ETag / Last-Modified) da resposta que gerou o catálogo local.
+     */
+    private void salvarValidadores(String etag, String ultimaModificacao) {
         sharedPreferences.edit()
-                .putString(CACHE_KEY, gson.toJson(lista))
+                .putString(CACHE_ETAG_KEY, etag)
+                .putString(CACHE_LAST_MODIFIED_KEY, ultimaModificacao)
                 .apply();
-        Log.i("Repository", "Cache de atividades salvo.");
     }
 
-    /** Lê a lista de atividades salvas em cache */
-    private List<AtividadeProposta> carregarListaDoCache() {
+    /**
+     * Instalações antigas guardavam o catálogo como um único JSON no SharedPreferences.
+     * Copia esse conteúdo para a tabela do Room (uma única vez) e remove a chave, para que o
+     * arquivo de preferências volte a ser pequeno e rápido de carregar.
+     */
+    private void migrarCacheAntigo() {
         String jsonLista = sharedPreferences.getString(CACHE_KEY, null);
-        if (jsonLista == null) return Collections.emptyList();
+        if (jsonLista == null) return;
 
-        Type listType = new TypeToken<List<AtividadeProposta>>() {}.getType();
-        return gson.fromJson(jsonLista, listType);
+        if (catalogoDAO.contarItens() == 0) {
+            GravadorDoCatalogo gravador = new GravadorDoCatalogo(catalogoDAO, random);
+            try {
+                gravador.iniciar();
+                gravador.concluir(LeitorCatalogoEmFluxo.ler(new StringReader(jsonLista), gravador));
+            } catch (IOException | RuntimeException e) {
+                gravador.descartar();
+                Log.e("Repository", "Cache antigo de atividades inválido. Ignorando.", e);
+            }
+        }
+        sharedPreferences.edit().remove(CACHE_KEY).apply();
+        Log.i("Repository", "Cache antigo de atividades copiado para o banco.");
     }
 
-    /** Usa o cache local para sortear a atividade do dia, caso não consiga acessar a API */
-    private void usarCacheParaDefinirAtividade() {
-        List<AtividadeProposta> lista = carregarListaDoCache();
-        if (!lista.isEmpty()) {
-            sortearSalvarEPostarAtividade(lista);
-        } else {
-            atividadeDoDia.postValue("Não foi possível buscar atividades. Verifique sua conexão.");
+    /**
+     * Sorteia uma atividade do catálogo local, sem carregar o catálogo:
+     * - modo recomendação: pelo MotorDeRecomendacao, com a frequência das atividades já realizadas;
+     * - caso contrário: pela sacola de sorteio, que não repete atividades até todas terem saído.
+     *
+     * @param dia dia epoch local para o qual a atividade está sendo sorteada
+     * @return texto sorteado, ou null se não houver catálogo local
+     */
+    private String sortearDoCatalogoLocal(long dia) {
+        if (!isModoRecomendacao()) {
+            return metricas.medir(LATENCIA_SACOLA, () -> sacolaDAO.sortearTexto(random));
         }
+        Integer posicao = motorDeRecomendacao.escolherPosicao(catalogoDAO.contarItens(),
+                metricas.medir(LATENCIA_FREQUENCIAS, atividadeDAO::buscarFrequenciasNoCatalogo), dia);
+        return posicao == null ? null : catalogoDAO.buscarTextoNaPosicao(posicao);
     }
 
     /**
-     * Sorteia aleatoriamente uma atividade da lista,
-     * salva no SharedPreferences como "atividade do dia",
-     * e atualiza o LiveData para que a UI exiba.
+     * Salva a atividade sorteada no SharedPreferences como "atividade do dia" e a retorna.
      */
-    private void sortearSalvarEPostarAtividade(List<AtividadeProposta> lista) {
-        String atividade = lista.get(new Random().nextInt(lista.size())).getTextoAtividade();
-        String hoje = new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(new Date());
+    private String definirAtividadeDoDia(String atividade) {
+        String hoje = formatarDia(new Date());
 
         sharedPreferences.edit()
                 .putString(ATIVIDADE_DO_DIA_KEY, atividade)
@@ -151,7 +510,12 @@ public class RepositorioAtividades {
                 .apply();
 
         Log.i("Repository", "Atividade do dia definida: " + atividade);
-        atividadeDoDia.postValue(atividade);
+        return atividade;
+    }
+
+    // Dia no formato salvo no SharedPreferences (ex: "2026-10-17")
+    private static String formatarDia(Date data) {
+        return new SimpleDateFormat("yyyy-MM-dd", Locale.getDefault()).format(data);
     }
 
     // Métodos auxiliares para acesso ao banco de dados local (Room)
@@ -159,11 +523,160 @@ public class RepositorioAtividades {
         return todasAtividades;
     }
 
-    public void inserir(AtividadeRealizada atividade) {
-        databaseWriteExecutor.execute(() -> atividadeDAO.inserir(atividade));
+    /**
+     * Resumo do dia mais recente com atividade (total geral + sequência de dias consecutivos).
+     * Usado para calcular a categoria do usuário sem carregar o histórico inteiro.
+     */
+    public LiveData<ResumoDiario> getResumoMaisRecente() {
+        return resumoMaisRecente;
+    }
+
+    /**
+     * Indica se já existe atividade confirmada no dia informado (dia epoch local).
+     * Atualiza sozinho quando uma atividade é inserida.
+     */
+    public LiveData<Boolean> getAtividadeFeitaNoDia(long diaEpoch) {
+        return atividadeDAO.observarSeHouveAtividadeNoDia(diaEpoch);
+    }
+
+    /**
+     * Cria uma nova fonte de páginas do histórico. O Pager chama este método
+     * novamente sempre que a fonte anterior for invalidada.
+     */
+    public HistoricoPagingSource criarFonteDoHistoricoPaginado() {
+        return criarFonteDoHistoricoPaginado(null);
     }
 
-    public int contarAtividadesDeHojeSync() {
-        return atividadeDAO.contarAtividadesDeHoje();
+    /**
+     * Fonte de páginas só com os resultados da busca (ou o histórico completo, se a busca for null).
+     */
+    public HistoricoPagingSource criarFonteDoHistoricoPaginado(@Nullable BuscaNoHistorico busca) {
+        return new HistoricoPagingSource(db, busca);
+    }
+
+    /**
+     * Agenda a gravação de uma atividade. Ela é gravada junto com outras que chegarem na mesma
+     * janela curta (ver GravadorEmLote); o retorno é concluído quando os dados já estão no banco.
+     */
+    public CompletableFuture<Void> inserir(AtividadeRealizada atividade) {
+        return gravadorEmLote.enfileirar(Collections.singletonList(atividade))
+                .thenRun(() -> registroDoUltimoDia.registrar(atividade.diaEpoch));
+    }
+
+    /**
+     * Grava várias atividades em uma única transação (ex: carga inicial ou reprocessamento).
+     */
+    public CompletableFuture<Void> inserirTodas(List<AtividadeRealizada> atividades) {
+        long ultimoDia = Long.MIN_VALUE;
+        for (AtividadeRealizada atividade : atividades) {
+            ultimoDia = Math.max(ultimoDia, atividade.diaEpoch);
+        }
+        long diaRegistrado = ultimoDia;
+        return gravadorEmLote.enfileirar(atividades)
+                .thenRun(() -> {
+                    if (diaRegistrado != Long.MIN_VALUE) {
+                        registroDoUltimoDia.registrar(diaRegistrado);
+                    }
+                });
+    }
+
+    /**
+     * Exporta todo o histórico para o destino em JSON delimitado por linha (ver BackupHistorico).
+     * Roda em segundo plano e fecha o destino ao terminar. O resultado é a quantidade exportada.
+     */
+    public CompletableFuture<Long> exportarHistorico(OutputStream destino, ProgressoBackup progresso) {
+        return executarBackup(destino, LATENCIA_EXPORTAR, () -> {
+            try (Writer writer = new BufferedWriter(new OutputStreamWriter(destino, StandardCharsets.UTF_8))) {
+                return backupHistorico.exportar(writer, progresso);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Importa atividades de um arquivo gerado por exportarHistorico(), gravando em lotes transacionais.
+     * Roda em segundo plano e fecha a origem ao terminar. O resultado é a quantidade importada
+     * (atividades que já estavam no histórico não são gravadas de novo).
+     */
+    public CompletableFuture<Long> importarHistorico(InputStream origem, ProgressoBackup progresso) {
+        return executarBackup(origem, LATENCIA_IMPORTAR, () -> {
+            try (Reader reader = new BufferedReader(new InputStreamReader(origem, StandardCharsets.UTF_8))) {
+                return backupHistorico.importar(reader, progresso);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                // Mesmo uma importação interrompida pode ter gravado alguns lotes
+                registroDoUltimoDia.corrigir(atividadeDAO::buscarUltimoDiaComAtividade);
+            }
+        });
+    }
+
+    /**
+     * Roda a exportação/importação na thread de backup, registrando a duração com o nome informado.
+     * Se a fila dela estiver cheia, o pedido é recusado: o arquivo é fechado e o resultado já vem com a falha.
+     */
+    private CompletableFuture<Long> executarBackup(Closeable arquivo, String metrica, Supplier<Long> tarefa) {
+        try {
+            return CompletableFuture.supplyAsync(() -> metricas.medir(metrica, tarefa), backupExecutor);
+        } catch (RejectedExecutionException e) {
+            try {
+                arquivo.close();
+            } catch (IOException ignorada) {
+                // O pedido já falhou; o erro ao fechar não muda nada
+            }
+            CompletableFuture<Long> falha = new CompletableFuture<>();
+            falha.completeExceptionally(e);
+            return falha;
+        }
+    }
+
+    /**
+     * Conta as atividades entre dois dias (inclusive). Não deve ser chamado na thread principal.
+     */
+    public int contarAtividadesEntreDiasSync(long diaInicial, long diaFinal) {
+        return metricas.medir(LATENCIA_CONTAR_ENTRE_DIAS,
+                () -> atividadeDAO.contarAtividadesEntreDias(diaInicial, diaFinal));
+    }
+
+    /**
+     * Conta os resultados da busca entre dois dias (inclusive), respeitando também o período da própria busca.
+     * Não deve ser chamado na thread principal.
+     */
+    public int contarResultadosDaBuscaSync(BuscaNoHistorico busca, long diaInicial, long diaFinal) {
+        long inicio = Math.max(diaInicial, busca.diaInicial);
+        long fim = Math.min(diaFinal, busca.diaFinal);
+        if (inicio > fim) {
+            return 0;
+        }
+        return metricas.medir(LATENCIA_CONTAR_BUSCA,
+                () -> atividadeDAO.contarResultadosDaBusca(busca.consulta, inicio, fim));
+    }
+
+    /**
+     * Indica se já houve atividade hoje. Responde pelo RegistroDoUltimoDia quando ele é confiável;
+     * só consulta o banco se o registro faltar ou for inconsistente, e nesse caso o corrige.
+     * Não deve ser chamado na thread principal.
+     */
+    public boolean houveAtividadeHojeSync() {
+        long hoje = DiasEpoch.hoje();
+        Boolean registrado = registroDoUltimoDia.houveAtividadeNoDia(hoje);
+        if (registrado != null) {
+            return registrado;
+        }
+        boolean houve = metricas.medir(LATENCIA_CONTAR_DO_DIA, () -> atividadeDAO.contarAtividadesDoDia(hoje)) > 0;
+        registroDoUltimoDia.corrigir(atividadeDAO::buscarUltimoDiaComAtividade);
+        return houve;
+    }
+
+    /**
+     * Nome de métrica de cada valor do enum (prefixo + nome do valor).
+     */
+    private static <T extends Enum<T>> Map<T, String> nomesPorTipo(String prefixo, Class<T> tipos) {
+        Map<T, String> nomes = new EnumMap<>(tipos);
+        for (T tipo : tipos.getEnumConstants()) {
+            nomes.put(tipo, prefixo + tipo);
+        }
+        return nomes;
     }
 }
@@ -0,0 +1,87 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.CatalogoDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.network.CatalogoRemoto;
+import com.example.m3_desenvolvimento_mobile_extensao.network.HashDoCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.DeltaCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.ManifestoCatalogo;
+
+/**
+ * Sincroniza o catálogo local usando o manifesto (versão + hash) e deltas:
+ * - Manifesto igual à cópia local: nada mais é baixado (caso mais comum).
+ * - Versão nova: baixa só o delta (adicionadas/removidas) e aplica na tabela catalogo_atividades,
+ *   depois de conferir que o hash resultante é o do manifesto.
+ * - Sem delta utilizável: pede o catálogo completo (o repositório faz o download em fluxo).
+ * - Servidor sem manifesto: o repositório segue com a busca condicional de sempre.
+ */
+class SincronizacaoDoCatalogo {
+
+    static final class Resultado {
+
+        enum Tipo {
+            SEM_MUDANCA,        // O catálogo local já é a versão do manifesto
+            DELTA_APLICADO,     // O catálogo local foi atualizado com um delta
+            CATALOGO_COMPLETO,  // É preciso baixar o catálogo inteiro (manifesto disponível para conferência)
+            SEM_MANIFESTO       // Manifesto indisponível
+        }
+
+        final Tipo tipo;
+        final ManifestoCatalogo manifesto;
+
+        private Resultado(Tipo tipo, ManifestoCatalogo manifesto) {
+            this.tipo = tipo;
+            this.manifesto = manifesto;
+        }
+    }
+
+    private final CatalogoRemoto catalogoRemoto;
+    private final CatalogoDAO catalogoDAO;
+
+    SincronizacaoDoCatalogo(CatalogoRemoto catalogoRemoto, CatalogoDAO catalogoDAO) {
+        this.catalogoRemoto = catalogoRemoto;
+        this.catalogoDAO = catalogoDAO;
+    }
+
+    /**
+     * @param versaoLocal versão da cópia local (0 se desconhecida)
+     * @param hashLocal   hash da cópia local (null se desconhecido)
+     */
+    Resultado sincronizar(long versaoLocal, String hashLocal) {
+        ManifestoCatalogo manifesto = catalogoRemoto.buscarManifesto();
+        if (manifesto == null) {
+            return new Resultado(Resultado.Tipo.SEM_MANIFESTO, null);
+        }
+        if (versaoLocal <= 0 || hashLocal == null || catalogoDAO.contarItens() == 0) {
+            return new Resultado(Resultado.Tipo.CATALOGO_COMPLETO, manifesto);
+        }
+        if (manifesto.getVersao() == versaoLocal && manifesto.getHash().equalsIgnoreCase(hashLocal)) {
+            return new Resultado(Resultado.Tipo.SEM_MUDANCA, manifesto);
+        }
+        if (manifesto.getVersao() > versaoLocal && aplicarDelta(versaoLocal, hashLocal, manifesto)) {
+            return new Resultado(Resultado.Tipo.DELTA_APLICADO, manifesto);
+        }
+        // Versão local à frente do manifesto, hash divergente ou delta indisponível
+        return new Resultado(Resultado.Tipo.CATALOGO_COMPLETO, manifesto);
+    }
+
+    private boolean aplicarDelta(long versaoLocal, String hashLocal, ManifestoCatalogo manifesto) {
+        DeltaCatalogo delta = catalogoRemoto.buscarDelta(versaoLocal, manifesto.getVersao());
+        if (delta == null) {
+            return false;
+        }
+
+        // Confere o resultado antes de tocar no banco: o hash é atualizado só com as atividades do delta
+        try {
+            long hashEsperado = HashDoCatalogo.aplicarDelta(HashDoCatalogo.ler(hashLocal),
+                    delta.getAdicionadas(), delta.getRemovidas());
+            if (hashEsperado != HashDoCatalogo.ler(manifesto.getHash())) {
+                return false;
+            }
+            catalogoDAO.aplicarDelta(delta.getRemovidas(), delta.getAdicionadas());
+            return true;
+        } catch (NumberFormatException | IllegalStateException e) {
+            // Hash em formato inválido ou removida que não existe localmente: baixa o catálogo completo
+            return false;
+        }
+    }
+}
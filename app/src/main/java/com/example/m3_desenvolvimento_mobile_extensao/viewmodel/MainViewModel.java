@@ -1,22 +1,44 @@
 package com.example.m3_desenvolvimento_mobile_extensao.viewmodel;
 
 import android.app.Application;
+import android.net.Uri;
+import android.util.Log;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.AndroidViewModel;
 import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Observer;
+import androidx.lifecycle.Transformations;
+import androidx.lifecycle.ViewModelKt;
+import androidx.paging.Pager;
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingData;
+import androidx.paging.PagingDataTransforms;
+import androidx.paging.PagingLiveData;
+
+import com.example.m3_desenvolvimento_mobile_extensao.DependenciasDoApp;
+import com.example.m3_desenvolvimento_mobile_extensao.MainApplication;
+import com.example.m3_desenvolvimento_mobile_extensao.adapter.LinhaHistorico;
+import com.example.m3_desenvolvimento_mobile_extensao.adapter.MontadorLinhasHistorico;
 
 import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.BuscaNoHistorico;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.DiasEpoch;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.HistoricoPagingSource;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.ResumoDiario;
 import com.example.m3_desenvolvimento_mobile_extensao.repositorio.RepositorioAtividades;
+import com.example.m3_desenvolvimento_mobile_extensao.worker.AgendadorDeLembretes;
 
-import java.util.ArrayList;
-import java.util.Calendar;
-import java.util.Collections;
+import java.io.FileNotFoundException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.Date;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
-import java.util.concurrent.TimeUnit;
+import java.util.Objects;
+import java.util.concurrent.Executor;
 
 /**
  * ViewModel principal que conecta a interface com o repositório de dados.
@@ -31,16 +53,56 @@ public class MainViewModel extends AndroidViewModel {
     private final RepositorioAtividades repository;
     private final LiveData<List<AtividadeRealizada>> historicoDeAtividades;
     private final LiveData<String> atividadeDoDia;
+    private final LiveData<ResumoDiario> resumoMaisRecente;
     private final MutableLiveData<String> categoriaDoUsuario = new MutableLiveData<>();
+    private final Observer<ResumoDiario> observadorDoResumo = this::calcularCategoria;
+
+    // Dia (epoch local) considerado "hoje" pela tela; muda quando o app percebe a virada do dia
+    private final MutableLiveData<Long> diaAtual = new MutableLiveData<>(DiasEpoch.hoje());
+    private final LiveData<Boolean> atividadeDeHojeConcluida;
+
+    // Mensagem de andamento da exportação/importação do histórico, exibida na tela de histórico
+    private final MutableLiveData<String> progressoBackup = new MutableLiveData<>();
+
+    // Quantidade de itens carregados por página na tela de histórico
+    private static final int TAMANHO_PAGINA_HISTORICO = 30;
+    // Máximo de atividades mantidas em memória pelo Paging; ao passar disso, as páginas mais distantes
+    // da posição atual são descartadas (e recarregadas se o usuário voltar a elas)
+    private static final int MAXIMO_EM_MEMORIA_HISTORICO = TAMANHO_PAGINA_HISTORICO * 5;
+
+    // Histórico paginado (criado sob demanda, apenas pela tela de histórico)
+    private LiveData<PagingData<LinhaHistorico>> historicoPaginado;
+
+    // Busca aplicada ao histórico paginado; null exibe o histórico completo
+    private final MutableLiveData<BuscaNoHistorico> buscaNoHistorico = new MutableLiveData<>(null);
+
+    // Histórico completo já convertido em linhas de exibição (modo lista, criado sob demanda)
+    private MediatorLiveData<List<LinhaHistorico>> linhasDoHistorico;
+
+    // Thread única do app (DependenciasDoApp) onde as atividades são convertidas em linhas de exibição
+    // (datas formatadas, cabeçalhos). O montador só é usado nessa thread, pois reaproveita formatadores
+    // de data que não são thread-safe.
+    private final Executor apresentacaoExecutor;
+    private final MontadorLinhasHistorico montadorDeLinhas = new MontadorLinhasHistorico();
 
     public MainViewModel(@NonNull Application application) {
         super(application);
-        repository = new RepositorioAtividades(application);
+        DependenciasDoApp dependencias = ((MainApplication) application).getDependencias();
+        repository = dependencias.getRepositorio();
+        apresentacaoExecutor = dependencias.getApresentacaoExecutor();
         this.historicoDeAtividades = repository.getTodasAtividades();
         this.atividadeDoDia = repository.getAtividadeDoDia();
+        this.resumoMaisRecente = repository.getResumoMaisRecente();
+        this.atividadeDeHojeConcluida = Transformations.switchMap(diaAtual, repository::getAtividadeFeitaNoDia);
 
-        // Observa mudanças no histórico para recalcular a categoria automaticamente
-        this.historicoDeAtividades.observeForever(this::calcularCategoria);
+        // Observa o resumo do dia mais recente para recalcular a categoria automaticamente
+        this.resumoMaisRecente.observeForever(observadorDoResumo);
+    }
+
+    @Override
+    protected void onCleared() {
+        super.onCleared();
+        resumoMaisRecente.removeObserver(observadorDoResumo);
     }
 
     public LiveData<String> getAtividadeDoDia() {
@@ -51,94 +113,202 @@ public class MainViewModel extends AndroidViewModel {
         return categoriaDoUsuario;
     }
 
+    /**
+     * true quando já existe atividade confirmada hoje. Vem de uma consulta indexada que o Room
+     * reemite a cada inserção, então a tela não precisa percorrer o histórico para decidir o botão.
+     */
+    public LiveData<Boolean> getAtividadeDeHojeConcluida() {
+        return atividadeDeHojeConcluida;
+    }
+
     public LiveData<List<AtividadeRealizada>> getHistoricoDeAtividades() {
         return historicoDeAtividades;
     }
 
+    /**
+     * Histórico completo como linhas de exibição, agrupadas por mês (modo lista).
+     * A conversão (formatação de datas e contagem por mês) acontece fora da thread principal.
+     */
+    public LiveData<List<LinhaHistorico>> getLinhasDoHistorico() {
+        if (linhasDoHistorico == null) {
+            linhasDoHistorico = new MediatorLiveData<>();
+            linhasDoHistorico.addSource(historicoDeAtividades, atividades ->
+                    apresentacaoExecutor.execute(() ->
+                            linhasDoHistorico.postValue(montadorDeLinhas.montar(atividades))));
+        }
+        return linhasDoHistorico;
+    }
+
+    /**
+     * Histórico em páginas: no máximo MAXIMO_EM_MEMORIA_HISTORICO atividades (em volta da posição
+     * visível) ficam em memória, independentemente do tamanho da tabela ou de quanto o usuário rolou.
+     * Cada nova busca (ver buscarNoHistorico) troca o Pager por um que lê só os resultados.
+     * O cachedIn fica fora da troca, aplicado uma única vez: ele mantém as páginas já carregadas enquanto
+     * o ViewModel existir (ex: ao girar a tela) e encerra o cache da busca anterior quando chega a próxima.
+     */
+    public LiveData<PagingData<LinhaHistorico>> getHistoricoPaginado() {
+        if (historicoPaginado == null) {
+            LiveData<PagingData<LinhaHistorico>> paginasDaBusca = Transformations.switchMap(buscaNoHistorico, busca -> {
+                Pager<HistoricoPagingSource.Chave, AtividadeRealizada> pager = new Pager<>(
+                        new PagingConfig(TAMANHO_PAGINA_HISTORICO, TAMANHO_PAGINA_HISTORICO, false,
+                                TAMANHO_PAGINA_HISTORICO * 3, MAXIMO_EM_MEMORIA_HISTORICO),
+                        () -> repository.criarFonteDoHistoricoPaginado(busca));
+                return Transformations.map(PagingLiveData.getLiveData(pager),
+                        pagina -> montarLinhasPaginadas(pagina, busca));
+            });
+            historicoPaginado = PagingLiveData.cachedIn(paginasDaBusca, ViewModelKt.getViewModelScope(this));
+        }
+        return historicoPaginado;
+    }
+
+    /**
+     * Filtra o histórico paginado pelo texto digitado e pelo período (últimos N dias; 0 = todo o período).
+     * Texto sem nenhuma palavra volta ao histórico completo. Repetir a mesma busca não recarrega a lista.
+     */
+    public void buscarNoHistorico(String texto, int periodoEmDias) {
+        long diaInicial = periodoEmDias > 0
+                ? DiasEpoch.hoje() - periodoEmDias + 1
+                : BuscaNoHistorico.PRIMEIRO_DIA;
+        BuscaNoHistorico busca = BuscaNoHistorico.criar(texto, diaInicial, BuscaNoHistorico.ULTIMO_DIA);
+        if (!Objects.equals(busca, buscaNoHistorico.getValue())) {
+            buscaNoHistorico.setValue(busca);
+        }
+    }
+
+    /**
+     * Converte cada página em linhas de exibição e insere um cabeçalho sempre que o mês muda.
+     * Tudo roda no apresentacaoExecutor; a quantidade do mês vem de uma contagem indexada no banco,
+     * já que a página carregada pode ter só parte das atividades daquele mês.
+     * Durante uma busca, o cabeçalho conta apenas os resultados daquele mês.
+     */
+    private PagingData<LinhaHistorico> montarLinhasPaginadas(PagingData<AtividadeRealizada> pagina,
+                                                             @Nullable BuscaNoHistorico busca) {
+        PagingData<LinhaHistorico> linhas =
+                PagingDataTransforms.map(pagina, apresentacaoExecutor, montadorDeLinhas::paraLinha);
+        return PagingDataTransforms.insertSeparators(linhas, apresentacaoExecutor, (antes, depois) -> {
+            if (depois == null || (antes != null && antes.chaveMes == depois.chaveMes)) {
+                return null;
+            }
+            long primeiroDia = montadorDeLinhas.primeiroDiaDoMes(depois.chaveMes);
+            long ultimoDia = montadorDeLinhas.ultimoDiaDoMes(depois.chaveMes);
+            int quantidade = busca == null
+                    ? repository.contarAtividadesEntreDiasSync(primeiroDia, ultimoDia)
+                    : repository.contarResultadosDaBuscaSync(busca, primeiroDia, ultimoDia);
+            return montadorDeLinhas.cabecalho(depois.chaveMes, quantidade);
+        });
+    }
+
     /**
      * Confirma que o usuário realizou a atividade do dia atual
-     * e salva no banco com a data/hora atual.
+     * e salva no banco com a data/hora atual. Os lembretes que restavam hoje são cancelados.
      */
     public void confirmarAtividadeRealizada() {
         String descricao = atividadeDoDia.getValue();
         if (descricao != null && !descricao.isEmpty()) {
             AtividadeRealizada novaAtividade = new AtividadeRealizada(descricao, new Date());
             repository.inserir(novaAtividade);
+            AgendadorDeLembretes.pularLembretesDeHoje(getApplication());
         }
     }
 
-    /**
-     * Força a busca de uma nova atividade do dia (da API ou do cache)
-     */
-    public void buscarNovaAtividade() {
-        repository.buscarNovaAtividadeDoDia();
+    public LiveData<String> getProgressoBackup() {
+        return progressoBackup;
     }
 
-    // ------------------------------------------------------------------------
-    // LÓGICA DE CATEGORIZAÇÃO DO USUÁRIO (BRONZE / PRATA / OURO / PLATINA)
-    // ------------------------------------------------------------------------
-
     /**
-     * Atualiza a categoria do usuário com base no histórico de atividades.
-     * Regras:
-     * - Platina: pelo menos 10 dias consecutivos com atividades
-     * - Ouro: 7 ou mais atividades
-     * - Prata: 3 a 6 atividades
-     * - Bronze: menos de 3 atividades
+     * Exporta o histórico para o arquivo escolhido pelo usuário (Storage Access Framework).
      */
-    private void calcularCategoria(List<AtividadeRealizada> historico) {
-        if (historico == null || historico.isEmpty()) {
-            categoriaDoUsuario.setValue("Bronze");
+    public void exportarHistorico(Uri destino) {
+        OutputStream saida;
+        try {
+            saida = getApplication().getContentResolver().openOutputStream(destino);
+        } catch (FileNotFoundException e) {
+            saida = null;
+        }
+        if (saida == null) {
+            progressoBackup.setValue("Não foi possível abrir o arquivo de exportação.");
             return;
         }
 
-        int totalAtividades = historico.size();
-
-        if (totalAtividades >= 10 && temDezDiasConsecutivos(historico)) {
-            categoriaDoUsuario.setValue("Platina");
-        } else if (totalAtividades >= 7) {
-            categoriaDoUsuario.setValue("Ouro");
-        } else if (totalAtividades >= 3) {
-            categoriaDoUsuario.setValue("Prata");
-        } else {
-            categoriaDoUsuario.setValue("Bronze");
-        }
+        progressoBackup.setValue("Exportando histórico...");
+        repository.exportarHistorico(saida,
+                        linhas -> progressoBackup.postValue("Exportando... " + linhas + " atividade(s)"))
+                .whenComplete((total, erro) -> {
+                    if (erro != null) {
+                        Log.e("MainViewModel", "Falha ao exportar histórico.", erro);
+                        progressoBackup.postValue("Falha ao exportar o histórico.");
+                    } else {
+                        progressoBackup.postValue("Exportação concluída: " + total + " atividade(s).");
+                    }
+                });
     }
 
     /**
-     * Verifica se o usuário realizou atividades em 10 dias seguidos.
-     * Usa apenas a data (ignorando hora) para garantir comparações corretas.
+     * Importa um histórico exportado anteriormente, a partir do arquivo escolhido pelo usuário.
      */
-    private boolean temDezDiasConsecutivos(List<AtividadeRealizada> historico) {
-        if (historico.size() < 10) return false;
-
-        // Usa Set para garantir que datas duplicadas no mesmo dia não influenciem
-        Set<Long> diasUnicos = new HashSet<>();
-        for (AtividadeRealizada atividade : historico) {
-            diasUnicos.add(getDiaDoAno(atividade.dataConfirmacao));
+    public void importarHistorico(Uri origem) {
+        InputStream entrada;
+        try {
+            entrada = getApplication().getContentResolver().openInputStream(origem);
+        } catch (FileNotFoundException e) {
+            entrada = null;
         }
+        if (entrada == null) {
+            progressoBackup.setValue("Não foi possível abrir o arquivo de importação.");
+            return;
+        }
+
+        progressoBackup.setValue("Importando histórico...");
+        repository.importarHistorico(entrada,
+                        linhas -> progressoBackup.postValue("Importando... " + linhas + " atividade(s)"))
+                .whenComplete((total, erro) -> {
+                    if (erro != null) {
+                        Log.e("MainViewModel", "Falha ao importar histórico.", erro);
+                        progressoBackup.postValue("Falha ao importar o histórico. Verifique o arquivo.");
+                    } else {
+                        progressoBackup.postValue("Importação concluída: " + total + " atividade(s) nova(s).");
+                    }
+                });
+    }
 
-        if (diasUnicos.size() < 10) return false;
+    public boolean isModoRecomendacao() {
+        return repository.isModoRecomendacao();
+    }
 
-        List<Long> diasOrdenados = new ArrayList<>(diasUnicos);
-        Collections.sort(diasOrdenados, Collections.reverseOrder());
+    /**
+     * Liga ou desliga a recomendação da atividade do dia pelo histórico (vale a partir do próximo sorteio)
+     */
+    public void setModoRecomendacao(boolean ativo) {
+        repository.setModoRecomendacao(ativo);
+    }
 
-        for (int i = 0; i < 9; i++) {
-            long diaAtual = diasOrdenados.get(i);
-            long diaAnterior = diasOrdenados.get(i + 1);
-            if (diaAtual - diaAnterior != 1) {
-                return false;
-            }
+    /**
+     * Força a busca de uma nova atividade do dia (da API ou do cache)
+     */
+    public void buscarNovaAtividade() {
+        // Se o dia virou, a consulta de "atividade feita hoje" passa a olhar o novo dia
+        long hoje = DiasEpoch.hoje();
+        Long dia = diaAtual.getValue();
+        if (dia == null || dia != hoje) {
+            diaAtual.setValue(hoje);
         }
-
-        return true;
+        repository.buscarNovaAtividadeDoDia();
     }
 
+    // ------------------------------------------------------------------------
+    // LÓGICA DE CATEGORIZAÇÃO DO USUÁRIO (BRONZE / PRATA / OURO / PLATINA)
+    // ------------------------------------------------------------------------
+
     /**
-     * Converte uma data em um número de dias.
-     * Ignora hora/minuto/segundo.
+     * Atualiza a categoria do usuário com base no resumo do dia mais recente com atividade.
+     * O resumo já traz o total geral e a sequência de dias consecutivos que termina no dia mais recente,
+     * então o cálculo é O(1), sem percorrer o histórico. As regras ficam em MotorCategoria.categoriaPara().
      */
-    private long getDiaDoAno(Date date) {
-        return TimeUnit.MILLISECONDS.toDays(date.getTime());
+    private void calcularCategoria(ResumoDiario resumo) {
+        if (resumo == null) {
+            categoriaDoUsuario.setValue(MotorCategoria.BRONZE);
+            return;
+        }
+        categoriaDoUsuario.setValue(MotorCategoria.categoriaPara(resumo.totalAcumulado, resumo.sequencia));
     }
 }
@@ -0,0 +1,154 @@
+package com.example.m3_desenvolvimento_mobile_extensao.viewmodel;
+
+import java.util.Arrays;
+
+/**
+ * Motor incremental da categoria do usuário (Bronze, Prata, Ouro, Platina).
+ *
+ * Guarda apenas os dias distintos com atividade (dias epoch, em um long[] ordenado) e alguns contadores.
+ * Cada confirmação nova (dia igual ou posterior ao último registrado) é processada em O(1) amortizado,
+ * sem percorrer o histórico nem criar objetos; total, sequência atual e maior sequência são lidos em O(1).
+ * Dias fora de ordem (ex: importação de histórico) também são aceitos, com custo O(n).
+ *
+ * As regras ficam em categoriaPara(), usada também pelo MainViewModel a partir do resumo diário.
+ */
+public class MotorCategoria {
+
+    public static final String BRONZE = "Bronze";
+    public static final String PRATA = "Prata";
+    public static final String OURO = "Ouro";
+    public static final String PLATINA = "Platina";
+
+    // Dias consecutivos necessários para a categoria Platina
+    public static final int DIAS_CONSECUTIVOS_PLATINA = 10;
+
+    private static final int CAPACIDADE_INICIAL = 16;
+
+    // Dias distintos com atividade, em ordem crescente (apenas as posições [0, quantidadeDeDias) são válidas)
+    private long[] dias = new long[CAPACIDADE_INICIAL];
+    private int quantidadeDeDias;
+
+    private int total;
+    private int sequenciaAtual;
+    private int maiorSequencia;
+
+    /**
+     * Regras de categoria:
+     * - Platina: pelo menos 10 atividades e os 10 dias mais recentes com atividade são consecutivos
+     * - Ouro: 7 ou mais atividades
+     * - Prata: 3 a 6 atividades
+     * - Bronze: menos de 3 atividades
+     *
+     * @param total          total de atividades realizadas
+     * @param sequenciaAtual dias consecutivos que terminam no dia mais recente com atividade
+     */
+    public static String categoriaPara(int total, int sequenciaAtual) {
+        if (total >= 10 && sequenciaAtual >= DIAS_CONSECUTIVOS_PLATINA) {
+            return PLATINA;
+        } else if (total >= 7) {
+            return OURO;
+        } else if (total >= 3) {
+            return PRATA;
+        } else {
+            return BRONZE;
+        }
+    }
+
+    /**
+     * Registra uma atividade realizada no dia informado (dia epoch).
+     */
+    public void registrar(long dia) {
+        total++;
+
+        if (quantidadeDeDias > 0) {
+            long ultimoDia = dias[quantidadeDeDias - 1];
+            if (dia == ultimoDia) {
+                return; // Mais uma atividade no mesmo dia: só o total muda
+            }
+            if (dia < ultimoDia) {
+                registrarForaDeOrdem(dia);
+                return;
+            }
+        }
+
+        // Caso comum: um dia novo, depois de todos os já registrados
+        boolean consecutivo = quantidadeDeDias > 0 && dia == dias[quantidadeDeDias - 1] + 1;
+        garantirCapacidade();
+        dias[quantidadeDeDias++] = dia;
+        sequenciaAtual = consecutivo ? sequenciaAtual + 1 : 1;
+        if (sequenciaAtual > maiorSequencia) {
+            maiorSequencia = sequenciaAtual;
+        }
+    }
+
+    /**
+     * Dia anterior ao último registrado: insere na posição ordenada (se ainda não existir)
+     * e recalcula as sequências percorrendo o array uma vez.
+     */
+    private void registrarForaDeOrdem(long dia) {
+        int posicao = Arrays.binarySearch(dias, 0, quantidadeDeDias, dia);
+        if (posicao >= 0) {
+            return; // Dia já tinha atividade
+        }
+        int insercao = -posicao - 1;
+        garantirCapacidade();
+        System.arraycopy(dias, insercao, dias, insercao + 1, quantidadeDeDias - insercao);
+        dias[insercao] = dia;
+        quantidadeDeDias++;
+        recalcularSequencias();
+    }
+
+    private void recalcularSequencias() {
+        int sequencia = 0;
+        int maior = 0;
+        for (int i = 0; i < quantidadeDeDias; i++) {
+            sequencia = (i > 0 && dias[i] == dias[i - 1] + 1) ? sequencia + 1 : 1;
+            if (sequencia > maior) {
+                maior = sequencia;
+            }
+        }
+        sequenciaAtual = sequencia;
+        maiorSequencia = maior;
+    }
+
+    private void garantirCapacidade() {
+        if (quantidadeDeDias == dias.length) {
+            dias = Arrays.copyOf(dias, dias.length * 2);
+        }
+    }
+
+    /**
+     * Total de atividades registradas (incluindo várias no mesmo dia).
+     */
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * Quantidade de dias distintos com atividade.
+     */
+    public int getQuantidadeDeDias() {
+        return quantidadeDeDias;
+    }
+
+    /**
+     * Dias consecutivos com atividade que terminam no dia mais recente registrado.
+     */
+    public int getSequenciaAtual() {
+        return sequenciaAtual;
+    }
+
+    /**
+     * Maior sequência de dias consecutivos com atividade em todo o histórico.
+     */
+    public int getMaiorSequencia() {
+        return maiorSequencia;
+    }
+
+    /**
+     * Categoria atual do usuário segundo as regras de categoriaPara().
+     */
+    public String getCategoria() {
+        return categoriaPara(total, sequenciaAtual);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.m3_desenvolvimento_mobile_extensao.worker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.work.ExistingWorkPolicy;
+import androidx.work.OneTimeWorkRequest;
+import androidx.work.WorkManager;
+
+import java.util.Calendar;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Agenda o NotificationWorker para rodar uma única vez, exatamente no próximo horário de lembrete
+ * (ver HorariosDeLembrete). Ao rodar, o worker agenda o horário seguinte, então o app é acordado
+ * no máximo 4 vezes por dia, em vez de a cada 15 minutos.
+ */
+public final class AgendadorDeLembretes {
+
+    // Nome do antigo trabalho periódico de 15 minutos, cancelado na primeira execução desta versão
+    private static final String TRABALHO_PERIODICO_ANTIGO = "lembreteAtividadeUnico";
+
+    private AgendadorDeLembretes() {
+    }
+
+    /**
+     * Chamado ao abrir o app: garante que há um lembrete agendado. Se já houver, ele é mantido.
+     */
+    public static void garantirAgendamento(Context context) {
+        WorkManager workManager = WorkManager.getInstance(context);
+        workManager.cancelUniqueWork(TRABALHO_PERIODICO_ANTIGO);
+        agendar(workManager, false, ExistingWorkPolicy.KEEP);
+    }
+
+    /**
+     * Chamado pelo NotificationWorker ao terminar: agenda o próximo horário.
+     * APPEND_OR_REPLACE porque o próprio worker ainda está em execução com o mesmo nome
+     * (REPLACE o cancelaria).
+     */
+    static void agendarProximo(Context context, boolean jaFezHoje) {
+        agendar(WorkManager.getInstance(context), jaFezHoje, ExistingWorkPolicy.APPEND_OR_REPLACE);
+    }
+
+    /**
+     * Chamado quando o usuário confirma a atividade: cancela os horários que restavam hoje
+     * e agenda o primeiro lembrete de amanhã.
+     */
+    public static void pularLembretesDeHoje(Context context) {
+        agendar(WorkManager.getInstance(context), true, ExistingWorkPolicy.REPLACE);
+    }
+
+    private static void agendar(WorkManager workManager, boolean jaFezHoje, ExistingWorkPolicy politica) {
+        long atraso = HorariosDeLembrete.atrasoAteOProximoLembrete(Calendar.getInstance(), jaFezHoje);
+
+        OneTimeWorkRequest workRequest = new OneTimeWorkRequest.Builder(NotificationWorker.class)
+                .setInitialDelay(atraso, TimeUnit.MILLISECONDS)
+                .build();
+
+        workManager.enqueueUniqueWork(NotificationWorker.UNIQUE_WORK_NAME, politica, workRequest);
+        Log.d("AgendadorDeLembretes", "Próximo lembrete em " + TimeUnit.MILLISECONDS.toMinutes(atraso) + " min.");
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.m3_desenvolvimento_mobile_extensao.worker;
+
+import java.util.Calendar;
+
+/**
+ * Horários do lembrete diário (8h, 12h, 16h e 20h) e o cálculo de quanto falta para o próximo.
+ * Usado pelo AgendadorDeLembretes para agendar uma única execução do NotificationWorker por horário.
+ */
+public final class HorariosDeLembrete {
+
+    // Horas do dia em que o lembrete pode ser enviado, em ordem crescente
+    static final int[] HORAS = {8, 12, 16, 20};
+
+    private HorariosDeLembrete() {
+    }
+
+    /**
+     * Momento do próximo lembrete, estritamente depois de agora.
+     *
+     * @param agora         data/hora atual (no fuso local); não é alterada
+     * @param jaFezHoje     true se o usuário já confirmou uma atividade hoje: os horários restantes
+     *                      de hoje são pulados e o próximo lembrete é o primeiro de amanhã
+     * @return próximo horário de lembrete, em milissegundos desde 01/01/1970
+     */
+    public static long proximoLembrete(Calendar agora, boolean jaFezHoje) {
+        Calendar horario = (Calendar) agora.clone();
+        horario.set(Calendar.MINUTE, 0);
+        horario.set(Calendar.SECOND, 0);
+        horario.set(Calendar.MILLISECOND, 0);
+
+        if (!jaFezHoje) {
+            for (int hora : HORAS) {
+                horario.set(Calendar.HOUR_OF_DAY, hora);
+                if (horario.after(agora)) {
+                    return horario.getTimeInMillis();
+                }
+            }
+        }
+
+        // Primeiro horário de amanhã (Calendar cuida da virada de mês/ano e do horário de verão)
+        horario.set(Calendar.HOUR_OF_DAY, HORAS[0]);
+        horario.add(Calendar.DAY_OF_MONTH, 1);
+        return horario.getTimeInMillis();
+    }
+
+    /**
+     * Milissegundos de agora até o próximo lembrete (ver proximoLembrete).
+     */
+    public static long atrasoAteOProximoLembrete(Calendar agora, boolean jaFezHoje) {
+        return proximoLembrete(agora, jaFezHoje) - agora.getTimeInMillis();
+    }
+}
@@ -1,6 +1,5 @@
 package com.example.m3_desenvolvimento_mobile_extensao.worker;
 
-import android.app.Application;
 import android.app.NotificationChannel;
 import android.app.NotificationManager;
 import android.content.Context;
@@ -15,67 +14,90 @@ import androidx.core.app.NotificationManagerCompat;
 import androidx.work.Worker;
 import androidx.work.WorkerParameters;
 
+import com.example.m3_desenvolvimento_mobile_extensao.DependenciasDoApp;
+import com.example.m3_desenvolvimento_mobile_extensao.MainApplication;
 import com.example.m3_desenvolvimento_mobile_extensao.R;
-import com.example.m3_desenvolvimento_mobile_extensao.repositorio.RepositorioAtividades;
-
-import java.util.Calendar;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.DiasEpoch;
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
 
 /**
  * NotificationWorker é uma classe que herda de Worker, usada para
  * executar tarefas em segundo plano de forma agendada usando o WorkManager.
- * Neste caso, ele verifica em horários específicos se o usuário tem atividades do dia
- * e envia uma notificação se não houver nenhuma registrada ainda.
+ * Neste caso, ele roda em cada horário de lembrete (agendado pelo AgendadorDeLembretes), verifica
+ * se o usuário tem atividades do dia e envia uma notificação se não houver nenhuma registrada ainda.
  */
 public class NotificationWorker extends Worker {
 
-    public static final String UNIQUE_WORK_NAME = "lembreteAtividadeUnico";
+    public static final String UNIQUE_WORK_NAME = "lembreteHorarioUnico";
 
     private static final String CHANNEL_ID = "lembrete_atividades_channel";
 
+    // Nomes das métricas do worker (duração, lembretes sem atividade no dia e uso do registro do último dia)
+    private static final String LATENCIA_WORKER = "worker.lembrete";
+    private static final String LEMBRETES_SEM_ATIVIDADE = "worker.lembrete.semAtividade";
+    private static final String CACHE_REGISTRO = "registroDoUltimoDia";
+
     public NotificationWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
         super(context, workerParams);
     }
 
     /**
-     * Método principal chamado quando a tarefa agendada é executada.
-     * Aqui é feita a verificação do horário e da quantidade de atividades registradas para o dia.
+     * Método principal chamado quando a tarefa agendada é executada (já no horário do lembrete).
+     * Aqui é feita a verificação da quantidade de atividades registradas para o dia.
      * Se nenhuma atividade estiver registrada, uma notificação é enviada.
+     * Em seguida, o próximo horário é agendado: o seguinte de hoje ou, se já houver atividade, o de amanhã.
+     * O agendamento fica no finally: cada lembrete agenda o seguinte, então uma execução que falhasse
+     * antes dele desligaria todos os lembretes até o próximo garantirAgendamento.
      */
     @NonNull
     @Override
     public Result doWork() {
-        Calendar now = Calendar.getInstance();
-        int hour = now.get(Calendar.HOUR_OF_DAY);
-        int minute = now.get(Calendar.MINUTE);
-
-        int[] horasAlvo = {8, 12, 16, 20};
-        boolean horaCorreta = false;
-
-        for (int h : horasAlvo) {
-            if (h == hour && minute <= 16) {
-                horaCorreta = true;
-                break;
+        // Se a verificação falhar, o próximo é o horário seguinte de hoje (que confere de novo)
+        boolean houveAtividadeHoje = false;
+        Metricas metricas = null;
+        long inicio = 0;
+        try {
+            DependenciasDoApp dependencias = ((MainApplication) getApplicationContext()).getDependencias();
+            metricas = dependencias.getMetricas();
+            inicio = metricas.iniciar();
+            houveAtividadeHoje = verificarENotificar(dependencias, metricas);
+        } catch (RuntimeException e) {
+            // Termina com sucesso mesmo assim: o próximo horário é encadeado a esta execução,
+            // e uma falha aqui cancelaria também ele
+            Log.e("NotificationWorker", "Erro ao verificar as atividades de hoje.", e);
+        } finally {
+            AgendadorDeLembretes.agendarProximo(getApplicationContext(), houveAtividadeHoje);
+            if (metricas != null) {
+                metricas.registrarDuracao(LATENCIA_WORKER, inicio);
             }
         }
+        return Result.success();
+    }
 
-        if (!horaCorreta) {
-            Log.d("NotificationWorker", "Não é hora da notificação (" + hour + "h)");
-            return Result.success();
-        }
-
-        // Instancia o repositório de atividades e conta as atividades do dia atual
-        RepositorioAtividades repo = new RepositorioAtividades((Application) getApplicationContext());
-        int atividadesHoje = repo.contarAtividadesDeHojeSync();
-        Log.d("NotificationWorker", "Verificando atividades: " + atividadesHoje);
-
-        if (atividadesHoje == 0) {
-            Log.d("NotificationWorker", "Sem atividades hoje. Enviando notificação." + hour + minute);
+    /**
+     * Confere se já houve atividade hoje e, se não houve, envia a notificação.
+     *
+     * @return true se já houve atividade hoje
+     */
+    private boolean verificarENotificar(DependenciasDoApp dependencias, Metricas metricas) {
+        // Primeiro consulta o registro do último dia com atividade (sem abrir o banco);
+        // o repositório só é usado se o registro não existir ou não for confiável
+        Boolean registrado = dependencias.getRegistroDoUltimoDia().houveAtividadeNoDia(DiasEpoch.hoje());
+        metricas.contarCache(CACHE_REGISTRO, registrado != null);
+        boolean houveAtividadeHoje = registrado != null
+                ? registrado
+                : dependencias.getRepositorio().houveAtividadeHojeSync();
+        Log.d("NotificationWorker", "Verificando atividades: " + (houveAtividadeHoje ? "há" : "nenhuma")
+                + (registrado != null ? " (registro)" : " (banco)"));
+
+        if (!houveAtividadeHoje) {
+            Log.d("NotificationWorker", "Sem atividades hoje. Enviando notificação.");
+            metricas.contar(LEMBRETES_SEM_ATIVIDADE);
             sendNotification(getApplicationContext());
         } else {
             Log.d("NotificationWorker", "Atividades já registradas. Não enviaremos notificação.");
         }
-
-        return Result.success();
+        return houveAtividadeHoje;
     }
 
     /**
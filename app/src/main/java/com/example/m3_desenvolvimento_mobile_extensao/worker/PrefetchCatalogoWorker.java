@@ -0,0 +1,49 @@
+package com.example.m3_desenvolvimento_mobile_extensao.worker;
+
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.work.Worker;
+import androidx.work.WorkerParameters;
+
+import com.example.m3_desenvolvimento_mobile_extensao.DependenciasDoApp;
+import com.example.m3_desenvolvimento_mobile_extensao.MainApplication;
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+
+/**
+ * PrefetchCatalogoWorker atualiza o catálogo de atividades em segundo plano e já sorteia
+ * a atividade do dia seguinte (e a de hoje, se ainda não houver).
+ * Assim, ao abrir o app, a atividade do dia é lida localmente, sem esperar pela rede.
+ *
+ * É agendado pelo MainApplication para rodar apenas em rede não tarifada (Wi-Fi)
+ * e com a bateria em nível adequado.
+ */
+public class PrefetchCatalogoWorker extends Worker {
+
+    public static final String UNIQUE_WORK_NAME = "prefetchCatalogoUnico";
+
+    private static final String LATENCIA_WORKER = "worker.prefetch";
+    private static final String EXECUCOES_SEM_CATALOGO = "worker.prefetch.semCatalogo";
+
+    public PrefetchCatalogoWorker(@NonNull Context context, @NonNull WorkerParameters workerParams) {
+        super(context, workerParams);
+    }
+
+    @NonNull
+    @Override
+    public Result doWork() {
+        DependenciasDoApp dependencias = ((MainApplication) getApplicationContext()).getDependencias();
+        Metricas metricas = dependencias.getMetricas();
+
+        if (metricas.medir(LATENCIA_WORKER, dependencias.getRepositorio()::prepararProximasAtividadesSync)) {
+            Log.d("PrefetchCatalogoWorker", "Catálogo atualizado e próxima atividade preparada.");
+            return Result.success();
+        }
+
+        // Ainda não há catálogo local (ex: primeira execução sem acesso à API): tenta de novo mais tarde
+        metricas.contar(EXECUCOES_SEM_CATALOGO);
+        Log.d("PrefetchCatalogoWorker", "Não foi possível preparar a próxima atividade. Nova tentativa agendada.");
+        return Result.retry();
+    }
+}
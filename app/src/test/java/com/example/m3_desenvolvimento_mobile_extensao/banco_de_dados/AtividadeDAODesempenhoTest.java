@@ -0,0 +1,302 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import android.app.Application;
+import android.database.Cursor;
+import android.os.Looper;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.Observer;
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.Assert.*;
+import static org.robolectric.Shadows.shadowOf;
+
+/**
+ * Testes de desempenho do AtividadeDAO sobre um histórico sintético, com o SQLite real do Robolectric.
+ *
+ * Cada método do DAO é executado uma vez. As instruções SQL que ele gerou são
+ * capturadas pelo QueryCallback do Room e analisadas com EXPLAIN QUERY PLAN: nenhuma pode
+ * percorrer atividades_realizadas ou catalogo_atividades inteiras sem índice, e as páginas
+ * do histórico não podem ordenar em uma árvore temporária.
+ * Um método novo no DAO sem caso aqui faz o teste falhar, para que a consulta dele também seja conferida.
+ *
+ * Sem ANALYZE o SQLite escolhe o plano por estimativas fixas, não pela quantidade real de linhas, então
+ * um histórico pequeno basta para conferir os planos em todo build. Para medir os tempos de cada método
+ * em um histórico grande, informe o tamanho: -Ddesempenho.linhas=100000 (ou 1000000).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class AtividadeDAODesempenhoTest {
+
+    // Com a propriedade informada, os tempos são medidos e impressos
+    private static final boolean MEDIR_TEMPOS = System.getProperty("desempenho.linhas") != null;
+    private static final int LINHAS = Integer.getInteger("desempenho.linhas", 2_000);
+    private static final int TAMANHO_DO_CATALOGO = 5_000;
+    private static final long HOJE = 20_000;
+
+    // Tabelas grandes: uma varredura completa delas cresce com o histórico (ou com o catálogo)
+    private static final List<String> TABELAS_GRANDES = Arrays.asList("atividades_realizadas", "catalogo_atividades");
+
+    // Varredura sem índice: "SCAN tabela" (ou "SCAN TABLE tabela" em SQLite antigo), com ou sem apelido
+    private static final Pattern VARREDURA = Pattern.compile("^SCAN (?:TABLE )?(\\w+)(?: AS \\w+)?$");
+
+    // Tabela e apelido depois de FROM/JOIN, para saber a qual tabela um "SCAN c" se refere
+    private static final Pattern TABELA_COM_APELIDO = Pattern.compile(
+            "(?:FROM|JOIN)\\s+`?(\\w+)`?(?:\\s+(?:AS\\s+)?(\\w+))?", Pattern.CASE_INSENSITIVE);
+
+    // Métodos que alimentam a paginação do histórico: devem sair na ordem do índice, sem ordenação extra
+    private static final Set<String> PAGINADOS = new HashSet<>(Arrays.asList(
+            "buscarPrimeiraPaginaDoHistorico", "buscarPaginaDoHistoricoApos", "buscarPaginaDoHistoricoAntes",
+            "abrirCursorDoHistorico"));
+
+    private AppDatabase db;
+    private AtividadeDAO dao;
+
+    // Instruções executadas pelo caso em andamento (SQL e argumentos)
+    private final List<Instrucao> instrucoes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .setQueryCallback((sql, argumentos) ->
+                        instrucoes.add(new Instrucao(sql, argumentos)), Runnable::run)
+                .build();
+        dao = db.atividadeDAO();
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void todoMetodoDoDAO_temUmCasoDeDesempenho() {
+        Set<String> semCaso = new TreeSet<>();
+        for (Method metodo : AtividadeDAO.class.getDeclaredMethods()) {
+            if (!metodo.isSynthetic() && !casos().containsKey(metodo.getName())) {
+                semCaso.add(metodo.getName());
+            }
+        }
+        assertTrue("Métodos do AtividadeDAO sem caso em AtividadeDAODesempenhoTest.casos(): " + semCaso,
+                semCaso.isEmpty());
+    }
+
+    @Test
+    public void historicoGrande_consultasUsamIndicesEPaginasNaoOrdenam() {
+        long inicio = System.nanoTime();
+        GeradorDeHistorico gerador = new GeradorDeHistorico(7);
+        gerador.preencherCatalogo(db.catalogoDAO(), TAMANHO_DO_CATALOGO);
+        gerador.preencherHistorico(db.getOpenHelper().getWritableDatabase(), LINHAS, TAMANHO_DO_CATALOGO, HOJE);
+        if (MEDIR_TEMPOS) {
+            System.out.printf(Locale.ROOT, "Histórico sintético: %d linhas em %.0f ms%n", LINHAS, milis(inicio));
+        }
+
+        List<String> problemas = new ArrayList<>();
+        for (Map.Entry<String, Runnable> caso : casos().entrySet()) {
+            instrucoes.clear();
+            inicio = System.nanoTime();
+            caso.getValue().run();
+            double tempo = milis(inicio);
+
+            List<Instrucao> executadas = new ArrayList<>(instrucoes);
+            if (MEDIR_TEMPOS) {
+                System.out.printf(Locale.ROOT, "%-34s %9.2f ms  (%d instruções)%n",
+                        caso.getKey(), tempo, executadas.size());
+            }
+            for (Instrucao instrucao : executadas) {
+                conferirPlano(caso.getKey(), instrucao, problemas);
+            }
+        }
+        assertTrue("Consultas sem índice:\n" + String.join("\n", problemas), problemas.isEmpty());
+    }
+
+    /**
+     * Um caso por método do AtividadeDAO, com argumentos típicos do app (dias recentes, páginas de 30 itens).
+     * Os métodos de escrita rodam sobre o histórico já gerado; os dias usados não atrapalham as leituras.
+     */
+    private Map<String, Runnable> casos() {
+        Map<String, Runnable> casos = new LinkedHashMap<>();
+        Date agora = new Date(HOJE * 86_400_000L + 43_200_000L);
+
+        casos.put("buscarTodas", () -> ler(dao.buscarTodas()));
+        casos.put("buscarPrimeiraPaginaDoHistorico", () -> dao.buscarPrimeiraPaginaDoHistorico(30));
+        casos.put("buscarPaginaDoHistoricoApos", () -> {
+            List<AtividadeRealizada> pagina = dao.buscarPrimeiraPaginaDoHistorico(30);
+            AtividadeRealizada ultima = pagina.get(pagina.size() - 1);
+            dao.buscarPaginaDoHistoricoApos(ultima.dataConfirmacao.getTime(), ultima.id, 30);
+        });
+        casos.put("buscarPaginaDoHistoricoAntes", () -> {
+            List<AtividadeRealizada> pagina = dao.buscarPrimeiraPaginaDoHistorico(300);
+            AtividadeRealizada ultima = pagina.get(pagina.size() - 1);
+            assertEquals(30, dao.buscarPaginaDoHistoricoAntes(ultima.dataConfirmacao.getTime(), ultima.id, 30).size());
+        });
+        casos.put("abrirCursorDoHistorico", () -> {
+            try (Cursor cursor = dao.abrirCursorDoHistorico()) {
+                while (cursor.moveToNext()) {
+                    cursor.getString(0);
+                }
+            }
+        });
+        // Busca no histórico: prefixo encontrado em ~2% das atividades, no último ano
+        BuscaNoHistorico busca = BuscaNoHistorico.criar("atividade 12", HOJE - 364, HOJE);
+        casos.put("buscarPrimeiraPaginaDaBusca", () -> assertFalse(dao.buscarPrimeiraPaginaDaBusca(
+                busca.consulta, busca.diaInicial, busca.diaFinal, 30).isEmpty()));
+        casos.put("buscarPaginaDaBuscaApos", () -> {
+            List<AtividadeRealizada> pagina = dao.buscarPrimeiraPaginaDaBusca(
+                    busca.consulta, busca.diaInicial, busca.diaFinal, 30);
+            AtividadeRealizada ultima = pagina.get(pagina.size() - 1);
+            dao.buscarPaginaDaBuscaApos(busca.consulta, busca.diaInicial, busca.diaFinal,
+                    ultima.dataConfirmacao.getTime(), ultima.id, 30);
+        });
+        casos.put("buscarPaginaDaBuscaAntes", () -> {
+            List<AtividadeRealizada> pagina = dao.buscarPrimeiraPaginaDaBusca(
+                    busca.consulta, busca.diaInicial, busca.diaFinal, 60);
+            AtividadeRealizada ultima = pagina.get(pagina.size() - 1);
+            dao.buscarPaginaDaBuscaAntes(busca.consulta, busca.diaInicial, busca.diaFinal,
+                    ultima.dataConfirmacao.getTime(), ultima.id, 30);
+        });
+        casos.put("contarResultadosDaBusca", () -> dao.contarResultadosDaBusca(
+                busca.consulta, HOJE - 29, HOJE));
+        casos.put("buscarAtividadesEntreDias", () -> dao.buscarAtividadesEntreDias(HOJE - 9, HOJE));
+        casos.put("contarAtividadesDoDia", () -> dao.contarAtividadesDoDia(HOJE));
+        casos.put("contarAtividadesEntreDias", () -> dao.contarAtividadesEntreDias(HOJE - 29, HOJE));
+        casos.put("observarSeHouveAtividadeNoDia", () -> ler(dao.observarSeHouveAtividadeNoDia(HOJE)));
+        casos.put("observarResumoMaisRecente", () -> ler(dao.observarResumoMaisRecente()));
+        casos.put("buscarUltimoDiaComAtividade", () -> dao.buscarUltimoDiaComAtividade());
+        casos.put("buscarResumoDoDia", () -> dao.buscarResumoDoDia(HOJE - 1));
+        casos.put("buscarUltimoResumoAntesDe", () -> dao.buscarUltimoResumoAntesDe(HOJE));
+        casos.put("buscarFrequenciasNoCatalogo", () -> dao.buscarFrequenciasNoCatalogo());
+
+        casos.put("inserir", () -> dao.inserir(new AtividadeRealizada(GeradorDeHistorico.textoDaAtividade(1), agora)));
+        casos.put("inserirLinha", () -> dao.inserirLinha(new AtividadeRealizada("Só a linha", agora)));
+        casos.put("inserirTodas", () -> {
+            List<AtividadeRealizada> lote = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                lote.add(new AtividadeRealizada(GeradorDeHistorico.textoDaAtividade(i), agora));
+            }
+            dao.inserirTodas(lote);
+        });
+        casos.put("existeAtividade", () -> dao.existeAtividade(agora.getTime(), GeradorDeHistorico.textoDaAtividade(1)));
+        casos.put("inserirNovas", () -> {
+            List<AtividadeRealizada> lote = dao.buscarPrimeiraPaginaDoHistorico(500);
+            lote.add(new AtividadeRealizada("Nova no backup", new Date(agora.getTime() + 1)));
+            assertEquals(1, dao.inserirNovas(lote));
+        });
+        casos.put("inserirLinhas", () -> dao.inserirLinhas(Collections.singletonList(
+                new AtividadeRealizada("Só as linhas", agora))));
+        // Dia antigo (como numa importação): corrige o total acumulado de todos os dias seguintes
+        casos.put("registrarNoResumo", () -> dao.registrarNoResumo(HOJE - LINHAS, 1));
+        casos.put("inserirResumo", () -> dao.inserirResumo(new ResumoDiario(HOJE + 10, 1, 1, 1)));
+        casos.put("somarAoDia", () -> dao.somarAoDia(HOJE, 1));
+        casos.put("somarAoTotalAcumuladoApos", () -> dao.somarAoTotalAcumuladoApos(HOJE - 30, 1));
+        casos.put("atualizarSequencia", () -> dao.atualizarSequencia(HOJE + 10, 1));
+        casos.put("registrarNaFrequencia", () -> dao.registrarNaFrequencia("Atividade nova", HOJE));
+        casos.put("inserirFrequencia", () -> dao.inserirFrequencia(new FrequenciaAtividade("Outra nova", 1, HOJE)));
+        casos.put("somarAFrequencia", () -> dao.somarAFrequencia(GeradorDeHistorico.textoDaAtividade(2), HOJE));
+        return casos;
+    }
+
+    /**
+     * Confere o plano de uma instrução de leitura/alteração (INSERT e controle de transação não têm busca).
+     */
+    private void conferirPlano(String metodo, Instrucao instrucao, List<String> problemas) {
+        String sql = instrucao.sql.trim();
+        String comando = sql.substring(0, Math.min(6, sql.length())).toUpperCase(Locale.ROOT);
+        if (!comando.equals("SELECT") && !comando.equals("UPDATE") && !comando.equals("DELETE")) {
+            return;
+        }
+
+        Map<String, String> apelidos = apelidos(sql);
+        for (String passo : explicar(instrucao)) {
+            Matcher varredura = VARREDURA.matcher(passo);
+            if (varredura.matches() && TABELAS_GRANDES.contains(apelidos.getOrDefault(varredura.group(1),
+                    varredura.group(1)))) {
+                problemas.add(metodo + ": " + passo + " em \"" + sql + "\"");
+            }
+            if (PAGINADOS.contains(metodo) && passo.contains("TEMP B-TREE")) {
+                problemas.add(metodo + ": " + passo + " em \"" + sql + "\"");
+            }
+        }
+    }
+
+    /**
+     * Apelido -> tabela, para os apelidos usados no SQL (ex: "frequencia_atividades f").
+     */
+    private static Map<String, String> apelidos(String sql) {
+        Map<String, String> apelidos = new HashMap<>();
+        Matcher tabela = TABELA_COM_APELIDO.matcher(sql);
+        while (tabela.find()) {
+            if (tabela.group(2) != null) {
+                apelidos.put(tabela.group(2), tabela.group(1));
+            }
+        }
+        return apelidos;
+    }
+
+    private List<String> explicar(Instrucao instrucao) {
+        SupportSQLiteDatabase database = db.getOpenHelper().getReadableDatabase();
+        List<String> passos = new ArrayList<>();
+        try (Cursor plano = database.query(new SimpleSQLiteQuery("EXPLAIN QUERY PLAN " + instrucao.sql,
+                instrucao.argumentos.toArray()))) {
+            int detalhe = plano.getColumnIndexOrThrow("detail");
+            while (plano.moveToNext()) {
+                passos.add(plano.getString(detalhe));
+            }
+        }
+        return passos;
+    }
+
+    /**
+     * Lê o valor atual de um LiveData do Room: observa, deixa a consulta rodar e entrega o resultado.
+     */
+    private static <T> T ler(LiveData<T> liveData) {
+        Observer<T> observador = valor -> { };
+        liveData.observeForever(observador);
+        shadowOf(Looper.getMainLooper()).idle();
+        T valor = liveData.getValue();
+        liveData.removeObserver(observador);
+        return valor;
+    }
+
+    private static double milis(long inicioNanos) {
+        return (System.nanoTime() - inicioNanos) / 1_000_000.0;
+    }
+
+    private static final class Instrucao {
+        final String sql;
+        final List<Object> argumentos;
+
+        Instrucao(String sql, List<Object> argumentos) {
+            this.sql = sql;
+            this.argumentos = new ArrayList<>(argumentos);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da conversão do texto digitado na busca do histórico em uma consulta FTS.
+ */
+public class BuscaNoHistoricoTest {
+
+    @Test
+    public void palavras_viramPrefixosEmMinusculas() {
+        assertEquals("ler* livro*", BuscaNoHistorico.paraConsultaFts("  Ler   LIVRO "));
+        assertEquals("caminhar* 30* minutos*", BuscaNoHistorico.paraConsultaFts("Caminhar 30 minutos"));
+        // Acentos são mantidos; o tokenizador unicode61 do índice os ignora na comparação
+        assertEquals("meditação*", BuscaNoHistorico.paraConsultaFts("Meditação"));
+    }
+
+    @Test
+    public void simbolosDaSintaxeFts_saoDescartados() {
+        assertEquals("ler* livro*", BuscaNoHistorico.paraConsultaFts("\"ler\" -livro*"));
+        assertEquals("a* b*", BuscaNoHistorico.paraConsultaFts("a:(b)"));
+        // Operadores só valem em maiúsculas; em minúsculas são palavras comuns
+        assertEquals("ler* or* near* livro*", BuscaNoHistorico.paraConsultaFts("ler OR NEAR livro"));
+    }
+
+    @Test
+    public void textoSemPalavras_naoGeraBusca() {
+        assertNull(BuscaNoHistorico.paraConsultaFts(null));
+        assertNull(BuscaNoHistorico.paraConsultaFts("   "));
+        assertNull(BuscaNoHistorico.criar("*!?", BuscaNoHistorico.PRIMEIRO_DIA, BuscaNoHistorico.ULTIMO_DIA));
+    }
+
+    @Test
+    public void palavrasAlemDoLimite_saoIgnoradas() {
+        assertEquals("a* b* c* d* e* f* g* h*", BuscaNoHistorico.paraConsultaFts("a b c d e f g h i j"));
+    }
+
+    @Test
+    public void mesmaBusca_eIgual() {
+        BuscaNoHistorico busca = BuscaNoHistorico.criar("Ler", 10, BuscaNoHistorico.ULTIMO_DIA);
+        assertEquals(busca, BuscaNoHistorico.criar("ler!", 10, BuscaNoHistorico.ULTIMO_DIA));
+        assertEquals(busca.hashCode(), BuscaNoHistorico.criar("ler!", 10, BuscaNoHistorico.ULTIMO_DIA).hashCode());
+        assertNotEquals(busca, BuscaNoHistorico.criar("ler", 11, BuscaNoHistorico.ULTIMO_DIA));
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import androidx.sqlite.db.SupportSQLiteDatabase;
+import androidx.sqlite.db.SupportSQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera um histórico sintético grande direto no SQLite, para os testes de desempenho dos DAOs.
+ *
+ * As linhas de atividades_realizadas são gravadas com um único comando compilado em uma transação
+ * (bem mais rápido que inserir uma a uma pelo DAO). As tabelas derivadas (resumo_diario e
+ * frequencia_atividades) são preenchidas depois pelas próprias migrações que as criaram,
+ * então ficam iguais às de um usuário que atualizou o app com esse histórico.
+ */
+final class GeradorDeHistorico {
+
+    private static final long MILIS_POR_DIA = TimeUnit.DAYS.toMillis(1);
+
+    // Média de atividades por dia do histórico gerado
+    private static final int ATIVIDADES_POR_DIA = 3;
+
+    private final Random random;
+
+    GeradorDeHistorico(long semente) {
+        this.random = new Random(semente);
+    }
+
+    /**
+     * Preenche o catálogo local com as atividades "Atividade 0" ... "Atividade (tamanho - 1)".
+     */
+    void preencherCatalogo(CatalogoDAO catalogoDAO, int tamanho) {
+        List<ItemCatalogo> itens = new ArrayList<>(tamanho);
+        for (int posicao = 0; posicao < tamanho; posicao++) {
+            itens.add(new ItemCatalogo(posicao, textoDaAtividade(posicao)));
+        }
+        catalogoDAO.salvarItens(itens);
+    }
+
+    /**
+     * Grava {@code linhas} atividades em ordem cronológica, terminando em {@code ultimoDia},
+     * com descrições sorteadas entre as {@code tamanhoDoCatalogo} do catálogo.
+     * Alguns dias ficam sem atividade, para que o resumo tenha sequências de tamanhos variados.
+     */
+    void preencherHistorico(SupportSQLiteDatabase database, int linhas, int tamanhoDoCatalogo, long ultimoDia) {
+        long dia = ultimoDia - linhas / ATIVIDADES_POR_DIA;
+        long hora = 0;
+
+        database.beginTransaction();
+        try (SupportSQLiteStatement insert = database.compileStatement("INSERT INTO `atividades_realizadas` " +
+                "(`descricao`, `dataConfirmacao`, `diaEpoch`) VALUES (?, ?, ?)")) {
+            for (int i = 0; i < linhas; i++) {
+                // Em média ATIVIDADES_POR_DIA por dia; de vez em quando pula um dia
+                if (random.nextInt(ATIVIDADES_POR_DIA) == 0) {
+                    dia = Math.min(ultimoDia, dia + 1 + (random.nextInt(10) == 0 ? 1 : 0));
+                    hora = 0;
+                }
+                hora = Math.min(MILIS_POR_DIA - 1, hora + 1 + random.nextInt(3_600_000));
+
+                insert.bindString(1, textoDaAtividade(random.nextInt(tamanhoDoCatalogo)));
+                insert.bindLong(2, dia * MILIS_POR_DIA + hora);
+                insert.bindLong(3, dia);
+                insert.executeInsert();
+                insert.clearBindings();
+            }
+
+            AppDatabase.MIGRACAO_2_3.migrate(database);
+            AppDatabase.MIGRACAO_6_7.migrate(database);
+            database.setTransactionSuccessful();
+        } catch (Exception e) {
+            throw new IllegalStateException("Falha ao gerar o histórico sintético", e);
+        } finally {
+            database.endTransaction();
+        }
+    }
+
+    static String textoDaAtividade(int posicao) {
+        return "Atividade " + posicao;
+    }
+}
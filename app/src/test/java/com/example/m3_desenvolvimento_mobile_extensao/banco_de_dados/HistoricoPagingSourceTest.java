@@ -0,0 +1,134 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import android.app.Application;
+
+import androidx.paging.PagingConfig;
+import androidx.paging.PagingSource;
+import androidx.paging.PagingState;
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da paginação por chave do histórico nos dois sentidos e da recarga a partir da posição do usuário,
+ * com o SQLite real do Robolectric.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class HistoricoPagingSourceTest {
+
+    private static final int PAGINA = 30;
+    private static final PagingConfig CONFIGURACAO = new PagingConfig(PAGINA, PAGINA, false, PAGINA * 3, PAGINA * 5);
+
+    private AppDatabase db;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .setQueryExecutor(Runnable::run)
+                .build();
+        inserir(200, 0);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void paginaAnterior_devolveAsMesmasLinhasNaOrdemDaLista() throws Exception {
+        HistoricoPagingSource fonte = new HistoricoPagingSource(db);
+        PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada> primeira =
+                carregar(fonte, new PagingSource.LoadParams.Refresh<>(null, PAGINA, false));
+        PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada> segunda =
+                carregar(fonte, new PagingSource.LoadParams.Append<>(primeira.getNextKey(), PAGINA, false));
+        assertNull(primeira.getPrevKey());
+        assertNotNull(segunda.getPrevKey());
+
+        // Como se a primeira página tivesse sido descartada ao rolar: volta a ela a partir da segunda
+        PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada> recarregada =
+                carregar(fonte, new PagingSource.LoadParams.Prepend<>(segunda.getPrevKey(), PAGINA, false));
+        assertEquals(ids(primeira.getData()), ids(recarregada.getData()));
+
+        // Acima da primeira página não há mais nada
+        PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada> topo =
+                carregar(fonte, new PagingSource.LoadParams.Prepend<>(recarregada.getPrevKey(), PAGINA, false));
+        assertTrue(topo.getData().isEmpty());
+        assertNull(topo.getPrevKey());
+    }
+
+    @Test
+    public void invalidacao_recarregaEmVoltaDaPosicaoDoUsuario() throws Exception {
+        HistoricoPagingSource fonte = new HistoricoPagingSource(db);
+        List<PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada>> paginas = new ArrayList<>();
+        paginas.add(carregar(fonte, new PagingSource.LoadParams.Refresh<>(null, PAGINA * 3, false)));
+        paginas.add(carregar(fonte, new PagingSource.LoadParams.Append<>(paginas.get(0).getNextKey(), PAGINA, false)));
+        List<AtividadeRealizada> carregadas = new ArrayList<>(paginas.get(0).getData());
+        carregadas.addAll(paginas.get(1).getData());
+
+        // O usuário está na linha 100; chega uma atividade nova (no topo)
+        PagingState<HistoricoPagingSource.Chave, AtividadeRealizada> estado =
+                new PagingState<>(paginas, 100, CONFIGURACAO, 0);
+        HistoricoPagingSource.Chave chave = fonte.getRefreshKey(estado);
+        inserir(1, 1_000);
+
+        PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada> recarga = carregar(
+                new HistoricoPagingSource(db), new PagingSource.LoadParams.Refresh<>(chave, PAGINA * 3, false));
+
+        // A recarga começa meia carga inicial acima da linha 100, não no topo
+        assertEquals(carregadas.get(100 - PAGINA * 3 / 2).id, recarga.getData().get(0).id);
+        assertNotNull(recarga.getPrevKey());
+    }
+
+    @Test
+    public void pertoDoTopo_recarregaDoInicio() {
+        HistoricoPagingSource fonte = new HistoricoPagingSource(db);
+        PagingState<HistoricoPagingSource.Chave, AtividadeRealizada> estado =
+                new PagingState<>(new ArrayList<>(), 10, CONFIGURACAO, 0);
+        assertNull(fonte.getRefreshKey(estado));
+    }
+
+    /**
+     * Insere {@code quantidade} atividades, um minuto após a outra, começando {@code minutoInicial}
+     * minutos depois da primeira atividade do histórico.
+     */
+    private void inserir(int quantidade, int minutoInicial) {
+        List<AtividadeRealizada> atividades = new ArrayList<>();
+        for (int i = 0; i < quantidade; i++) {
+            long minuto = minutoInicial + i;
+            atividades.add(new AtividadeRealizada("Atividade " + minuto,
+                    new Date(1_700_000_000_000L + minuto * 60_000L)));
+        }
+        db.atividadeDAO().inserirTodas(atividades);
+    }
+
+    private static PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada> carregar(
+            HistoricoPagingSource fonte, PagingSource.LoadParams<HistoricoPagingSource.Chave> params) throws Exception {
+        PagingSource.LoadResult<HistoricoPagingSource.Chave, AtividadeRealizada> resultado =
+                fonte.loadFuture(params).get();
+        assertTrue(resultado.toString(), resultado instanceof PagingSource.LoadResult.Page);
+        return (PagingSource.LoadResult.Page<HistoricoPagingSource.Chave, AtividadeRealizada>) resultado;
+    }
+
+    private static List<Integer> ids(List<AtividadeRealizada> atividades) {
+        Integer[] ids = new Integer[atividades.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = atividades.get(i).id;
+        }
+        return Arrays.asList(ids);
+    }
+}
@@ -0,0 +1,323 @@
+package com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da sacola de sorteio, com as tabelas sacola_sorteio/sacola_estado e catalogo_atividades em memória.
+ * Os métodos default (SacolaDAO.sortearTexto, acrescentarNovas, embaralhar e CatalogoDAO.aplicarDelta,
+ * trocarPeloCatalogoNovo) são os mesmos usados com o Room.
+ */
+public class SacolaDAOTest {
+
+    private final SacolaEmMemoria sacola = new SacolaEmMemoria();
+    private final CatalogoEmMemoria catalogo = new CatalogoEmMemoria(sacola);
+    private final Random random = new Random(7);
+
+    @Test
+    public void catalogoVazio_naoSorteiaNada() {
+        assertNull(sacola.sortearTexto(random));
+    }
+
+    @Test
+    public void umCiclo_sorteiaTodasAsAtividadesSemRepetir() {
+        catalogo.preencher(50);
+        Set<String> sorteadas = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            assertTrue(sorteadas.add(sacola.sortearTexto(random)));
+        }
+        assertEquals(new HashSet<>(catalogo.textos()), sorteadas);
+    }
+
+    @Test
+    public void sacolaEsgotada_comecaNovoCiclo() {
+        catalogo.preencher(10);
+        for (int i = 0; i < 10; i++) {
+            sacola.sortearTexto(random);
+        }
+
+        Set<String> segundoCiclo = new HashSet<>();
+        for (int i = 0; i < 10; i++) {
+            assertTrue(segundoCiclo.add(sacola.sortearTexto(random)));
+        }
+        assertEquals(10, segundoCiclo.size());
+    }
+
+    @Test
+    public void catalogoCresce_novasAtividadesEntramSemReembaralharNemRepetir() {
+        catalogo.preencher(10);
+        Set<String> sorteadas = sortear(4);
+        List<String> jaSorteadasNaSacola = sacola.ordensAte(4);
+
+        // Delta com 5 atividades novas: as 4 primeiras ordens (já sorteadas) continuam iguais
+        catalogo.aplicarDelta(Collections.emptyList(), Arrays.asList("Nova 0", "Nova 1", "Nova 2", "Nova 3", "Nova 4"));
+
+        assertEquals(11, sortearRestoDoCiclo(sorteadas));
+        assertEquals(jaSorteadasNaSacola, sacola.ordensAte(4));
+    }
+
+    @Test
+    public void catalogoDiminui_atividadesQueSairamSaoPuladas() {
+        catalogo.preencher(20);
+        Set<String> sorteadas = sortear(3);
+
+        // Catálogo passa de 20 para 8: o restante do ciclo só traz atividades que ficaram e ainda não saíram
+        catalogo.removerAPartirDe(8);
+
+        sortearRestoDoCiclo(sorteadas);
+    }
+
+    @Test
+    public void deltaNoMeioDoCiclo_naoRepeteNemPulaAtividades() {
+        catalogo.preencher(20);
+        List<String> ordemDoSorteio = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            ordemDoSorteio.add(sacola.sortearTexto(random));
+        }
+        List<String> naoSorteadas = new ArrayList<>(catalogo.textos());
+        naoSorteadas.removeAll(ordemDoSorteio);
+
+        // Cada removida dá lugar à última do catálogo: atividades já sorteadas e ainda não sorteadas mudam de posição
+        catalogo.aplicarDelta(
+                Arrays.asList(ordemDoSorteio.get(0), naoSorteadas.get(0), ordemDoSorteio.get(1), naoSorteadas.get(1)),
+                Arrays.asList("Nova 0", "Nova 1", "Nova 2"));
+
+        // 20 - 4 + 3 no catálogo, 4 delas já sorteadas neste ciclo
+        assertEquals(15, sortearRestoDoCiclo(new HashSet<>(ordemDoSorteio)));
+        assertTrue(catalogo.textos().contains(sacola.sortearTexto(random)));
+    }
+
+    @Test
+    public void catalogoBaixadoDeNovoNoMeioDoCiclo_naoRepeteNemPulaAtividades() {
+        catalogo.preencher(20);
+        Set<String> sorteadas = sortear(6);
+
+        // Catálogo novo em outra ordem, sem 3 atividades antigas e com 2 novas
+        List<String> novo = new ArrayList<>(catalogo.textos());
+        Collections.reverse(novo);
+        novo.subList(0, 3).clear();
+        novo.add("Nova 0");
+        novo.add("Nova 1");
+        List<ItemCatalogoNovo> itens = new ArrayList<>();
+        for (int posicao = 0; posicao < novo.size(); posicao++) {
+            itens.add(new ItemCatalogoNovo(posicao, novo.get(posicao)));
+        }
+        catalogo.salvarItensNovos(itens);
+        catalogo.trocarPeloCatalogoNovo(itens.size());
+
+        Set<String> sorteadasQueFicaram = new HashSet<>(sorteadas);
+        sorteadasQueFicaram.retainAll(novo);
+        assertEquals(novo.size() - sorteadasQueFicaram.size(), sortearRestoDoCiclo(sorteadas));
+    }
+
+    private Set<String> sortear(int quantidade) {
+        Set<String> sorteadas = new HashSet<>();
+        for (int i = 0; i < quantidade; i++) {
+            sorteadas.add(sacola.sortearTexto(random));
+        }
+        return sorteadas;
+    }
+
+    /**
+     * Sorteia até o fim do ciclo e confere que saem exatamente as atividades do catálogo atual
+     * que ainda não tinham saído, cada uma uma única vez.
+     *
+     * @return quantidade de atividades sorteadas
+     */
+    private int sortearRestoDoCiclo(Set<String> sorteadas) {
+        Set<String> restantes = new HashSet<>(catalogo.textos());
+        restantes.removeAll(sorteadas);
+        int quantidade = restantes.size();
+        for (int i = 0; i < quantidade; i++) {
+            String texto = sacola.sortearTexto(random);
+            assertTrue(texto, restantes.remove(texto));
+        }
+        return quantidade;
+    }
+
+    /**
+     * SacolaDAO em memória: mesmas consultas das tabelas da sacola e do catálogo, sobre TreeMaps.
+     */
+    private static final class SacolaEmMemoria implements SacolaDAO {
+        private final TreeMap<Integer, String> itens = new TreeMap<>();
+        private final TreeMap<Integer, String> catalogo = new TreeMap<>();
+        private EstadoSacola estado;
+
+        List<String> ordensAte(int fim) {
+            return new ArrayList<>(itens.headMap(fim).values());
+        }
+
+        @Override
+        public int proximaOrdem() {
+            return itens.isEmpty() ? 0 : itens.lastKey() + 1;
+        }
+
+        @Override
+        public ItemSacola buscarProximo(int ordem) {
+            Map.Entry<Integer, String> item = itens.ceilingEntry(ordem);
+            return item == null ? null : new ItemSacola(item.getKey(), item.getValue());
+        }
+
+        @Override
+        public String buscarTextoNaOrdem(int ordem) {
+            return itens.get(ordem);
+        }
+
+        @Override
+        public void salvarItens(List<ItemSacola> novos) {
+            for (ItemSacola item : novos) {
+                itens.put(item.ordem, item.texto);
+            }
+        }
+
+        @Override
+        public void esvaziar() {
+            itens.clear();
+        }
+
+        @Override
+        public EstadoSacola buscarEstado() {
+            return estado == null ? null : new EstadoSacola(estado.id, estado.cursor, estado.catalogoAlterado);
+        }
+
+        @Override
+        public void salvarEstado(EstadoSacola novo) {
+            estado = new EstadoSacola(novo.id, novo.cursor, novo.catalogoAlterado);
+        }
+
+        @Override
+        public int tamanhoDoCatalogo() {
+            return catalogo.isEmpty() ? 0 : catalogo.lastKey() + 1;
+        }
+
+        @Override
+        public boolean estaNoCatalogo(String texto) {
+            return catalogo.containsValue(texto);
+        }
+
+        @Override
+        public void incluirDoCatalogo(int ordem, int posicao) {
+            String texto = catalogo.get(posicao);
+            if (texto != null) {
+                itens.put(ordem, texto);
+            }
+        }
+
+        @Override
+        public List<ItemCatalogo> buscarForaDaSacola(int posicao, int limite) {
+            List<ItemCatalogo> fora = new ArrayList<>();
+            for (Map.Entry<Integer, String> item : catalogo.tailMap(posicao, true).entrySet()) {
+                if (fora.size() == limite) {
+                    break;
+                }
+                if (!itens.containsValue(item.getValue())) {
+                    fora.add(new ItemCatalogo(item.getKey(), item.getValue()));
+                }
+            }
+            return fora;
+        }
+    }
+
+    /**
+     * CatalogoDAO em memória sobre o mesmo TreeMap de catálogo da sacola.
+     */
+    private static final class CatalogoEmMemoria implements CatalogoDAO {
+        private final SacolaEmMemoria sacola;
+        private final TreeMap<Integer, String> itens;
+        private final TreeMap<Integer, String> novos = new TreeMap<>();
+
+        CatalogoEmMemoria(SacolaEmMemoria sacola) {
+            this.sacola = sacola;
+            this.itens = sacola.catalogo;
+        }
+
+        void preencher(int quantidade) {
+            for (int i = 0; i < quantidade; i++) {
+                itens.put(i, "Atividade " + i);
+            }
+        }
+
+        List<String> textos() {
+            return new ArrayList<>(itens.values());
+        }
+
+        @Override
+        public void salvarItens(List<ItemCatalogo> recebidos) {
+            for (ItemCatalogo item : recebidos) {
+                itens.put(item.posicao, item.texto);
+            }
+        }
+
+        @Override
+        public void removerAPartirDe(int posicao) {
+            itens.tailMap(posicao, true).clear();
+        }
+
+        @Override
+        public void marcarSacolaDesatualizada() {
+            if (sacola.estado != null) {
+                sacola.estado.catalogoAlterado = true;
+            }
+        }
+
+        @Override
+        public void salvarItensNovos(List<ItemCatalogoNovo> recebidos) {
+            for (ItemCatalogoNovo item : recebidos) {
+                novos.put(item.posicao, item.texto);
+            }
+        }
+
+        @Override
+        public void descartarCatalogoNovo() {
+            novos.clear();
+        }
+
+        @Override
+        public void esvaziar() {
+            itens.clear();
+        }
+
+        @Override
+        public void copiarCatalogoNovo(int quantidade) {
+            itens.putAll(novos.headMap(quantidade));
+        }
+
+        @Override
+        public int contarItens() {
+            return itens.isEmpty() ? 0 : itens.lastKey() + 1;
+        }
+
+        @Override
+        public String buscarTextoNaPosicao(int posicao) {
+            return itens.get(posicao);
+        }
+
+        @Override
+        public void substituirTextoNaPosicao(int posicao, String texto) {
+            if (itens.containsKey(posicao)) {
+                itens.put(posicao, texto);
+            }
+        }
+
+        @Override
+        public Integer buscarPosicaoDoTexto(String texto) {
+            for (Map.Entry<Integer, String> item : itens.entrySet()) {
+                if (item.getValue().equals(texto)) {
+                    return item.getKey();
+                }
+            }
+            return null;
+        }
+    }
+}
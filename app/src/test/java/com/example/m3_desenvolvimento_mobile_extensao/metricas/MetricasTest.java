@@ -0,0 +1,136 @@
+package com.example.m3_desenvolvimento_mobile_extensao.metricas;
+
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+
+import org.junit.Test;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes das métricas: faixas e percentis do Histograma, contagem com várias threads,
+ * taxa de acerto dos caches e exportação em JSON.
+ */
+public class MetricasTest {
+
+    private final Metricas metricas = new Metricas();
+
+    @Test
+    public void histograma_percentisPeloLimiteDaFaixa() {
+        Histograma histograma = new Histograma();
+        for (int i = 0; i < 90; i++) {
+            histograma.registrar(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+        for (int i = 0; i < 10; i++) {
+            histograma.registrar(TimeUnit.MILLISECONDS.toNanos(50));
+        }
+
+        Histograma.Leitura leitura = histograma.ler();
+        assertEquals(100, leitura.getQuantidade());
+        // 100 µs cai na faixa [64, 128) µs
+        assertEquals(0.128, leitura.percentilMs(0.50), 1e-9);
+        assertEquals(0.128, leitura.percentilMs(0.90), 1e-9);
+        // 50 ms cai na faixa até 65,5 ms, limitada ao máximo observado
+        assertEquals(50.0, leitura.percentilMs(0.99), 1e-9);
+        assertEquals(50.0, leitura.getMaximoMs(), 1e-9);
+        assertEquals((90 * 0.1 + 10 * 50.0) / 100, leitura.getMediaMs(), 1e-9);
+    }
+
+    @Test
+    public void histograma_duracoesExtremasCaemNasFaixasDasPontas() {
+        assertEquals(0, Histograma.faixa(-5));
+        assertEquals(0, Histograma.faixa(999));
+        assertEquals(1, Histograma.faixa(1_000));
+        assertEquals(Histograma.QUANTIDADE_DE_FAIXAS - 1, Histograma.faixa(TimeUnit.HOURS.toNanos(1)));
+    }
+
+    @Test
+    public void variasThreads_nenhumEventoSePerde() throws Exception {
+        int threads = 8;
+        int eventosPorThread = 20_000;
+        List<Thread> trabalhadoras = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread thread = new Thread(() -> {
+                for (int i = 0; i < eventosPorThread; i++) {
+                    metricas.contar("teste.eventos");
+                    metricas.contarCache("teste", i % 4 != 0);
+                    metricas.registrarDuracao("teste.latencia", System.nanoTime() - 1_000);
+                }
+            });
+            trabalhadoras.add(thread);
+            thread.start();
+        }
+        for (Thread thread : trabalhadoras) {
+            thread.join();
+        }
+
+        Metricas.Instantaneo instantaneo = metricas.instantaneo();
+        long total = (long) threads * eventosPorThread;
+        assertEquals(Long.valueOf(total), instantaneo.getContadores().get("teste.eventos"));
+        assertEquals(total, instantaneo.getLatencias().get(0).quantidade);
+        assertEquals(total * 3 / 4, instantaneo.getCaches().get("teste").acertos);
+        assertEquals(0.75, instantaneo.getCaches().get("teste").taxaDeAcerto, 1e-9);
+    }
+
+    @Test
+    public void medir_registraADuracaoMesmoComExcecao() {
+        try {
+            metricas.medir("teste.falha", (Runnable) () -> {
+                throw new IllegalStateException("falhou");
+            });
+            fail();
+        } catch (IllegalStateException esperada) {
+            // A duração ainda deve ter sido registrada
+        }
+
+        assertEquals(Integer.valueOf(42), metricas.medir("teste.ok", () -> 42));
+        assertEquals(2, metricas.instantaneo().getLatencias().size());
+    }
+
+    @Test
+    public void instantaneo_ordenaLatenciasPeloTempoTotal() {
+        metricas.registrarDuracao("rapida", System.nanoTime());
+        metricas.registrarDuracao("lenta", System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(30));
+
+        List<Metricas.Instantaneo.Latencia> latencias = metricas.instantaneo().getLatencias();
+        assertEquals("lenta", latencias.get(0).nome);
+        assertEquals("rapida", latencias.get(1).nome);
+    }
+
+    @Test
+    public void zerar_descartaTudo() {
+        metricas.contar("teste.eventos");
+        metricas.contarCache("teste", true);
+        metricas.registrarDuracao("teste.latencia", System.nanoTime());
+
+        metricas.zerar();
+
+        Metricas.Instantaneo instantaneo = metricas.instantaneo();
+        assertTrue(instantaneo.getContadores().isEmpty());
+        assertTrue(instantaneo.getCaches().isEmpty());
+        assertTrue(instantaneo.getLatencias().isEmpty());
+    }
+
+    @Test
+    public void exportar_geraJsonComFaixasDoHistograma() throws Exception {
+        metricas.registrarDuracao("dao.inserirTodas", System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(2));
+        metricas.contar("api.http.200", 3);
+        metricas.contarCache("http", false);
+
+        StringWriter json = new StringWriter();
+        metricas.instantaneo().exportar(json);
+
+        JsonObject lido = JsonParser.parseString(json.toString()).getAsJsonObject();
+        JsonObject latencia = lido.getAsJsonArray("latencias").get(0).getAsJsonObject();
+        assertEquals("dao.inserirTodas", latencia.get("nome").getAsString());
+        assertEquals(Histograma.QUANTIDADE_DE_FAIXAS, latencia.getAsJsonArray("faixas").size());
+        assertEquals(3, lido.getAsJsonObject("contadores").get("api.http.200").getAsLong());
+        assertEquals(1, lido.getAsJsonObject("caches").getAsJsonObject("http").get("faltas").getAsLong());
+        assertTrue(metricas.instantaneo().formatar().contains("dao.inserirTodas"));
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da amostragem de reservatório: um único item escolhido, com a mesma chance para todos.
+ */
+public class AmostraDeReservatorioTest {
+
+    @Test
+    public void semItens_naoEscolheNada() {
+        AmostraDeReservatorio<String> amostra = new AmostraDeReservatorio<>(new Random(1));
+
+        assertNull(amostra.getEscolhido());
+        assertEquals(0, amostra.getVistos());
+    }
+
+    @Test
+    public void umItem_eSempreOEscolhido() {
+        AmostraDeReservatorio<String> amostra = new AmostraDeReservatorio<>(new Random(1));
+        amostra.oferecer("Caminhar");
+
+        assertEquals("Caminhar", amostra.getEscolhido());
+    }
+
+    @Test
+    public void reiniciar_esqueceOsItensVistos() {
+        AmostraDeReservatorio<Integer> amostra = new AmostraDeReservatorio<>(new Random(1));
+        for (int i = 0; i < 10; i++) {
+            amostra.oferecer(i);
+        }
+        amostra.reiniciar();
+        amostra.oferecer(42);
+
+        assertEquals(Integer.valueOf(42), amostra.getEscolhido());
+        assertEquals(1, amostra.getVistos());
+    }
+
+    @Test
+    public void distribuicao_eUniformeEntreTodasAsPosicoes() {
+        int tamanho = 10;
+        int sorteios = 100_000;
+        int[] contagem = new int[tamanho];
+        Random random = new Random(2026);
+
+        for (int s = 0; s < sorteios; s++) {
+            AmostraDeReservatorio<Integer> amostra = new AmostraDeReservatorio<>(random);
+            for (int i = 0; i < tamanho; i++) {
+                amostra.oferecer(i);
+            }
+            contagem[amostra.getEscolhido()]++;
+        }
+
+        // Qui-quadrado com 9 graus de liberdade: 27,88 corresponde a p = 0,001
+        double esperado = (double) sorteios / tamanho;
+        double quiQuadrado = 0;
+        for (int c : contagem) {
+            quiQuadrado += (c - esperado) * (c - esperado) / esperado;
+        }
+        assertTrue("Distribuição não uniforme: qui-quadrado = " + quiQuadrado, quiQuadrado < 27.88);
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do CatalogoRemoto contra um servidor HTTP local (MockWebServer):
+ * requisições condicionais com ETag/Last-Modified, 304 e cache HTTP em disco.
+ */
+public class CatalogoRemotoTest {
+
+    private static final String CATALOGO = "[{\"atividade\":\"Ler um livro\"},{\"atividade\":\"Caminhar\"}]";
+
+    @Rule
+    public TemporaryFolder pastaTemporaria = new TemporaryFolder();
+
+    private MockWebServer servidor;
+    private CatalogoRemoto catalogoRemoto;
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new MockWebServer();
+        servidor.start();
+        ApiService apiService = ApiClient.criarRetrofit(servidor.url("/").toString(),
+                ApiClient.criarHttpClient(pastaTemporaria.newFolder("http_cache"))).create(ApiService.class);
+        catalogoRemoto = new CatalogoRemoto(apiService);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servidor.shutdown();
+    }
+
+    @Test
+    public void primeiraBusca_semValidadores_retornaCatalogoEEtag() throws Exception {
+        servidor.enqueue(new MockResponse().setBody(CATALOGO)
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Last-Modified", "Wed, 01 Oct 2025 10:00:00 GMT"));
+
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, resultado.getTipo());
+        assertEquals(2, resultado.getAtividades().size());
+        assertEquals("Ler um livro", resultado.getAtividades().get(0).getTextoAtividade());
+        assertEquals("\"v1\"", resultado.getEtag());
+        assertEquals("Wed, 01 Oct 2025 10:00:00 GMT", resultado.getUltimaModificacao());
+
+        RecordedRequest requisicao = servidor.takeRequest();
+        assertNull(requisicao.getHeader("If-None-Match"));
+        assertNull(requisicao.getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    public void catalogoNaoModificado_enviaValidadoresERetorna304SemCorpo() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(304).setHeader("ETag", "\"v1\""));
+
+        CatalogoRemoto.Resultado resultado =
+                catalogoRemoto.buscar("\"v1\"", "Wed, 01 Oct 2025 10:00:00 GMT");
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.NAO_MODIFICADO, resultado.getTipo());
+        assertNull(resultado.getAtividades());
+        assertEquals("\"v1\"", resultado.getEtag());
+
+        RecordedRequest requisicao = servidor.takeRequest();
+        assertEquals("\"v1\"", requisicao.getHeader("If-None-Match"));
+        assertEquals("Wed, 01 Oct 2025 10:00:00 GMT", requisicao.getHeader("If-Modified-Since"));
+    }
+
+    @Test
+    public void catalogoAlterado_retornaNovoEtag() {
+        servidor.enqueue(new MockResponse().setBody("[{\"atividade\":\"Meditar\"}]").setHeader("ETag", "\"v2\""));
+
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar("\"v1\"", null);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, resultado.getTipo());
+        assertEquals("Meditar", resultado.getAtividades().get(0).getTextoAtividade());
+        assertEquals("\"v2\"", resultado.getEtag());
+    }
+
+    @Test
+    public void erroDoServidor_retornaFalha() {
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.FALHA, resultado.getTipo());
+        assertNotNull(resultado.getErro());
+    }
+
+    @Test
+    public void respostaAindaValida_eServidaDoCacheEmDisco() {
+        servidor.enqueue(new MockResponse().setBody(CATALOGO)
+                .setHeader("ETag", "\"v1\"")
+                .setHeader("Cache-Control", "max-age=300"));
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, catalogoRemoto.buscar(null, null).getTipo());
+        CatalogoRemoto.Resultado segunda = catalogoRemoto.buscar(null, null);
+
+        // A segunda busca veio do cache HTTP em disco, sem tocar no servidor
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, segunda.getTipo());
+        assertEquals(2, segunda.getAtividades().size());
+        assertEquals(1, servidor.getRequestCount());
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da ChamadaUnica com o CatalogoRemoto e um servidor HTTP local (MockWebServer):
+ * vários pedidos simultâneos devem gerar uma única requisição e compartilhar o resultado.
+ */
+public class ChamadaUnicaTest {
+
+    private static final String CATALOGO = "[{\"atividade\":\"Ler um livro\"},{\"atividade\":\"Caminhar\"}]";
+    private static final int PEDIDOS_SIMULTANEOS = 16;
+
+    @Rule
+    public TemporaryFolder pastaTemporaria = new TemporaryFolder();
+
+    private MockWebServer servidor;
+    private CatalogoRemoto catalogoRemoto;
+    private ExecutorService redeExecutor;
+    private ExecutorService chamadores;
+
+    // O servidor só responde depois que o teste libera, para garantir que os pedidos se sobreponham
+    private final CountDownLatch liberarResposta = new CountDownLatch(1);
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new MockWebServer();
+        servidor.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                liberarResposta.await(5, TimeUnit.SECONDS);
+                return new MockResponse().setBody(CATALOGO).setHeader("ETag", "\"v1\"");
+            }
+        });
+        servidor.start();
+        ApiService apiService = ApiClient.criarRetrofit(servidor.url("/").toString(),
+                ApiClient.criarHttpClient(pastaTemporaria.newFolder("http_cache"))).create(ApiService.class);
+        catalogoRemoto = new CatalogoRemoto(apiService);
+        redeExecutor = Executors.newCachedThreadPool();
+        chamadores = Executors.newFixedThreadPool(PEDIDOS_SIMULTANEOS);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        liberarResposta.countDown();
+        chamadores.shutdownNow();
+        redeExecutor.shutdownNow();
+        servidor.shutdown();
+    }
+
+    @Test
+    public void pedidosSimultaneos_fazemUmaUnicaRequisicao() throws Exception {
+        ChamadaUnica<CatalogoRemoto.Resultado> chamadaUnica = new ChamadaUnica<>();
+        List<CompletableFuture<CatalogoRemoto.Resultado>> futuros = pedirAoMesmoTempo(chamadaUnica);
+
+        liberarResposta.countDown();
+
+        CatalogoRemoto.Resultado primeiro = futuros.get(0).get(5, TimeUnit.SECONDS);
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, primeiro.getTipo());
+        for (CompletableFuture<CatalogoRemoto.Resultado> futuro : futuros) {
+            // Todos recebem exatamente o mesmo resultado
+            assertSame(primeiro, futuro.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, servidor.getRequestCount());
+        assertFalse(chamadaUnica.isEmAndamento());
+    }
+
+    @Test
+    public void aposTerminar_novoPedidoFazNovaRequisicao() throws Exception {
+        liberarResposta.countDown();
+        ChamadaUnica<CatalogoRemoto.Resultado> chamadaUnica = new ChamadaUnica<>();
+
+        CatalogoRemoto.Resultado primeiro = chamadaUnica
+                .executar(() -> catalogoRemoto.buscar(null, null), redeExecutor).get(5, TimeUnit.SECONDS);
+        CatalogoRemoto.Resultado segundo = chamadaUnica
+                .executar(() -> catalogoRemoto.buscar(null, null), redeExecutor).get(5, TimeUnit.SECONDS);
+
+        assertNotSame(primeiro, segundo);
+        assertEquals(2, servidor.getRequestCount());
+    }
+
+    @Test
+    public void falha_eCompartilhadaENaoPrendeOsProximosPedidos() throws Exception {
+        ChamadaUnica<String> chamadaUnica = new ChamadaUnica<>();
+        CountDownLatch liberarFalha = new CountDownLatch(1);
+
+        CompletableFuture<String> primeiro = chamadaUnica.executar(() -> {
+            try {
+                liberarFalha.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            throw new IllegalStateException("falhou");
+        }, redeExecutor);
+        CompletableFuture<String> segundo = chamadaUnica.executar(() -> "não deveria rodar", redeExecutor);
+        assertSame(primeiro, segundo);
+
+        liberarFalha.countDown();
+        try {
+            segundo.join();
+            fail("A falha deveria ser repassada a todos os pedidos");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+
+        assertEquals("ok", chamadaUnica.executar(() -> "ok", redeExecutor).get(5, TimeUnit.SECONDS));
+    }
+
+    /**
+     * Dispara PEDIDOS_SIMULTANEOS chamadas ao mesmo tempo (uma por thread) e espera todas
+     * receberem seus futuros, enquanto o servidor ainda segura a resposta.
+     */
+    private List<CompletableFuture<CatalogoRemoto.Resultado>> pedirAoMesmoTempo(
+            ChamadaUnica<CatalogoRemoto.Resultado> chamadaUnica) throws Exception {
+        CyclicBarrier largada = new CyclicBarrier(PEDIDOS_SIMULTANEOS);
+        List<CompletableFuture<CompletableFuture<CatalogoRemoto.Resultado>>> pedidos = new ArrayList<>();
+        for (int i = 0; i < PEDIDOS_SIMULTANEOS; i++) {
+            pedidos.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    largada.await(5, TimeUnit.SECONDS);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+                return chamadaUnica.executar(() -> catalogoRemoto.buscar(null, null), redeExecutor);
+            }, chamadores));
+        }
+
+        List<CompletableFuture<CatalogoRemoto.Resultado>> futuros = new ArrayList<>();
+        for (CompletableFuture<CompletableFuture<CatalogoRemoto.Resultado>> pedido : pedidos) {
+            futuros.add(pedido.get(5, TimeUnit.SECONDS));
+        }
+        return futuros;
+    }
+}
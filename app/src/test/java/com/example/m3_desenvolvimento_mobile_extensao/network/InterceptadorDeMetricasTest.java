@@ -0,0 +1,104 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do InterceptadorDeMetricas com o cliente HTTP do app (cache em disco) e um servidor local.
+ */
+public class InterceptadorDeMetricasTest {
+
+    @Rule
+    public TemporaryFolder pastaTemporaria = new TemporaryFolder();
+
+    private MockWebServer servidor;
+    private final Metricas metricas = new Metricas();
+    private OkHttpClient httpClient;
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new MockWebServer();
+        servidor.start();
+        httpClient = ApiClient.criarHttpClient(pastaTemporaria.newFolder(), 1_000, 1_000).newBuilder()
+                .addInterceptor(new InterceptadorDeMetricas(metricas))
+                .retryOnConnectionFailure(false) // A conexão derrubada deve chegar ao interceptor como falha
+                .build();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servidor.shutdown();
+    }
+
+    @Test
+    public void respostaDoCacheEmDisco_contaComoAcerto() throws Exception {
+        servidor.enqueue(new MockResponse().setBody("[]").setHeader("Cache-Control", "max-age=60"));
+
+        buscar();
+        buscar();
+
+        Metricas.Instantaneo instantaneo = metricas.instantaneo();
+        assertEquals(1, servidor.getRequestCount());
+        assertEquals(Long.valueOf(2), instantaneo.getContadores().get("api.http.200"));
+        assertEquals(0.5, instantaneo.getCaches().get(InterceptadorDeMetricas.CACHE_HTTP).getTaxaDeAcerto(), 1e-9);
+        assertEquals(2, instantaneo.getLatencias().get(0).getQuantidade());
+    }
+
+    @Test
+    public void naoModificado_contaComoAcerto() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(304));
+
+        try (Response resposta = httpClient.newCall(new Request.Builder().url(servidor.url("/catalogo"))
+                .header("If-None-Match", "\"v1\"").build()).execute()) {
+            assertEquals(304, resposta.code());
+        }
+
+        Metricas.Instantaneo instantaneo = metricas.instantaneo();
+        assertEquals(Long.valueOf(1), instantaneo.getContadores().get("api.http.304"));
+        assertEquals(1, instantaneo.getCaches().get(InterceptadorDeMetricas.CACHE_HTTP).getAcertos());
+    }
+
+    @Test
+    public void erroDoServidorEFalhaDeConexao_saoContados() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(503));
+        servidor.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AFTER_REQUEST));
+
+        buscar();
+        try {
+            buscar();
+            fail();
+        } catch (IOException esperada) {
+            // A falha também é registrada
+        }
+
+        Metricas.Instantaneo instantaneo = metricas.instantaneo();
+        assertEquals(Long.valueOf(1), instantaneo.getContadores().get("api.http.5xx"));
+        assertEquals(Long.valueOf(1), instantaneo.getContadores().get(InterceptadorDeMetricas.FALHA_HTTP));
+        // Nenhuma das duas respostas serviria como cache
+        assertNull(instantaneo.getCaches().get(InterceptadorDeMetricas.CACHE_HTTP));
+        assertEquals(2, instantaneo.getLatencias().get(0).getQuantidade());
+    }
+
+    private void buscar() throws IOException {
+        try (Response resposta = httpClient.newCall(new Request.Builder().url(servidor.url("/catalogo")).build())
+                .execute()) {
+            resposta.body().string();
+        }
+    }
+}
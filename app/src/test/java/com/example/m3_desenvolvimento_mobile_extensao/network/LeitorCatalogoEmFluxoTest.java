@@ -0,0 +1,171 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da leitura do catálogo em fluxo (JsonReader), direto de um texto e pela API
+ * com CatalogoRemoto.buscarEmFluxo contra um servidor local (MockWebServer).
+ */
+public class LeitorCatalogoEmFluxoTest {
+
+    @Rule
+    public TemporaryFolder pastaTemporaria = new TemporaryFolder();
+
+    private MockWebServer servidor;
+    private final Coletor coletor = new Coletor();
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new MockWebServer();
+        servidor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servidor.shutdown();
+    }
+
+    @Test
+    public void ler_entregaAsAtividadesEmOrdemComPosicoesContinuas() throws Exception {
+        String json = "[{\"atividade\":\"Ler um livro\"},{\"atividade\":\"Caminhar\"},{\"atividade\":\"Meditar\"}]";
+
+        int quantidade = LeitorCatalogoEmFluxo.ler(new StringReader(json), coletor);
+
+        assertEquals(3, quantidade);
+        assertEquals(Arrays.asList("Ler um livro", "Caminhar", "Meditar"), coletor.textos);
+        assertEquals(Arrays.asList(0, 1, 2), coletor.posicoes);
+    }
+
+    @Test
+    public void ler_ignoraCamposDesconhecidosEItensSemTexto() throws Exception {
+        String json = "[{\"id\":1,\"atividade\":\"Ler\",\"tags\":[\"a\",{\"b\":2}]},"
+                + "{\"atividade\":null},{\"outro\":\"x\"},42,\"solto\",{\"atividade\":\"Correr\"}]";
+
+        int quantidade = LeitorCatalogoEmFluxo.ler(new StringReader(json), coletor);
+
+        assertEquals(2, quantidade);
+        assertEquals(Arrays.asList("Ler", "Correr"), coletor.textos);
+        assertEquals(Arrays.asList(0, 1), coletor.posicoes);
+    }
+
+    @Test(expected = IOException.class)
+    public void ler_jsonTruncado_lancaExcecao() throws Exception {
+        LeitorCatalogoEmFluxo.ler(new StringReader("[{\"atividade\":\"Ler\"},{\"ativ"), coletor);
+    }
+
+    @Test
+    public void buscarEmFluxo_catalogoGrande_entregaTodasAsAtividades() throws Exception {
+        int tamanho = 20_000;
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < tamanho; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"atividade\":\"Atividade ").append(i).append("\"}");
+        }
+        servidor.enqueue(new MockResponse().setBody(json.append(']').toString()).setHeader("ETag", "\"v9\""));
+
+        AmostraDeReservatorio<String> amostra = new AmostraDeReservatorio<>(new Random(3));
+        int[] recebidas = {0};
+        CatalogoRemoto.Resultado resultado = criarCatalogoRemoto(PoliticaDeRetentativa.SEM_RETENTATIVA)
+                .buscarEmFluxo(null, null, new LeitorCatalogoEmFluxo.Receptor() {
+                    @Override
+                    public void iniciar() {
+                        amostra.reiniciar();
+                    }
+
+                    @Override
+                    public void receber(int posicao, String texto) {
+                        assertEquals(recebidas[0]++, posicao);
+                        amostra.oferecer(texto);
+                    }
+                });
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, resultado.getTipo());
+        assertNull(resultado.getAtividades());
+        assertEquals(tamanho, resultado.getQuantidade());
+        assertEquals("\"v9\"", resultado.getEtag());
+        assertEquals(tamanho, amostra.getVistos());
+        assertTrue(amostra.getEscolhido().startsWith("Atividade "));
+    }
+
+    @Test
+    public void buscarEmFluxo_respostaInterrompida_recomecaNaProximaTentativa() throws Exception {
+        servidor.enqueue(new MockResponse()
+                .setBody("[{\"atividade\":\"Ler\"},{\"atividade\":\"Caminhar\"},{\"atividade\":\"Meditar\"}]")
+                .setSocketPolicy(SocketPolicy.DISCONNECT_DURING_RESPONSE_BODY));
+        servidor.enqueue(new MockResponse().setBody("[{\"atividade\":\"Ler\"},{\"atividade\":\"Caminhar\"}]"));
+
+        CatalogoRemoto.Resultado resultado = criarCatalogoRemoto(new PoliticaDeRetentativa(2, 1, 1, new Random(1)))
+                .buscarEmFluxo(null, null, coletor);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, resultado.getTipo());
+        assertEquals(2, resultado.getTentativas());
+        assertEquals(2, coletor.inicios);
+        assertEquals(Arrays.asList("Ler", "Caminhar"), coletor.textos);
+    }
+
+    @Test
+    public void buscarEmFluxo_naoModificado_naoEntregaNada() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(304));
+
+        CatalogoRemoto.Resultado resultado = criarCatalogoRemoto(PoliticaDeRetentativa.SEM_RETENTATIVA)
+                .buscarEmFluxo("\"v1\"", null, coletor);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.NAO_MODIFICADO, resultado.getTipo());
+        assertEquals(0, coletor.inicios);
+        assertTrue(coletor.textos.isEmpty());
+    }
+
+    @Test
+    public void buscarEmFluxo_catalogoVazio_retornaFalha() throws Exception {
+        servidor.enqueue(new MockResponse().setBody("[]"));
+
+        CatalogoRemoto.Resultado resultado = criarCatalogoRemoto(PoliticaDeRetentativa.SEM_RETENTATIVA)
+                .buscarEmFluxo(null, null, coletor);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.FALHA, resultado.getTipo());
+    }
+
+    private CatalogoRemoto criarCatalogoRemoto(PoliticaDeRetentativa politica) throws IOException {
+        ApiService apiService = ApiClient.criarRetrofit(servidor.url("/").toString(),
+                ApiClient.criarHttpClient(pastaTemporaria.newFolder())).create(ApiService.class);
+        return new CatalogoRemoto(apiService, politica, null);
+    }
+
+    /**
+     * Receptor que guarda tudo o que recebeu (descartando o que veio antes de um novo iniciar()).
+     */
+    private static final class Coletor implements LeitorCatalogoEmFluxo.Receptor {
+        int inicios;
+        final List<Integer> posicoes = new ArrayList<>();
+        final List<String> textos = new ArrayList<>();
+
+        @Override
+        public void iniciar() {
+            inicios++;
+            posicoes.clear();
+            textos.clear();
+        }
+
+        @Override
+        public void receber(int posicao, String texto) {
+            posicoes.add(posicao);
+            textos.add(texto);
+        }
+    }
+}
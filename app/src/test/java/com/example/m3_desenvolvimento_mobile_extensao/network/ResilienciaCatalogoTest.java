@@ -0,0 +1,182 @@
+package com.example.m3_desenvolvimento_mobile_extensao.network;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.SocketPolicy;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes de novas tentativas, timeouts e disjuntor do CatalogoRemoto contra um servidor local
+ * instável (MockWebServer que desconecta, responde 5xx ou demora a responder).
+ */
+public class ResilienciaCatalogoTest {
+
+    private static final String CATALOGO = "[{\"atividade\":\"Ler um livro\"},{\"atividade\":\"Caminhar\"}]";
+
+    // Esperas curtas para o teste rodar rápido (sorteio com semente fixa)
+    private static final PoliticaDeRetentativa TRES_TENTATIVAS =
+            new PoliticaDeRetentativa(3, 10, 40, new Random(42));
+
+    @Rule
+    public TemporaryFolder pastaTemporaria = new TemporaryFolder();
+
+    private MockWebServer servidor;
+
+    // Relógio controlado pelo teste para o período de espera do disjuntor
+    private final AtomicLong agora = new AtomicLong(1_000_000);
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new MockWebServer();
+        servidor.start();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servidor.shutdown();
+    }
+
+    @Test
+    public void falhasPassageiras_saoTentadasDeNovoAteDarCerto() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(503));
+        servidor.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+        servidor.enqueue(new MockResponse().setBody(CATALOGO));
+        CatalogoRemoto catalogoRemoto = new CatalogoRemoto(criarApiService(1_000), TRES_TENTATIVAS, null);
+
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, resultado.getTipo());
+        assertEquals(3, resultado.getTentativas());
+        assertEquals(2, catalogoRemoto.getTotalDeRetentativas());
+        assertEquals(3, servidor.getRequestCount());
+    }
+
+    @Test
+    public void erroDoCliente_naoETentadoDeNovo() throws Exception {
+        servidor.enqueue(new MockResponse().setResponseCode(404));
+        CatalogoRemoto catalogoRemoto = new CatalogoRemoto(criarApiService(1_000), TRES_TENTATIVAS, null);
+
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.FALHA, resultado.getTipo());
+        assertEquals(1, resultado.getTentativas());
+        assertEquals(1, servidor.getRequestCount());
+    }
+
+    @Test
+    public void todasAsTentativasFalham_retornaFalhaAposOLimite() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            servidor.enqueue(new MockResponse().setResponseCode(500));
+        }
+        CatalogoRemoto catalogoRemoto = new CatalogoRemoto(criarApiService(1_000), TRES_TENTATIVAS, null);
+
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.FALHA, resultado.getTipo());
+        assertEquals(3, resultado.getTentativas());
+        assertEquals(3, servidor.getRequestCount());
+    }
+
+    @Test
+    public void respostaLenta_estouraOTimeoutDeLeitura() throws Exception {
+        servidor.enqueue(new MockResponse().setBody(CATALOGO).setHeadersDelay(5, TimeUnit.SECONDS));
+        CatalogoRemoto catalogoRemoto = new CatalogoRemoto(criarApiService(200),
+                PoliticaDeRetentativa.SEM_RETENTATIVA, null);
+
+        long inicio = System.nanoTime();
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+        long duracaoMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio);
+
+        assertEquals(CatalogoRemoto.Resultado.Tipo.FALHA, resultado.getTipo());
+        assertTrue(resultado.getErro() instanceof IOException);
+        assertTrue("A busca deveria desistir perto do timeout, levou " + duracaoMs + " ms", duracaoMs < 3_000);
+    }
+
+    @Test
+    public void disjuntor_abreAposFalhasSeguidasEDeixaDeChamarAApi() throws Exception {
+        DisjuntorCircuito disjuntor = new DisjuntorCircuito(2, 60_000, agora::get);
+        List<DisjuntorCircuito.Estado> estados = new ArrayList<>();
+        disjuntor.setObservador(estados::add);
+        CatalogoRemoto catalogoRemoto = new CatalogoRemoto(criarApiService(1_000),
+                PoliticaDeRetentativa.SEM_RETENTATIVA, disjuntor);
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+
+        catalogoRemoto.buscar(null, null);
+        assertEquals(DisjuntorCircuito.Estado.FECHADO, disjuntor.getEstado());
+        catalogoRemoto.buscar(null, null);
+        assertEquals(DisjuntorCircuito.Estado.ABERTO, disjuntor.getEstado());
+
+        // Dentro do período de espera: responde na hora, sem requisição
+        agora.addAndGet(30_000);
+        CatalogoRemoto.Resultado resultado = catalogoRemoto.buscar(null, null);
+        assertEquals(CatalogoRemoto.Resultado.Tipo.CIRCUITO_ABERTO, resultado.getTipo());
+        assertEquals(0, resultado.getTentativas());
+        assertEquals(2, servidor.getRequestCount());
+
+        // Passado o período: uma chamada de teste que dá certo fecha o disjuntor
+        agora.addAndGet(30_000);
+        servidor.enqueue(new MockResponse().setBody(CATALOGO));
+        assertEquals(CatalogoRemoto.Resultado.Tipo.ATUALIZADO, catalogoRemoto.buscar(null, null).getTipo());
+        assertEquals(DisjuntorCircuito.Estado.FECHADO, disjuntor.getEstado());
+        assertEquals(3, servidor.getRequestCount());
+
+        assertEquals(Arrays.asList(DisjuntorCircuito.Estado.ABERTO,
+                DisjuntorCircuito.Estado.MEIO_ABERTO, DisjuntorCircuito.Estado.FECHADO), estados);
+    }
+
+    @Test
+    public void chamadaDeTesteFalha_reabreODisjuntorPorMaisUmPeriodo() throws Exception {
+        DisjuntorCircuito disjuntor = new DisjuntorCircuito(1, 60_000, agora::get);
+        CatalogoRemoto catalogoRemoto = new CatalogoRemoto(criarApiService(1_000),
+                PoliticaDeRetentativa.SEM_RETENTATIVA, disjuntor);
+        servidor.enqueue(new MockResponse().setResponseCode(500));
+        servidor.enqueue(new MockResponse().setSocketPolicy(SocketPolicy.DISCONNECT_AT_START));
+
+        catalogoRemoto.buscar(null, null);
+        assertEquals(DisjuntorCircuito.Estado.ABERTO, disjuntor.getEstado());
+
+        agora.addAndGet(60_000);
+        assertEquals(CatalogoRemoto.Resultado.Tipo.FALHA, catalogoRemoto.buscar(null, null).getTipo());
+        assertEquals(DisjuntorCircuito.Estado.ABERTO, disjuntor.getEstado());
+
+        agora.addAndGet(59_000);
+        assertEquals(CatalogoRemoto.Resultado.Tipo.CIRCUITO_ABERTO, catalogoRemoto.buscar(null, null).getTipo());
+        assertEquals(2, servidor.getRequestCount());
+    }
+
+    @Test
+    public void esperaEntreTentativas_cresceEFicaDentroDoLimite() {
+        PoliticaDeRetentativa politica = new PoliticaDeRetentativa(6, 100, 1_000, new Random(7));
+
+        assertEquals(0, politica.atrasoAntesDaTentativa(1));
+        for (int repeticao = 0; repeticao < 200; repeticao++) {
+            assertTrue(politica.atrasoAntesDaTentativa(2) <= 100);
+            assertTrue(politica.atrasoAntesDaTentativa(3) <= 200);
+            assertTrue(politica.atrasoAntesDaTentativa(4) <= 400);
+            long atraso = politica.atrasoAntesDaTentativa(6);
+            assertTrue(atraso >= 0 && atraso <= 1_000);
+        }
+    }
+
+    private ApiService criarApiService(long timeoutLeituraMs) throws IOException {
+        return ApiClient.criarRetrofit(servidor.url("/").toString(),
+                ApiClient.criarHttpClient(pastaTemporaria.newFolder(), 1_000, timeoutLeituraMs))
+                .create(ApiService.class);
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AppDatabase;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da exportação/importação do histórico (BackupHistorico) com o SQLite real do Robolectric:
+ * ida e volta completa, arquivo importado duas vezes, linha malformada e data nula.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class BackupHistoricoTest {
+
+    private static final long MILIS_POR_DIA = 86_400_000L;
+    private static final RepositorioAtividades.ProgressoBackup SEM_PROGRESSO = linhas -> { };
+
+    private AppDatabase origem;
+    private AppDatabase destino;
+
+    @Before
+    public void setUp() {
+        origem = criarBanco();
+        destino = criarBanco();
+    }
+
+    @After
+    public void tearDown() {
+        origem.close();
+        destino.close();
+    }
+
+    @Test
+    public void exportarEImportar_reproduzHistoricoResumoEFrequencias() throws Exception {
+        // Mais de um lote de importação, com dias sem atividade no meio (sequências variadas)
+        List<AtividadeRealizada> atividades = new ArrayList<>();
+        for (int i = 0; i < BackupHistorico.TAMANHO_LOTE_IMPORTACAO + 250; i++) {
+            long dia = 19_000 + i / 3 + (i / 30) * 2;
+            atividades.add(new AtividadeRealizada("Atividade " + (i % 17), new Date(dia * MILIS_POR_DIA + i * 1_000L)));
+        }
+        origem.atividadeDAO().inserirTodas(atividades);
+
+        String arquivo = exportar(origem);
+        long importadas = new BackupHistorico(destino.atividadeDAO()).importar(new StringReader(arquivo), SEM_PROGRESSO);
+
+        assertEquals(atividades.size(), importadas);
+        assertTabelasIguais();
+    }
+
+    @Test
+    public void importarDeNovo_naoDuplicaNada() throws Exception {
+        origem.atividadeDAO().inserirTodas(List.of(
+                new AtividadeRealizada("Ler um livro", new Date(19_000 * MILIS_POR_DIA)),
+                new AtividadeRealizada("Caminhar", new Date(19_001 * MILIS_POR_DIA))));
+        String arquivo = exportar(origem);
+        BackupHistorico backup = new BackupHistorico(destino.atividadeDAO());
+
+        assertEquals(2, backup.importar(new StringReader(arquivo), SEM_PROGRESSO));
+        assertEquals(0, backup.importar(new StringReader(arquivo), SEM_PROGRESSO));
+
+        assertTabelasIguais();
+    }
+
+    @Test
+    public void dataNulaOuAusente_linhaIgnorada() throws Exception {
+        String arquivo = "{\"descricao\":\"Sem data\",\"dataConfirmacao\":null}\n" +
+                "{\"descricao\":\"Também sem data\"}\n" +
+                "{\"descricao\":\"Com data\",\"dataConfirmacao\":1700000000000,\"campoFuturo\":[1,2]}\n";
+
+        long importadas = new BackupHistorico(destino.atividadeDAO()).importar(new StringReader(arquivo), SEM_PROGRESSO);
+
+        assertEquals(1, importadas);
+        assertEquals(List.of("Com data|1700000000000"),
+                linhas(destino, "SELECT descricao, dataConfirmacao FROM atividades_realizadas"));
+    }
+
+    @Test
+    public void linhaMalformada_interrompeSemGravarOLoteIncompleto() {
+        String arquivo = "{\"descricao\":\"Válida\",\"dataConfirmacao\":1700000000000}\n" +
+                "{\"descricao\":\"Quebrada\",\"dataConfirmacao\":\n";
+
+        try {
+            new BackupHistorico(destino.atividadeDAO()).importar(new StringReader(arquivo), SEM_PROGRESSO);
+            fail();
+        } catch (IOException esperada) {
+            // O arquivo é rejeitado
+        }
+
+        assertTrue(linhas(destino, "SELECT * FROM atividades_realizadas").isEmpty());
+        assertTrue(linhas(destino, "SELECT * FROM resumo_diario").isEmpty());
+    }
+
+    private void assertTabelasIguais() {
+        assertEquals(
+                linhas(origem, "SELECT descricao, dataConfirmacao, diaEpoch FROM atividades_realizadas ORDER BY dataConfirmacao, id"),
+                linhas(destino, "SELECT descricao, dataConfirmacao, diaEpoch FROM atividades_realizadas ORDER BY dataConfirmacao, id"));
+        assertEquals(linhas(origem, "SELECT * FROM resumo_diario ORDER BY 1"),
+                linhas(destino, "SELECT * FROM resumo_diario ORDER BY 1"));
+        assertEquals(linhas(origem, "SELECT * FROM frequencia_atividades ORDER BY 1"),
+                linhas(destino, "SELECT * FROM frequencia_atividades ORDER BY 1"));
+    }
+
+    private static String exportar(AppDatabase db) throws IOException {
+        StringWriter arquivo = new StringWriter();
+        new BackupHistorico(db.atividadeDAO()).exportar(arquivo, SEM_PROGRESSO);
+        return arquivo.toString();
+    }
+
+    // Cada linha do resultado como texto ("coluna1|coluna2|..."), para comparar tabelas inteiras
+    private static List<String> linhas(AppDatabase db, String sql) {
+        List<String> linhas = new ArrayList<>();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery(sql))) {
+            while (cursor.moveToNext()) {
+                StringBuilder linha = new StringBuilder();
+                for (int i = 0; i < cursor.getColumnCount(); i++) {
+                    linha.append(i == 0 ? "" : "|").append(cursor.getString(i));
+                }
+                linhas.add(linha.toString());
+            }
+        }
+        return linhas;
+    }
+
+    private static AppDatabase criarBanco() {
+        return Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import android.app.Application;
+import android.database.Cursor;
+
+import androidx.room.Room;
+import androidx.sqlite.db.SimpleSQLiteQuery;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AppDatabase;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.ItemCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.LeitorCatalogoEmFluxo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da gravação do catálogo em fluxo (GravadorDoCatalogo) com o SQLite real do Robolectric:
+ * o catálogo local só muda quando a leitura termina, e uma leitura interrompida não deixa rastro.
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class GravadorDoCatalogoTest {
+
+    private AppDatabase db;
+
+    @Before
+    public void setUp() {
+        db = Room.inMemoryDatabaseBuilder(ApplicationProvider.getApplicationContext(), AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        List<ItemCatalogo> anterior = new ArrayList<>();
+        for (int posicao = 0; posicao < 1_200; posicao++) {
+            anterior.add(new ItemCatalogo(posicao, "Antiga " + posicao));
+        }
+        db.catalogoDAO().salvarItens(anterior);
+    }
+
+    @After
+    public void tearDown() {
+        db.close();
+    }
+
+    @Test
+    public void leituraCompleta_trocaOCatalogoInteiroEEsvaziaOPreparo() throws Exception {
+        GravadorDoCatalogo gravador = new GravadorDoCatalogo(db.catalogoDAO(), new Random(3));
+        gravador.iniciar();
+        gravador.concluir(LeitorCatalogoEmFluxo.ler(new StringReader(json("Ler", "Caminhar", "Meditar")), gravador));
+
+        assertEquals(Arrays.asList("Ler", "Caminhar", "Meditar"), textos("catalogo_atividades"));
+        assertTrue(textos("catalogo_atividades_novo").isEmpty());
+    }
+
+    @Test
+    public void leituraInterrompida_mantemOCatalogoAnterior() {
+        // Mais de um lote antes do erro: parte do catálogo novo já chegou ao banco
+        String[] atividades = new String[1_100];
+        for (int i = 0; i < atividades.length; i++) {
+            atividades[i] = "Nova " + i;
+        }
+        String cortado = json(atividades);
+        cortado = cortado.substring(0, cortado.length() - 20);
+
+        GravadorDoCatalogo gravador = new GravadorDoCatalogo(db.catalogoDAO(), new Random(3));
+        gravador.iniciar();
+        try {
+            LeitorCatalogoEmFluxo.ler(new StringReader(cortado), gravador);
+            fail();
+        } catch (IOException esperada) {
+            gravador.descartar();
+        }
+
+        assertEquals(1_200, db.catalogoDAO().contarItens());
+        assertEquals("Antiga 0", db.catalogoDAO().buscarTextoNaPosicao(0));
+        assertEquals("Antiga 1199", db.catalogoDAO().buscarTextoNaPosicao(1_199));
+        assertTrue(textos("catalogo_atividades_novo").isEmpty());
+    }
+
+    @Test
+    public void novaTentativa_descartaOQueVeioDaAnterior() throws Exception {
+        GravadorDoCatalogo gravador = new GravadorDoCatalogo(db.catalogoDAO(), new Random(3));
+        gravador.iniciar();
+        for (int posicao = 0; posicao < 600; posicao++) {
+            gravador.receber(posicao, "Da tentativa interrompida " + posicao);
+        }
+
+        // Como o CatalogoRemoto faz antes de ler a resposta de novo
+        gravador.iniciar();
+        gravador.concluir(LeitorCatalogoEmFluxo.ler(new StringReader(json("Ler", "Caminhar")), gravador));
+
+        assertEquals(Arrays.asList("Ler", "Caminhar"), textos("catalogo_atividades"));
+        assertTrue(textos("catalogo_atividades_novo").isEmpty());
+    }
+
+    private List<String> textos(String tabela) {
+        List<String> textos = new ArrayList<>();
+        try (Cursor cursor = db.query(new SimpleSQLiteQuery("SELECT texto FROM " + tabela + " ORDER BY posicao"))) {
+            while (cursor.moveToNext()) {
+                textos.add(cursor.getString(0));
+            }
+        }
+        return textos;
+    }
+
+    private static String json(String... atividades) {
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < atividades.length; i++) {
+            json.append(i == 0 ? "" : ",").append("{\"atividade\":\"").append(atividades[i]).append("\"}");
+        }
+        return json.append("]").toString();
+    }
+}
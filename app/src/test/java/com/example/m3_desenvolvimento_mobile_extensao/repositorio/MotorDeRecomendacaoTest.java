@@ -0,0 +1,125 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.FrequenciaNoCatalogo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do MotorDeRecomendacao com o peso padrão e com pesos próprios, sempre com semente fixa.
+ */
+public class MotorDeRecomendacaoTest {
+
+    private static final long HOJE = 20_000;
+    private static final int SORTEIOS = 10_000;
+
+    @Test
+    public void catalogoVazio_naoEscolheNada() {
+        assertNull(motor(1).escolherPosicao(0, Collections.emptyList(), HOJE));
+    }
+
+    @Test
+    public void mesmaSemente_mesmasEscolhas() {
+        List<FrequenciaNoCatalogo> realizadas = Arrays.asList(
+                new FrequenciaNoCatalogo(1, 3, HOJE - 2), new FrequenciaNoCatalogo(4, 1, HOJE - 30));
+        MotorDeRecomendacao a = motor(99);
+        MotorDeRecomendacao b = motor(99);
+        for (int i = 0; i < 100; i++) {
+            assertEquals(a.escolherPosicao(8, realizadas, HOJE), b.escolherPosicao(8, realizadas, HOJE));
+        }
+    }
+
+    @Test
+    public void atividadeFeitaHoje_naoERecomendada() {
+        List<FrequenciaNoCatalogo> realizadas = Collections.singletonList(new FrequenciaNoCatalogo(2, 1, HOJE));
+        MotorDeRecomendacao motor = motor(5);
+        for (int i = 0; i < SORTEIOS; i++) {
+            assertNotEquals(Integer.valueOf(2), motor.escolherPosicao(3, realizadas, HOJE));
+        }
+    }
+
+    @Test
+    public void feitaHaPoucoOuMuitasVezes_saiMenosQueAsNuncaFeitas() {
+        List<FrequenciaNoCatalogo> realizadas = Arrays.asList(
+                new FrequenciaNoCatalogo(0, 1, HOJE - 3),     // feita há pouco
+                new FrequenciaNoCatalogo(1, 20, HOJE - 200),  // feita há muito tempo, mas muitas vezes
+                new FrequenciaNoCatalogo(2, 1, HOJE - 200));  // feita há muito tempo, uma vez
+        int[] contagem = contar(motor(11), 4, realizadas);
+
+        // Posição 3 nunca foi feita e deve ser a mais escolhida
+        assertTrue(contagem[3] > contagem[2]);
+        assertTrue(contagem[2] > contagem[1]);
+        assertTrue(contagem[2] > contagem[0]);
+    }
+
+    @Test
+    public void todasFeitasHoje_escolheQualquerUma() {
+        List<FrequenciaNoCatalogo> realizadas = Arrays.asList(
+                new FrequenciaNoCatalogo(0, 1, HOJE), new FrequenciaNoCatalogo(1, 1, HOJE));
+        int[] contagem = contar(motor(3), 2, realizadas);
+        assertTrue(contagem[0] > 0 && contagem[1] > 0);
+    }
+
+    @Test
+    public void posicoesForaDoCatalogo_saoIgnoradas() {
+        List<FrequenciaNoCatalogo> realizadas = Collections.singletonList(new FrequenciaNoCatalogo(50, 1, HOJE - 100));
+        MotorDeRecomendacao motor = motor(8);
+        for (int i = 0; i < 1_000; i++) {
+            assertTrue(motor.escolherPosicao(5, realizadas, HOJE) < 5);
+        }
+    }
+
+    @Test
+    public void pesoProprio_eUsadoNoLugarDoPadrao() {
+        // Só recomenda atividades já feitas, proporcionalmente a quantas vezes foram feitas
+        PesoDaRecomendacao soAsFavoritas = new PesoDaRecomendacao() {
+            @Override
+            public double pesoDeNuncaRealizada() {
+                return 0;
+            }
+
+            @Override
+            public double peso(int vezes, long diasDesdeAUltima) {
+                return vezes;
+            }
+        };
+        List<FrequenciaNoCatalogo> realizadas = Arrays.asList(
+                new FrequenciaNoCatalogo(1, 1, HOJE), new FrequenciaNoCatalogo(6, 3, HOJE));
+        int[] contagem = contar(new MotorDeRecomendacao(soAsFavoritas, new Random(21)), 10, realizadas);
+
+        assertEquals(SORTEIOS, contagem[1] + contagem[6]);
+        assertTrue(contagem[6] > 2 * contagem[1]);
+    }
+
+    @Test
+    public void catalogoGrandeComPoucasFeitas_naoDependeDoTamanhoDoCatalogo() {
+        List<FrequenciaNoCatalogo> realizadas = new ArrayList<>();
+        for (int posicao = 0; posicao < 30; posicao++) {
+            realizadas.add(new FrequenciaNoCatalogo(posicao * 1_000, 2, HOJE - posicao));
+        }
+        MotorDeRecomendacao motor = motor(4);
+        for (int i = 0; i < SORTEIOS; i++) {
+            int posicao = motor.escolherPosicao(1_000_000, realizadas, HOJE);
+            assertTrue(posicao >= 0 && posicao < 1_000_000);
+        }
+    }
+
+    private static MotorDeRecomendacao motor(long semente) {
+        return new MotorDeRecomendacao(PesoDaRecomendacao.porRecenciaEFrequencia(14), new Random(semente));
+    }
+
+    private static int[] contar(MotorDeRecomendacao motor, int tamanho, List<FrequenciaNoCatalogo> realizadas) {
+        int[] contagem = new int[tamanho];
+        for (int i = 0; i < SORTEIOS; i++) {
+            contagem[motor.escolherPosicao(tamanho, realizadas, HOJE)]++;
+        }
+        return contagem;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import android.app.Application;
+
+import androidx.room.Room;
+import androidx.test.core.app.ApplicationProvider;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AppDatabase;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.DiasEpoch;
+import com.example.m3_desenvolvimento_mobile_extensao.metricas.Metricas;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.RobolectricTestRunner;
+import org.robolectric.annotation.Config;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do RegistroDoUltimoDia: a decisão de quando o registro basta e quando o banco precisa ser
+ * consultado, e a gravação do registro (SharedPreferences e banco reais do Robolectric).
+ */
+@RunWith(RobolectricTestRunner.class)
+@Config(sdk = 34, application = Application.class)
+public class RegistroDoUltimoDiaTest {
+
+    private static final long HOJE = 20_000;
+
+    private Application application;
+    private RegistroDoUltimoDia registro;
+
+    @Before
+    public void setUp() {
+        application = ApplicationProvider.getApplicationContext();
+        registro = new RegistroDoUltimoDia(application);
+    }
+
+    @Test
+    public void registroDeHoje_houveAtividade() {
+        assertEquals(Boolean.TRUE, RegistroDoUltimoDia.conferir(HOJE, HOJE));
+    }
+
+    @Test
+    public void registroDeDiaAnterior_naoHouveAtividade() {
+        assertEquals(Boolean.FALSE, RegistroDoUltimoDia.conferir(HOJE - 1, HOJE));
+        assertEquals(Boolean.FALSE, RegistroDoUltimoDia.conferir(RegistroDoUltimoDia.NENHUM_DIA, HOJE));
+    }
+
+    @Test
+    public void registroNoFuturo_precisaConsultarOBanco() {
+        // Ex: o relógio do aparelho voltou depois de uma confirmação
+        assertNull(RegistroDoUltimoDia.conferir(HOJE + 1, HOJE));
+    }
+
+    @Test
+    public void semRegistro_precisaConsultarOBanco() {
+        assertNull(registro.houveAtividadeNoDia(HOJE));
+    }
+
+    @Test
+    public void registrar_naoVoltaParaUmDiaAnterior() {
+        registro.registrar(HOJE);
+        // Ex: importação de um histórico antigo depois da confirmação de hoje
+        registro.registrar(HOJE - 30);
+
+        assertEquals(Boolean.TRUE, registro.houveAtividadeNoDia(HOJE));
+    }
+
+    @Test
+    public void corrigirSemAtividadeNoBanco_gravaNenhumDia() {
+        registro.registrar(HOJE);
+        registro.corrigir(() -> null);
+
+        assertEquals(Boolean.FALSE, registro.houveAtividadeNoDia(HOJE));
+        assertEquals(Boolean.FALSE, new RegistroDoUltimoDia(application).houveAtividadeNoDia(HOJE));
+    }
+
+    @Test
+    public void confirmacaoDuranteACorrecao_naoESobrescrita() throws Exception {
+        Thread confirmacao = new Thread(() -> registro.registrar(HOJE));
+
+        // A confirmação chega enquanto o banco ainda está sendo lido (com o dia de antes dela)
+        registro.corrigir(() -> {
+            confirmacao.start();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return HOJE - 3;
+        });
+        confirmacao.join(5_000);
+
+        assertEquals(Boolean.TRUE, registro.houveAtividadeNoDia(HOJE));
+    }
+
+    @Test
+    public void repositorio_atualizaORegistroAoGravarEmLote() throws Exception {
+        AppDatabase db = Room.inMemoryDatabaseBuilder(application, AppDatabase.class)
+                .allowMainThreadQueries()
+                .build();
+        ExecutorService outras = Executors.newSingleThreadExecutor();
+        ScheduledExecutorService gravacao = Executors.newSingleThreadScheduledExecutor();
+        try {
+            // Sem API: o teste só grava atividades
+            RepositorioAtividades repositorio = new RepositorioAtividades(application, db, null, registro,
+                    new Metricas(), outras, outras, gravacao);
+            long hoje = DiasEpoch.hoje();
+            assertNull(registro.houveAtividadeNoDia(hoje));
+
+            repositorio.inserirTodas(Arrays.asList(
+                    new AtividadeRealizada("Caminhar", new Date(System.currentTimeMillis() - TimeUnit.DAYS.toMillis(2))),
+                    new AtividadeRealizada("Ler um livro", new Date()))).get(5, TimeUnit.SECONDS);
+
+            assertEquals(Boolean.TRUE, registro.houveAtividadeNoDia(hoje));
+            assertTrue(repositorio.houveAtividadeHojeSync());
+        } finally {
+            outras.shutdown();
+            gravacao.shutdown();
+            db.close();
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.example.m3_desenvolvimento_mobile_extensao.repositorio;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.CatalogoDAO;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.ItemCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.ItemCatalogoNovo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.ApiClient;
+import com.example.m3_desenvolvimento_mobile_extensao.network.ApiService;
+import com.example.m3_desenvolvimento_mobile_extensao.network.CatalogoRemoto;
+import com.example.m3_desenvolvimento_mobile_extensao.network.HashDoCatalogo;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes da sincronização por manifesto + delta, com um servidor local (MockWebServer)
+ * no lugar da API e um catálogo em memória no lugar da tabela do Room.
+ */
+public class SincronizacaoDoCatalogoTest {
+
+    @Rule
+    public TemporaryFolder pastaTemporaria = new TemporaryFolder();
+
+    private MockWebServer servidor;
+    // Arquivos publicados no servidor local (caminho -> JSON); os demais respondem 404
+    private final Map<String, String> arquivos = new HashMap<>();
+    private final CatalogoEmMemoria catalogo = new CatalogoEmMemoria();
+    private SincronizacaoDoCatalogo sincronizacao;
+
+    @Before
+    public void setUp() throws Exception {
+        servidor = new MockWebServer();
+        servidor.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                String corpo = arquivos.get(request.getPath());
+                return corpo == null ? new MockResponse().setResponseCode(404) : new MockResponse().setBody(corpo);
+            }
+        });
+        servidor.start();
+        ApiService apiService = ApiClient.criarRetrofit(servidor.url("/").toString(),
+                ApiClient.criarHttpClient(pastaTemporaria.newFolder())).create(ApiService.class);
+        sincronizacao = new SincronizacaoDoCatalogo(new CatalogoRemoto(apiService), catalogo);
+
+        catalogo.preencher("Ler um livro", "Caminhar", "Meditar");
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        servidor.shutdown();
+    }
+
+    @Test
+    public void manifestoIgualAoLocal_naoBaixaMaisNada() throws Exception {
+        String hash = hash("Ler um livro", "Caminhar", "Meditar");
+        publicarManifesto(3, hash);
+
+        SincronizacaoDoCatalogo.Resultado resultado = sincronizacao.sincronizar(3, hash);
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.SEM_MUDANCA, resultado.tipo);
+        assertEquals(1, servidor.getRequestCount());
+        assertEquals("/catalogo/manifesto.json", servidor.takeRequest().getPath());
+    }
+
+    @Test
+    public void versaoNova_aplicaSoODelta() throws Exception {
+        publicarManifesto(4, hash("Ler um livro", "Meditar", "Beber água", "Alongar"));
+        arquivos.put("/catalogo/delta/3-4.json", "{\"de\":3,\"para\":4,"
+                + "\"adicionadas\":[\"Beber água\",\"Alongar\"],\"removidas\":[\"Caminhar\"]}");
+
+        SincronizacaoDoCatalogo.Resultado resultado =
+                sincronizacao.sincronizar(3, hash("Ler um livro", "Caminhar", "Meditar"));
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.DELTA_APLICADO, resultado.tipo);
+        assertEquals(4, resultado.manifesto.getVersao());
+        // A removida deu lugar à última atividade; as adicionadas entraram no fim, sem buracos
+        assertEquals(Arrays.asList("Ler um livro", "Meditar", "Beber água", "Alongar"), catalogo.textos());
+        assertEquals(2, servidor.getRequestCount());
+    }
+
+    @Test
+    public void deltaQueNaoLevaAoHashDoManifesto_naoEAplicado() {
+        publicarManifesto(4, hash("Ler um livro", "Meditar", "Outra coisa"));
+        arquivos.put("/catalogo/delta/3-4.json", "{\"de\":3,\"para\":4,"
+                + "\"adicionadas\":[\"Beber água\"],\"removidas\":[\"Caminhar\"]}");
+
+        SincronizacaoDoCatalogo.Resultado resultado =
+                sincronizacao.sincronizar(3, hash("Ler um livro", "Caminhar", "Meditar"));
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.CATALOGO_COMPLETO, resultado.tipo);
+        assertEquals(Arrays.asList("Ler um livro", "Caminhar", "Meditar"), catalogo.textos());
+    }
+
+    @Test
+    public void deltaIndisponivel_pedeCatalogoCompleto() {
+        publicarManifesto(9, hash("Nova"));
+
+        SincronizacaoDoCatalogo.Resultado resultado =
+                sincronizacao.sincronizar(3, hash("Ler um livro", "Caminhar", "Meditar"));
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.CATALOGO_COMPLETO, resultado.tipo);
+        assertEquals(9, resultado.manifesto.getVersao());
+    }
+
+    @Test
+    public void removidaQueNaoExisteLocalmente_pedeCatalogoCompleto() {
+        // Hash local declarado inclui "Correr", mas a cópia local não tem essa atividade
+        publicarManifesto(4, hash("Ler um livro", "Caminhar", "Meditar"));
+        arquivos.put("/catalogo/delta/3-4.json", "{\"de\":3,\"para\":4,\"removidas\":[\"Correr\"]}");
+
+        SincronizacaoDoCatalogo.Resultado resultado =
+                sincronizacao.sincronizar(3, hash("Ler um livro", "Caminhar", "Meditar", "Correr"));
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.CATALOGO_COMPLETO, resultado.tipo);
+        assertEquals(Arrays.asList("Ler um livro", "Caminhar", "Meditar"), catalogo.textos());
+    }
+
+    @Test
+    public void versaoLocalDesconhecida_pedeCatalogoCompleto() {
+        publicarManifesto(3, hash("Ler um livro", "Caminhar", "Meditar"));
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.CATALOGO_COMPLETO,
+                sincronizacao.sincronizar(0, null).tipo);
+    }
+
+    @Test
+    public void servidorSemManifesto_usaABuscaNormal() {
+        SincronizacaoDoCatalogo.Resultado resultado = sincronizacao.sincronizar(3, hash("Ler um livro"));
+
+        assertEquals(SincronizacaoDoCatalogo.Resultado.Tipo.SEM_MANIFESTO, resultado.tipo);
+        assertNull(resultado.manifesto);
+    }
+
+    @Test
+    public void hashDoCatalogo_naoDependeDaOrdem() {
+        assertEquals(hash("Ler um livro", "Caminhar", "Meditar"), hash("Meditar", "Ler um livro", "Caminhar"));
+        assertNotEquals(hash("Ler um livro", "Caminhar"), hash("Ler um livro", "Meditar"));
+    }
+
+    private void publicarManifesto(long versao, String hash) {
+        arquivos.put("/catalogo/manifesto.json", "{\"versao\":" + versao + ",\"hash\":\"" + hash + "\"}");
+    }
+
+    private static String hash(String... textos) {
+        return HashDoCatalogo.formatar(HashDoCatalogo.aplicarDelta(0, Arrays.asList(textos), Collections.emptyList()));
+    }
+
+    /**
+     * CatalogoDAO em memória: mesmas consultas da tabela catalogo_atividades, sobre um TreeMap.
+     * O método default aplicarDelta é o mesmo usado com o Room.
+     */
+    private static final class CatalogoEmMemoria implements CatalogoDAO {
+        private final TreeMap<Integer, String> itens = new TreeMap<>();
+        private final TreeMap<Integer, String> novos = new TreeMap<>();
+
+        void preencher(String... textos) {
+            for (String texto : textos) {
+                itens.put(itens.size(), texto);
+            }
+        }
+
+        List<String> textos() {
+            return new ArrayList<>(itens.values());
+        }
+
+        @Override
+        public void salvarItens(List<ItemCatalogo> novos) {
+            for (ItemCatalogo item : novos) {
+                itens.put(item.posicao, item.texto);
+            }
+        }
+
+        @Override
+        public void removerAPartirDe(int posicao) {
+            itens.tailMap(posicao, true).clear();
+        }
+
+        @Override
+        public void marcarSacolaDesatualizada() {
+            // Sem sacola neste teste
+        }
+
+        @Override
+        public void salvarItensNovos(List<ItemCatalogoNovo> recebidos) {
+            for (ItemCatalogoNovo item : recebidos) {
+                novos.put(item.posicao, item.texto);
+            }
+        }
+
+        @Override
+        public void descartarCatalogoNovo() {
+            novos.clear();
+        }
+
+        @Override
+        public void esvaziar() {
+            itens.clear();
+        }
+
+        @Override
+        public void copiarCatalogoNovo(int quantidade) {
+            itens.putAll(novos.headMap(quantidade));
+        }
+
+        @Override
+        public int contarItens() {
+            return itens.isEmpty() ? 0 : itens.lastKey() + 1;
+        }
+
+        @Override
+        public String buscarTextoNaPosicao(int posicao) {
+            return itens.get(posicao);
+        }
+
+        @Override
+        public void substituirTextoNaPosicao(int posicao, String texto) {
+            if (itens.containsKey(posicao)) {
+                itens.put(posicao, texto);
+            }
+        }
+
+        @Override
+        public Integer buscarPosicaoDoTexto(String texto) {
+            for (Map.Entry<Integer, String> item : itens.entrySet()) {
+                if (item.getValue().equals(texto)) {
+                    return item.getKey();
+                }
+            }
+            return null;
+        }
+    }
+}
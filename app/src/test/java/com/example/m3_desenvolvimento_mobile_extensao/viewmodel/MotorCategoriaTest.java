@@ -0,0 +1,150 @@
+package com.example.m3_desenvolvimento_mobile_extensao.viewmodel;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do MotorCategoria: compara o motor incremental com a regra original do MainViewModel
+ * (HashSet + ordenação do histórico inteiro) em históricos aleatórios.
+ */
+public class MotorCategoriaTest {
+
+    private static final int HISTORICOS = 500;
+
+    @Test
+    public void semAtividades_eBronze() {
+        MotorCategoria motor = new MotorCategoria();
+        assertEquals("Bronze", motor.getCategoria());
+        assertEquals(0, motor.getTotal());
+        assertEquals(0, motor.getSequenciaAtual());
+    }
+
+    @Test
+    public void dezDiasSeguidos_ePlatina() {
+        MotorCategoria motor = new MotorCategoria();
+        for (long dia = 100; dia < 110; dia++) {
+            motor.registrar(dia);
+        }
+        assertEquals("Platina", motor.getCategoria());
+        assertEquals(10, motor.getSequenciaAtual());
+
+        // Um dia de intervalo quebra a sequência atual, mas não a maior
+        motor.registrar(111);
+        assertEquals("Ouro", motor.getCategoria());
+        assertEquals(1, motor.getSequenciaAtual());
+        assertEquals(10, motor.getMaiorSequencia());
+    }
+
+    @Test
+    public void variasAtividadesNoMesmoDia_contamNoTotalMasNaoNaSequencia() {
+        MotorCategoria motor = new MotorCategoria();
+        for (int i = 0; i < 12; i++) {
+            motor.registrar(500);
+        }
+        assertEquals(12, motor.getTotal());
+        assertEquals(1, motor.getQuantidadeDeDias());
+        assertEquals(1, motor.getSequenciaAtual());
+        assertEquals("Ouro", motor.getCategoria());
+    }
+
+    @Test
+    public void historicosAleatoriosEmOrdem_coincidemComRegraOriginal() {
+        Random random = new Random(42);
+        for (int h = 0; h < HISTORICOS; h++) {
+            MotorCategoria motor = new MotorCategoria();
+            List<Long> historico = new ArrayList<>();
+            long dia = 19000 + random.nextInt(1000);
+            int tamanho = random.nextInt(60);
+
+            for (int i = 0; i < tamanho; i++) {
+                // Às vezes repete o dia, às vezes avança um dia, às vezes pula alguns
+                int sorteio = random.nextInt(10);
+                if (sorteio >= 3) {
+                    dia += sorteio >= 8 ? 1 + random.nextInt(3) : 1;
+                }
+                motor.registrar(dia);
+                historico.add(dia);
+
+                assertEquals(categoriaOriginal(historico), motor.getCategoria());
+                assertEquals(historico.size(), motor.getTotal());
+                assertEquals(maiorSequenciaForcaBruta(historico), motor.getMaiorSequencia());
+            }
+        }
+    }
+
+    @Test
+    public void historicosAleatoriosForaDeOrdem_coincidemComRegraOriginal() {
+        Random random = new Random(7);
+        for (int h = 0; h < HISTORICOS; h++) {
+            MotorCategoria motor = new MotorCategoria();
+            List<Long> historico = new ArrayList<>();
+            int tamanho = random.nextInt(60);
+
+            for (int i = 0; i < tamanho; i++) {
+                long dia = 20000 + random.nextInt(40);
+                motor.registrar(dia);
+                historico.add(dia);
+
+                assertEquals(categoriaOriginal(historico), motor.getCategoria());
+                assertEquals(maiorSequenciaForcaBruta(historico), motor.getMaiorSequencia());
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------------
+    // Regra original (cópia da lógica anterior do MainViewModel), usada como referência
+    // ------------------------------------------------------------------------
+
+    private static String categoriaOriginal(List<Long> historico) {
+        if (historico.isEmpty()) {
+            return "Bronze";
+        }
+        int totalAtividades = historico.size();
+        if (totalAtividades >= 10 && temDezDiasConsecutivos(historico)) {
+            return "Platina";
+        } else if (totalAtividades >= 7) {
+            return "Ouro";
+        } else if (totalAtividades >= 3) {
+            return "Prata";
+        } else {
+            return "Bronze";
+        }
+    }
+
+    private static boolean temDezDiasConsecutivos(List<Long> historico) {
+        if (historico.size() < 10) return false;
+
+        Set<Long> diasUnicos = new HashSet<>(historico);
+        if (diasUnicos.size() < 10) return false;
+
+        List<Long> diasOrdenados = new ArrayList<>(diasUnicos);
+        Collections.sort(diasOrdenados, Collections.reverseOrder());
+
+        for (int i = 0; i < 9; i++) {
+            if (diasOrdenados.get(i) - diasOrdenados.get(i + 1) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int maiorSequenciaForcaBruta(List<Long> historico) {
+        List<Long> dias = new ArrayList<>(new HashSet<>(historico));
+        Collections.sort(dias);
+        int maior = 0;
+        int atual = 0;
+        for (int i = 0; i < dias.size(); i++) {
+            atual = (i > 0 && dias.get(i) == dias.get(i - 1) + 1) ? atual + 1 : 1;
+            maior = Math.max(maior, atual);
+        }
+        return maior;
+    }
+}
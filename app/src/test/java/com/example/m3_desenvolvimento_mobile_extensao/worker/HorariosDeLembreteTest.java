@@ -0,0 +1,74 @@
+package com.example.m3_desenvolvimento_mobile_extensao.worker;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testes do cálculo do próximo horário de lembrete (8h, 12h, 16h e 20h).
+ */
+public class HorariosDeLembreteTest {
+
+    private static final TimeZone SAO_PAULO = TimeZone.getTimeZone("America/Sao_Paulo");
+
+    @Test
+    public void antesDoPrimeiroHorario_lembraAs8() {
+        assertEquals(horario(2026, Calendar.MARCH, 10, 8, 0),
+                HorariosDeLembrete.proximoLembrete(agora(2026, Calendar.MARCH, 10, 6, 30), false));
+    }
+
+    @Test
+    public void entreHorarios_lembraNoSeguinte() {
+        assertEquals(horario(2026, Calendar.MARCH, 10, 16, 0),
+                HorariosDeLembrete.proximoLembrete(agora(2026, Calendar.MARCH, 10, 12, 0), false));
+        assertEquals(horario(2026, Calendar.MARCH, 10, 20, 0),
+                HorariosDeLembrete.proximoLembrete(agora(2026, Calendar.MARCH, 10, 19, 59), false));
+    }
+
+    @Test
+    public void depoisDoUltimoHorario_lembraAmanhaAs8() {
+        assertEquals(horario(2026, Calendar.APRIL, 1, 8, 0),
+                HorariosDeLembrete.proximoLembrete(agora(2026, Calendar.MARCH, 31, 21, 15), false));
+    }
+
+    @Test
+    public void jaFezHoje_pulaOsHorariosRestantes() {
+        assertEquals(horario(2026, Calendar.JANUARY, 1, 8, 0),
+                HorariosDeLembrete.proximoLembrete(agora(2025, Calendar.DECEMBER, 31, 9, 0), true));
+    }
+
+    @Test
+    public void atraso_eADiferencaAteOProximoHorario() {
+        assertEquals(TimeUnit.MINUTES.toMillis(90),
+                HorariosDeLembrete.atrasoAteOProximoLembrete(agora(2026, Calendar.MARCH, 10, 14, 30), false));
+    }
+
+    @Test
+    public void umDiaSemConfirmar_temQuatroLembretes() {
+        Calendar agora = agora(2026, Calendar.MARCH, 10, 0, 0);
+        int lembretes = 0;
+        long proximo = HorariosDeLembrete.proximoLembrete(agora, false);
+        while (proximo < horario(2026, Calendar.MARCH, 11, 0, 0)) {
+            lembretes++;
+            agora.setTimeInMillis(proximo);
+            proximo = HorariosDeLembrete.proximoLembrete(agora, false);
+        }
+        assertEquals(4, lembretes);
+    }
+
+    private static Calendar agora(int ano, int mes, int dia, int hora, int minuto) {
+        Calendar calendario = new GregorianCalendar(SAO_PAULO);
+        calendario.clear();
+        calendario.set(ano, mes, dia, hora, minuto);
+        return calendario;
+    }
+
+    private static long horario(int ano, int mes, int dia, int hora, int minuto) {
+        return agora(ano, mes, dia, hora, minuto).getTimeInMillis();
+    }
+}
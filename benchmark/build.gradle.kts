@@ -0,0 +1,46 @@
+// Benchmarks (JMH) dos trechos em Java puro do app, executados na JVM comum.
+// Rodar com: ./gradlew :benchmark:jmh
+plugins {
+    `java-library`
+    alias(libs.plugins.jmh)
+}
+
+java {
+    sourceCompatibility = JavaVersion.VERSION_11
+    targetCompatibility = JavaVersion.VERSION_11
+}
+
+// As classes medidas vêm direto do módulo app (só as que não dependem do Android),
+// para que o benchmark meça sempre o código atual sem duplicá-lo
+sourceSets {
+    main {
+        java {
+            setSrcDirs(listOf("../app/src/main/java"))
+            include(
+                "com/example/m3_desenvolvimento_mobile_extensao/adapter/LinhaHistorico.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/adapter/MontadorLinhasHistorico.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/banco_de_dados/AtividadeRealizada.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/banco_de_dados/Converters.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/banco_de_dados/DiasEpoch.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/network/AmostraDeReservatorio.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/network/HashDoCatalogo.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/network/LeitorCatalogoEmFluxo.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/network_model/AtividadeProposta.java",
+                "com/example/m3_desenvolvimento_mobile_extensao/viewmodel/MotorCategoria.java"
+            )
+        }
+    }
+}
+
+dependencies {
+    implementation("androidx.room:room-common:2.6.1")   // Apenas as anotações do Room usadas pelas entidades
+    implementation("com.google.code.gson:gson:2.11.0")
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    warmupIterations = 3
+    iterations = 5
+    fork = 1
+    resultFormat = "JSON"
+}
@@ -0,0 +1,96 @@
+package com.example.m3_desenvolvimento_mobile_extensao.benchmark;
+
+import com.example.m3_desenvolvimento_mobile_extensao.network.AmostraDeReservatorio;
+import com.example.m3_desenvolvimento_mobile_extensao.network.HashDoCatalogo;
+import com.example.m3_desenvolvimento_mobile_extensao.network.LeitorCatalogoEmFluxo;
+import com.example.m3_desenvolvimento_mobile_extensao.network_model.AtividadeProposta;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leitura e gravação do catálogo de atividades em JSON:
+ * - gsonLerLista / gsonGravarLista: o catálogo inteiro como List<AtividadeProposta> (forma antiga do cache);
+ * - lerEmFluxoESortear: leitura em fluxo com sorteio por reservatório (LeitorCatalogoEmFluxo), como na busca da API;
+ * - lerEmFluxoComHash: a mesma leitura calculando o HashDoCatalogo, como ao conferir o manifesto.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CatalogoBenchmark {
+
+    private static final Type TIPO_LISTA = new TypeToken<List<AtividadeProposta>>() { }.getType();
+
+    @Param({"100", "5000", "50000"})
+    public int tamanhoDoCatalogo;
+
+    private final Gson gson = new Gson();
+    private final Random random = new Random(7);
+    private String json;
+    private List<AtividadeProposta> lista;
+
+    @Setup
+    public void preparar() {
+        json = DadosDeTeste.catalogoJson(tamanhoDoCatalogo);
+        lista = gson.fromJson(json, TIPO_LISTA);
+    }
+
+    @Benchmark
+    public List<AtividadeProposta> gsonLerLista() {
+        return gson.fromJson(json, TIPO_LISTA);
+    }
+
+    @Benchmark
+    public String gsonGravarLista() {
+        return gson.toJson(lista);
+    }
+
+    @Benchmark
+    public String lerEmFluxoESortear() throws IOException {
+        AmostraDeReservatorio<String> amostra = new AmostraDeReservatorio<>(random);
+        LeitorCatalogoEmFluxo.ler(new StringReader(json), new LeitorCatalogoEmFluxo.Receptor() {
+            @Override
+            public void iniciar() {
+                amostra.reiniciar();
+            }
+
+            @Override
+            public void receber(int posicao, String texto) {
+                amostra.oferecer(texto);
+            }
+        });
+        return amostra.getEscolhido();
+    }
+
+    @Benchmark
+    public long lerEmFluxoComHash() throws IOException {
+        long[] hash = {0};
+        LeitorCatalogoEmFluxo.ler(new StringReader(json), new LeitorCatalogoEmFluxo.Receptor() {
+            @Override
+            public void iniciar() {
+                hash[0] = 0;
+            }
+
+            @Override
+            public void receber(int posicao, String texto) {
+                hash[0] += HashDoCatalogo.daAtividade(texto);
+            }
+        });
+        return hash[0];
+    }
+}
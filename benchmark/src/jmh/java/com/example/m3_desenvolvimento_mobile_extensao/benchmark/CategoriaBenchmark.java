@@ -0,0 +1,121 @@
+package com.example.m3_desenvolvimento_mobile_extensao.benchmark;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+import com.example.m3_desenvolvimento_mobile_extensao.viewmodel.MotorCategoria;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Categoria do usuário (Bronze/Prata/Ouro/Platina):
+ * - regraOriginal: a lógica antiga do MainViewModel, que percorria o histórico inteiro a cada mudança;
+ * - motorIncremental: MotorCategoria recebendo o histórico inteiro, um dia por vez;
+ * - motorUmaConfirmacao: o caso comum, uma confirmação nova sobre um motor já carregado;
+ * - categoriaPeloResumo: a regra aplicada ao resumo diário (o que o app faz hoje).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CategoriaBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    public int tamanhoDoHistorico;
+
+    private List<AtividadeRealizada> historico;
+    private long[] diasEmOrdem;
+    private MotorCategoria motorCarregado;
+    private long proximoDia;
+
+    @Setup
+    public void preparar() {
+        historico = DadosDeTeste.historico(tamanhoDoHistorico);
+        diasEmOrdem = new long[historico.size()];
+        for (int i = 0; i < diasEmOrdem.length; i++) {
+            diasEmOrdem[i] = historico.get(historico.size() - 1 - i).diaEpoch;
+        }
+        proximoDia = diasEmOrdem[diasEmOrdem.length - 1];
+    }
+
+    // Recarregado a cada iteração, para que o total acumulado por motorUmaConfirmacao não cresça sem limite
+    @Setup(Level.Iteration)
+    public void carregarMotor() {
+        motorCarregado = new MotorCategoria();
+        for (long dia : diasEmOrdem) {
+            motorCarregado.registrar(dia);
+        }
+    }
+
+    @Benchmark
+    public String regraOriginal() {
+        int totalAtividades = historico.size();
+        if (totalAtividades >= 10 && temDezDiasConsecutivos(historico)) {
+            return "Platina";
+        } else if (totalAtividades >= 7) {
+            return "Ouro";
+        } else if (totalAtividades >= 3) {
+            return "Prata";
+        }
+        return "Bronze";
+    }
+
+    @Benchmark
+    public String motorIncremental() {
+        MotorCategoria motor = new MotorCategoria();
+        for (long dia : diasEmOrdem) {
+            motor.registrar(dia);
+        }
+        return motor.getCategoria();
+    }
+
+    @Benchmark
+    public String motorUmaConfirmacao() {
+        // Mesmo dia do último registro: só o total muda (o motor continua válido entre as chamadas)
+        motorCarregado.registrar(proximoDia);
+        return motorCarregado.getCategoria();
+    }
+
+    @Benchmark
+    public String categoriaPeloResumo() {
+        return MotorCategoria.categoriaPara(tamanhoDoHistorico, motorCarregado.getSequenciaAtual());
+    }
+
+    // ------------------------------------------------------------------------
+    // Regra original (cópia da lógica anterior do MainViewModel), usada como referência
+    // ------------------------------------------------------------------------
+
+    private static boolean temDezDiasConsecutivos(List<AtividadeRealizada> historico) {
+        Set<Long> diasUnicos = new HashSet<>();
+        for (AtividadeRealizada atividade : historico) {
+            diasUnicos.add(getDiaDoAno(atividade.dataConfirmacao));
+        }
+        if (diasUnicos.size() < 10) return false;
+
+        List<Long> diasOrdenados = new ArrayList<>(diasUnicos);
+        Collections.sort(diasOrdenados, Collections.reverseOrder());
+        for (int i = 0; i < 9; i++) {
+            if (diasOrdenados.get(i) - diasOrdenados.get(i + 1) != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static long getDiaDoAno(Date data) {
+        return TimeUnit.MILLISECONDS.toDays(data.getTime());
+    }
+}
@@ -0,0 +1,66 @@
+package com.example.m3_desenvolvimento_mobile_extensao.benchmark;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.Converters;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.DiasEpoch;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversões de data feitas por linha ao ler/gravar o histórico:
+ * Date <-> Long (Converters, usados pelo Room) e o cálculo do dia epoch local (DiasEpoch).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ConversaoDeDatasBenchmark {
+
+    @Param({"1000", "10000"})
+    public int quantidade;
+
+    private long[] timestamps;
+    private Date[] datas;
+
+    @Setup
+    public void preparar() {
+        timestamps = new long[quantidade];
+        datas = new Date[quantidade];
+        long momento = 1_748_779_200_000L;
+        for (int i = 0; i < quantidade; i++) {
+            momento -= TimeUnit.HOURS.toMillis(7);
+            timestamps[i] = momento;
+            datas[i] = new Date(momento);
+        }
+    }
+
+    @Benchmark
+    public void timestampParaData(Blackhole blackhole) {
+        for (long timestamp : timestamps) {
+            blackhole.consume(Converters.fromTimestamp(timestamp));
+        }
+    }
+
+    @Benchmark
+    public void dataParaTimestamp(Blackhole blackhole) {
+        for (Date data : datas) {
+            blackhole.consume(Converters.dateToTimestamp(data));
+        }
+    }
+
+    @Benchmark
+    public void diaEpochDaData(Blackhole blackhole) {
+        for (Date data : datas) {
+            blackhole.consume(DiasEpoch.daData(data));
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.m3_desenvolvimento_mobile_extensao.benchmark;
+
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Gera históricos e catálogos sintéticos para os benchmarks, sempre com a mesma semente.
+ */
+final class DadosDeTeste {
+
+    // 01/06/2025 12:00 UTC: ponto de partida fixo, para que todas as execuções usem as mesmas datas
+    private static final long INICIO_MS = 1_748_779_200_000L;
+
+    private DadosDeTeste() {
+    }
+
+    /**
+     * Histórico com a quantidade pedida de atividades, da mais recente para a mais antiga (ordem da tela).
+     * Na maior parte dos dias há uma atividade; às vezes duas no mesmo dia, às vezes alguns dias sem nenhuma.
+     */
+    static List<AtividadeRealizada> historico(int quantidade) {
+        Random random = new Random(42);
+        List<AtividadeRealizada> atividades = new ArrayList<>(quantidade);
+        long momento = INICIO_MS;
+        for (int i = 0; i < quantidade; i++) {
+            int sorteio = random.nextInt(10);
+            if (sorteio >= 2) {
+                momento -= TimeUnit.DAYS.toMillis(sorteio >= 9 ? 2 + random.nextInt(3) : 1);
+            }
+            long horario = momento + TimeUnit.MINUTES.toMillis(random.nextInt(12 * 60));
+            AtividadeRealizada atividade = new AtividadeRealizada("Atividade " + random.nextInt(500), new Date(horario));
+            atividade.id = quantidade - i;
+            atividades.add(atividade);
+        }
+        return atividades;
+    }
+
+    /**
+     * Catálogo no formato da API: [{"atividade": "..."}, ...].
+     */
+    static String catalogoJson(int quantidade) {
+        StringBuilder json = new StringBuilder(quantidade * 48).append('[');
+        for (int i = 0; i < quantidade; i++) {
+            if (i > 0) {
+                json.append(',');
+            }
+            json.append("{\"atividade\":\"Atividade proposta número ").append(i).append(" para hoje\"}");
+        }
+        return json.append(']').toString();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.m3_desenvolvimento_mobile_extensao.benchmark;
+
+import com.example.m3_desenvolvimento_mobile_extensao.adapter.LinhaHistorico;
+import com.example.m3_desenvolvimento_mobile_extensao.adapter.MontadorLinhasHistorico;
+import com.example.m3_desenvolvimento_mobile_extensao.banco_de_dados.AtividadeRealizada;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Formatação do histórico para a tela:
+ * - formatadorPorLinha: um SimpleDateFormat novo por linha (o custo de criar o formatador no bind);
+ * - formatadorReaproveitado: um único SimpleDateFormat, como no HistoryAdapter original;
+ * - montadorDeLinhas: MontadorLinhasHistorico, com datas formatadas e cabeçalhos de mês.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class FormatacaoHistoricoBenchmark {
+
+    private static final String PADRAO_DATA = "dd 'de' MMMM 'de' yyyy, HH:mm";
+
+    @Param({"100", "1000", "10000"})
+    public int tamanhoDoHistorico;
+
+    private List<AtividadeRealizada> historico;
+    private final SimpleDateFormat formatoData = new SimpleDateFormat(PADRAO_DATA, Locale.getDefault());
+    private final MontadorLinhasHistorico montador = new MontadorLinhasHistorico();
+
+    @Setup
+    public void preparar() {
+        historico = DadosDeTeste.historico(tamanhoDoHistorico);
+    }
+
+    @Benchmark
+    public void formatadorPorLinha(Blackhole blackhole) {
+        for (AtividadeRealizada atividade : historico) {
+            blackhole.consume(new SimpleDateFormat(PADRAO_DATA, Locale.getDefault()).format(atividade.dataConfirmacao));
+        }
+    }
+
+    @Benchmark
+    public void formatadorReaproveitado(Blackhole blackhole) {
+        for (AtividadeRealizada atividade : historico) {
+            blackhole.consume(formatoData.format(atividade.dataConfirmacao));
+        }
+    }
+
+    @Benchmark
+    public List<LinhaHistorico> montadorDeLinhas() {
+        return montador.montar(historico);
+    }
+}
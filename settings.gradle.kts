@@ -21,4 +21,5 @@ dependencyResolutionManagement {
 
 rootProject.name = "M3_Desenvolvimento_Mobile_Extensao"
 include(":app")
+include(":benchmark")
  
\ No newline at end of file